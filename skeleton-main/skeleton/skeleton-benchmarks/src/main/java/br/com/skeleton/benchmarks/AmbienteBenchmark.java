@@ -0,0 +1,254 @@
+package br.com.skeleton.benchmarks;
+
+import br.com.skeleton.business.alteracoes.AlteracaoEquipamento;
+import br.com.skeleton.business.cache.EquipamentoCache;
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.facade.EquipamentoFacade;
+import br.com.skeleton.business.facade.EquipamentoFacadeJpa;
+import br.com.skeleton.business.relatorio.ResumoEquipamentos;
+import br.com.skeleton.business.replica.RoteadorLeitura;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.NotificationOptions;
+import jakarta.enterprise.util.TypeLiteral;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Persistence;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Monta a fachada de equipamentos fora do servidor de aplicação, sobre um banco H2 em memória.
+ * <p>
+ * O que o container faria é feito à mão: o EntityManager, o cache e um evento de alterações
+ * sem observadores são injetados por reflexão e as transações são locais ({@link #transacao(Supplier)}), limpando o contexto de persistência
+ * ao final de cada uma, como acontece com o contexto transacional do container.
+ */
+final class AmbienteBenchmark implements AutoCloseable {
+
+    private static final int LINHAS_POR_TRANSACAO = 10_000;
+    private static final int TAMANHO_LOTE = 1_000;
+
+    private final EntityManagerFactory emf;
+    private final EntityManager em;
+    private final EquipamentoCache cache;
+    private final EquipamentoFacadeJpa facade;
+
+    private AmbienteBenchmark(String nomeBanco) {
+        this.emf = Persistence.createEntityManagerFactory("benchmark", Map.of(
+                "jakarta.persistence.jdbc.url", "jdbc:h2:mem:" + nomeBanco + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1"));
+        this.em = emf.createEntityManager();
+        this.cache = new EquipamentoCache();
+        injetar(cache, "txRegistry", new SemTransacaoJta());
+        this.facade = new EquipamentoFacadeJpa();
+        injetar(facade, "em", em);
+        injetar(facade, "cache", cache);
+        injetar(facade, "alteracoes", new SemObservadores());
+        // Desligado por padrão (skeleton.relatorios.resumos); o upsert do resumo é específico do PostgreSQL.
+        ResumoEquipamentos resumo = new ResumoEquipamentos();
+        injetar(resumo, "em", em);
+        injetar(facade, "resumo", resumo);
+        // Sem réplica (skeleton.replica.habilitada desligado): todas as leituras vão para o mesmo banco.
+        injetar(facade, "emLeitura", em);
+        injetar(facade, "roteador", new RoteadorLeitura());
+    }
+
+    /**
+     * Cria um ambiente com um banco vazio e exclusivo.
+     *
+     * @param nomeBanco Nome do banco em memória; ambientes com o mesmo nome compartilham dados.
+     * @return O ambiente pronto para uso.
+     */
+    static AmbienteBenchmark abrir(String nomeBanco) {
+        return new AmbienteBenchmark(nomeBanco);
+    }
+
+    EquipamentoFacade getFacade() {
+        return facade;
+    }
+
+    EquipamentoCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Executa a operação numa transação local, confirmando ao final ou desfazendo em caso de erro.
+     *
+     * @param operacao A operação.
+     * @return O resultado da operação.
+     */
+    <T> T transacao(Supplier<T> operacao) {
+        EntityTransaction tx = em.getTransaction();
+        tx.begin();
+        try {
+            T resultado = operacao.get();
+            tx.commit();
+            return resultado;
+        } catch (RuntimeException e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw e;
+        } finally {
+            em.clear();
+        }
+    }
+
+    void transacao(Runnable operacao) {
+        transacao(() -> {
+            operacao.run();
+            return null;
+        });
+    }
+
+    /**
+     * Insere {@code linhas} equipamentos em lotes JDBC, em transações de até 10 mil linhas.
+     *
+     * @param linhas Quantidade de equipamentos.
+     */
+    void popular(int linhas) {
+        for (int inicio = 0; inicio < linhas; inicio += LINHAS_POR_TRANSACAO) {
+            List<Equipamento> lote = novosEquipamentos(inicio, Math.min(LINHAS_POR_TRANSACAO, linhas - inicio));
+            transacao(() -> facade.createAll(lote, TAMANHO_LOTE));
+        }
+        cache.invalidarTudo();
+    }
+
+    /**
+     * @return Os IDs de todos os equipamentos, em ordem crescente.
+     */
+    long[] ids() {
+        List<Long> ids = em.createQuery("SELECT e.id FROM Equipamento e ORDER BY e.id", Long.class).getResultList();
+        em.clear();
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Remove todos os equipamentos e esvazia o cache.
+     */
+    void limpar() {
+        transacao(() -> em.createQuery("DELETE FROM Equipamento e").executeUpdate());
+        cache.invalidarTudo();
+    }
+
+    static List<Equipamento> novosEquipamentos(int inicio, int quantidade) {
+        List<Equipamento> equipamentos = new ArrayList<>(quantidade);
+        for (int i = inicio; i < inicio + quantidade; i++) {
+            equipamentos.add(novoEquipamento(i));
+        }
+        return equipamentos;
+    }
+
+    static Equipamento novoEquipamento(int i) {
+        LocalDate chegada = LocalDate.of(2024, 1, 1).plusDays(i % 365);
+        return new Equipamento("Equipamento " + i, "Equipamento gerado para benchmark " + i,
+                chegada, chegada.plusYears(1 + i % 3), BigDecimal.valueOf(i % 100_000, 2),
+                i % 10 == 0 ? "inativo" : Equipamento.STATUS_ATIVO);
+    }
+
+    @Override
+    public void close() {
+        em.close();
+        emf.close();
+    }
+
+    private static void injetar(Object alvo, String campo, Object valor) {
+        try {
+            Field field = alvo.getClass().getDeclaredField(campo);
+            field.setAccessible(true);
+            field.set(alvo, valor);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Não foi possível injetar " + campo + " em " + alvo.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Registro JTA que informa sempre a ausência de transação: fora do container o cache
+     * invalida de imediato, o que basta para os benchmarks, que usam uma única thread por ambiente.
+     */
+    private static final class SemTransacaoJta implements TransactionSynchronizationRegistry {
+
+        @Override
+        public Object getTransactionKey() {
+            return null;
+        }
+
+        @Override
+        public void putResource(Object key, Object value) {
+            throw new IllegalStateException("Sem transação JTA.");
+        }
+
+        @Override
+        public Object getResource(Object key) {
+            return null;
+        }
+
+        @Override
+        public void registerInterposedSynchronization(Synchronization sync) {
+            throw new IllegalStateException("Sem transação JTA.");
+        }
+
+        @Override
+        public int getTransactionStatus() {
+            return Status.STATUS_NO_TRANSACTION;
+        }
+
+        @Override
+        public void setRollbackOnly() {
+            throw new IllegalStateException("Sem transação JTA.");
+        }
+
+        @Override
+        public boolean getRollbackOnly() {
+            return false;
+        }
+    }
+
+    /**
+     * Evento de alterações sem observadores, no lugar do {@link Event} do CDI.
+     */
+    private static final class SemObservadores implements Event<AlteracaoEquipamento> {
+
+        @Override
+        public void fire(AlteracaoEquipamento evento) {
+        }
+
+        @Override
+        public <U extends AlteracaoEquipamento> CompletionStage<U> fireAsync(U evento) {
+            return CompletableFuture.completedFuture(evento);
+        }
+
+        @Override
+        public <U extends AlteracaoEquipamento> CompletionStage<U> fireAsync(U evento, NotificationOptions opcoes) {
+            return CompletableFuture.completedFuture(evento);
+        }
+
+        @Override
+        public Event<AlteracaoEquipamento> select(Annotation... qualificadores) {
+            return this;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <U extends AlteracaoEquipamento> Event<U> select(Class<U> subtipo, Annotation... qualificadores) {
+            return (Event<U>) this;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <U extends AlteracaoEquipamento> Event<U> select(TypeLiteral<U> subtipo, Annotation... qualificadores) {
+            return (Event<U>) this;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.skeleton.benchmarks;
+
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.facade.EquipamentoFacade;
+import br.com.skeleton.business.facade.EquipamentoFiltro;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Leituras da fachada com o cache de equipamentos ligado e desligado. Desligado, o cache é
+ * esvaziado antes de cada operação, de modo que toda leitura vai ao banco; o custo do
+ * esvaziamento é pequeno porque as regiões nunca passam de poucas entradas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CacheBenchmark {
+
+    /** IDs lidos repetidamente; cabem com folga na região de entidades. */
+    private static final int CONJUNTO_QUENTE = 1_000;
+
+    @Param({"true", "false"})
+    public boolean cache;
+
+    @Param({"100000"})
+    public int linhas;
+
+    private AmbienteBenchmark ambiente;
+    private EquipamentoFacade facade;
+    private long[] ids;
+    private EquipamentoFiltro filtro;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        ambiente = AmbienteBenchmark.abrir("cache_" + cache);
+        ambiente.popular(linhas);
+        facade = ambiente.getFacade();
+        ids = ambiente.ids();
+        filtro = new EquipamentoFiltro();
+        filtro.setStatus("inativo");
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        ambiente.close();
+    }
+
+    @Benchmark
+    public Equipamento findById() {
+        desligarSeNecessario();
+        Long id = ids[ThreadLocalRandom.current().nextInt(CONJUNTO_QUENTE)];
+        return ambiente.transacao(() -> facade.findById(id));
+    }
+
+    @Benchmark
+    public List<Equipamento> findPage() {
+        desligarSeNecessario();
+        return ambiente.transacao(() -> facade.findPage(filtro, 0, 20, "nome", true));
+    }
+
+    @Benchmark
+    public long count() {
+        desligarSeNecessario();
+        return ambiente.transacao(() -> facade.count(filtro));
+    }
+
+    private void desligarSeNecessario() {
+        if (!cache) {
+            ambiente.getCache().invalidarTudo();
+        }
+    }
+}
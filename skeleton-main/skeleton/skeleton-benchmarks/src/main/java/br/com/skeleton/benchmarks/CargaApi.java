@@ -0,0 +1,101 @@
+package br.com.skeleton.benchmarks;
+
+import br.com.skeleton.business.metricas.HistogramaLatencia;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Teste de carga da API REST em execução: {@code concorrencia} clientes fazem GETs
+ * seguidos na URL informada durante {@code segundos} e o resultado (vazão, erros e
+ * percentis de latência) é impresso e gravado em JSON.
+ * <p>
+ * Serve para comparar a API síncrona com a assíncrona: com concorrência maior que o pool
+ * de threads HTTP do servidor, a versão assíncrona deve sustentar vazão maior, pois as
+ * threads da requisição não ficam presas esperando o banco.
+ * <p>
+ * Uso: {@code java -cp benchmarks.jar br.com.skeleton.benchmarks.CargaApi
+ * http://localhost:8080/skeleton-war/api/equipamentos?pageSize=50 200 60 carga.json}
+ */
+public final class CargaApi {
+
+    private static final double[] QUANTIS = {0.5, 0.9, 0.99, 0.999};
+
+    private CargaApi() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Uso: CargaApi <url> <concorrencia> <segundos> [saida.json]");
+            System.exit(2);
+        }
+        URI url = URI.create(args[0]);
+        int concorrencia = Integer.parseInt(args[1]);
+        long segundos = Long.parseLong(args[2]);
+        Path saida = Path.of(args.length > 3 ? args[3] : "carga-result.json");
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(2, concorrencia / 8)))
+                .build();
+        HttpRequest requisicao = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(60)).GET().build();
+        HistogramaLatencia latencia = new HistogramaLatencia();
+        LongAdder erros = new LongAdder();
+
+        ExecutorService clientes = Executors.newFixedThreadPool(concorrencia);
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+        List<Future<?>> tarefas = new ArrayList<>(concorrencia);
+        for (int i = 0; i < concorrencia; i++) {
+            tarefas.add(clientes.submit(() -> {
+                while (System.nanoTime() < fim) {
+                    long inicio = System.nanoTime();
+                    try {
+                        HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                        if (resposta.statusCode() >= 400) {
+                            erros.increment();
+                        }
+                    } catch (IOException e) {
+                        erros.increment();
+                    }
+                    latencia.registrar(System.nanoTime() - inicio);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+        clientes.shutdown();
+
+        long[] percentis = latencia.percentis(QUANTIS);
+        long total = percentis[QUANTIS.length];
+        StringBuilder json = new StringBuilder("{\n")
+                .append("  \"url\": \"").append(url).append("\",\n")
+                .append("  \"concorrencia\": ").append(concorrencia).append(",\n")
+                .append("  \"segundos\": ").append(segundos).append(",\n")
+                .append("  \"requisicoes\": ").append(total).append(",\n")
+                .append("  \"erros\": ").append(erros.sum()).append(",\n")
+                .append("  \"vazaoPorSegundo\": ").append(total / (double) segundos).append(",\n")
+                .append("  \"latenciaMs\": {");
+        for (int i = 0; i < QUANTIS.length; i++) {
+            json.append(i == 0 ? "" : ", ").append("\"p").append(QUANTIS[i] * 100).append("\": ")
+                    .append(percentis[i] / 1_000_000d);
+        }
+        json.append(", \"max\": ").append(latencia.getMaximo() / 1_000_000d).append("}\n}\n");
+        Files.writeString(saida, json, StandardCharsets.UTF_8);
+        System.out.print(json);
+        System.exit(0);
+    }
+}
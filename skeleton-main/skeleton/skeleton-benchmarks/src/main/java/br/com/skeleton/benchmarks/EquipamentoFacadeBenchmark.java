@@ -0,0 +1,96 @@
+package br.com.skeleton.benchmarks;
+
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.facade.EquipamentoFacade;
+import br.com.skeleton.business.facade.EquipamentoResumo;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Operações básicas da fachada com tabelas de tamanhos diferentes.
+ * <p>
+ * O cache fica ligado, como em produção: com mil linhas todas as leituras por ID acabam
+ * sendo acertos, com 100 mil ou 1 milhão a maioria vai ao banco. A comparação com o cache
+ * desligado está em {@link CacheBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class EquipamentoFacadeBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int linhas;
+
+    private AmbienteBenchmark ambiente;
+    private EquipamentoFacade facade;
+    private long[] ids;
+    private int sequencia;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        ambiente = AmbienteBenchmark.abrir("facade_" + linhas);
+        ambiente.popular(linhas);
+        facade = ambiente.getFacade();
+        ids = ambiente.ids();
+        sequencia = linhas;
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        ambiente.close();
+    }
+
+    @Benchmark
+    public Equipamento create() {
+        Equipamento equipamento = AmbienteBenchmark.novoEquipamento(sequencia++);
+        ambiente.transacao(() -> facade.create(equipamento));
+        return equipamento;
+    }
+
+    @Benchmark
+    public Equipamento update() {
+        Equipamento equipamento = findById();
+        equipamento.setValor(BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(100_000), 2));
+        ambiente.transacao(() -> facade.update(equipamento));
+        return equipamento;
+    }
+
+    @Benchmark
+    public Equipamento findById() {
+        Long id = idAleatorio();
+        return ambiente.transacao(() -> facade.findById(id));
+    }
+
+    @Benchmark
+    public List<Equipamento> findAll() {
+        return ambiente.transacao(facade::findAll);
+    }
+
+    /** Mesma listagem de {@link #findAll()}, projetada em cinco colunas e sem entidades gerenciadas. */
+    @Benchmark
+    public List<EquipamentoResumo> findAllResumos() {
+        return ambiente.transacao(facade::findAllResumos);
+    }
+
+    private Long idAleatorio() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.skeleton.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada do {@code benchmarks.jar}. Aceita as mesmas opções da linha de comando
+ * do JMH e, se nenhuma for dada para o resultado, grava-o em JSON em
+ * {@code jmh-result.json}, para comparação entre commits (por exemplo, no JMH Visualizer).
+ * <p>
+ * Exemplo: {@code java -jar skeleton-benchmarks/target/benchmarks.jar CacheBenchmark -rff cache.json}
+ */
+public final class ExecutorBenchmarks {
+
+    private ExecutorBenchmarks() {}
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions linhaDeComando = new CommandLineOptions(args);
+        ChainedOptionsBuilder opcoes = new OptionsBuilder().parent(linhaDeComando);
+        if (!linhaDeComando.getResultFormat().hasValue()) {
+            opcoes.resultFormat(ResultFormatType.JSON);
+        }
+        if (!linhaDeComando.getResult().hasValue()) {
+            opcoes.result("jmh-result.json");
+        }
+        new Runner(opcoes.build()).run();
+    }
+}
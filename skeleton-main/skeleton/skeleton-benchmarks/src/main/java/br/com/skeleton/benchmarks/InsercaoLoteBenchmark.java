@@ -0,0 +1,80 @@
+package br.com.skeleton.benchmarks;
+
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.facade.EquipamentoFacade;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Custo de inserir {@code quantidade} equipamentos: um INSERT por transação, vários INSERTs
+ * individuais na mesma transação, ou {@link EquipamentoFacade#createAll} com lotes JDBC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class InsercaoLoteBenchmark {
+
+    @Param({"individual", "mesma-transacao", "lote"})
+    public String modo;
+
+    @Param({"1000"})
+    public int quantidade;
+
+    @Param({"50"})
+    public int batchSize;
+
+    private AmbienteBenchmark ambiente;
+    private EquipamentoFacade facade;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        ambiente = AmbienteBenchmark.abrir("insercao_" + modo);
+        facade = ambiente.getFacade();
+    }
+
+    // Esvazia a tabela a cada iteração para que o volume acumulado não distorça as medições.
+    @Setup(Level.Iteration)
+    public void limpar() {
+        ambiente.limpar();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        ambiente.close();
+    }
+
+    @Benchmark
+    public int inserir() {
+        List<Equipamento> novos = AmbienteBenchmark.novosEquipamentos(0, quantidade);
+        switch (modo) {
+            case "individual":
+                for (Equipamento equipamento : novos) {
+                    ambiente.transacao(() -> facade.create(equipamento));
+                }
+                return novos.size();
+            case "mesma-transacao":
+                ambiente.transacao(() -> novos.forEach(facade::create));
+                return novos.size();
+            case "lote":
+                return ambiente.transacao(() -> facade.createAll(novos, batchSize));
+            default:
+                throw new IllegalArgumentException("Modo desconhecido: " + modo);
+        }
+    }
+}
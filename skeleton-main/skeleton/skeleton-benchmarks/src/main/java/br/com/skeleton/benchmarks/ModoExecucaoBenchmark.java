@@ -0,0 +1,98 @@
+package br.com.skeleton.benchmarks;
+
+import br.com.skeleton.business.execucao.ExecutorAplicacao;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara o modo bloqueante atual (pool fixo de threads de plataforma, como o do servidor)
+ * com uma thread virtual por tarefa, numa rajada de requisições que passam a maior parte
+ * do tempo esperando o banco. A espera é simulada com {@code Thread.sleep} e os acessos
+ * simultâneos ao banco são limitados por um semáforo, como em {@link ExecutorAplicacao}.
+ * <p>
+ * O modo virtual exige rodar os benchmarks em Java 21 ou superior.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ModoExecucaoBenchmark {
+
+    @Param({"plataforma", "virtual"})
+    public String modo;
+
+    /** Requisições simultâneas da rajada. */
+    @Param({"2000"})
+    public int requisicoes;
+
+    /** Tamanho do pool de threads de plataforma, próximo ao padrão dos servidores. */
+    @Param({"64"})
+    public int threadsPlataforma;
+
+    /** Conexões JDBC disponíveis. */
+    @Param({"200"})
+    public int conexoes;
+
+    /** Duração simulada de cada ida ao banco. */
+    @Param({"5"})
+    public int latenciaBancoMs;
+
+    private ExecutorService executor;
+    private Semaphore banco;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        executor = "virtual".equals(modo)
+                ? ExecutorAplicacao.novoExecutorVirtual()
+                : Executors.newFixedThreadPool(threadsPlataforma);
+        if (executor == null) {
+            throw new IllegalStateException("O modo virtual requer Java 21 ou superior.");
+        }
+        banco = new Semaphore(conexoes, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void rajada() throws InterruptedException {
+        CountDownLatch concluidas = new CountDownLatch(requisicoes);
+        for (int i = 0; i < requisicoes; i++) {
+            executor.execute(() -> {
+                try {
+                    banco.acquire();
+                    try {
+                        Thread.sleep(latenciaBancoMs);
+                    } finally {
+                        banco.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    concluidas.countDown();
+                }
+            });
+        }
+        concluidas.await();
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.skeleton.benchmarks;
+
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.serializacao.CodecBinario;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Custo de serializar equipamentos com a serialização Java (usada na replicação de sessão
+ * e no view state do JSF), que para {@link Equipamento} passa pelo {@link CodecBinario}, e
+ * com o codec diretamente, como o cache faz a cada leitura e gravação. Os benchmarks
+ * {@code *Padrao} medem a serialização padrão pelos campos, o formato anterior ao codec,
+ * com uma classe de mesmos campos. Os tamanhos são medidos por {@link TamanhoSerializacao}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerializacaoBenchmark {
+
+    @Param({"1", "500"})
+    public int quantidade;
+
+    private ArrayList<Equipamento> equipamentos;
+    private ArrayList<EquipamentoPadrao> padrao;
+    private byte[] serializados;
+    private byte[] serializadosPadrao;
+    private byte[] codificados;
+
+    @Setup
+    public void preparar() throws IOException {
+        LocalDateTime agora = LocalDateTime.now();
+        equipamentos = new ArrayList<>(quantidade);
+        padrao = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Equipamento equipamento = AmbienteBenchmark.novoEquipamento(i);
+            equipamento.setId((long) i + 1);
+            equipamento.setVersao(0L);
+            equipamento.setCreatedAt(agora.plusSeconds(i));
+            equipamento.setUpdatedAt(agora.plusSeconds(i));
+            equipamentos.add(equipamento);
+            padrao.add(new EquipamentoPadrao(equipamento));
+        }
+        serializados = serializar();
+        serializadosPadrao = serializarPadrao();
+        codificados = codificar();
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+        return serializar(equipamentos);
+    }
+
+    @Benchmark
+    public Object desserializar() throws IOException, ClassNotFoundException {
+        return desserializar(serializados);
+    }
+
+    @Benchmark
+    public byte[] serializarPadrao() throws IOException {
+        return serializar(padrao);
+    }
+
+    @Benchmark
+    public Object desserializarPadrao() throws IOException, ClassNotFoundException {
+        return desserializar(serializadosPadrao);
+    }
+
+    @Benchmark
+    public byte[] codificar() {
+        return CodecBinario.codificarLista(equipamentos);
+    }
+
+    @Benchmark
+    public List<Equipamento> decodificar() {
+        return CodecBinario.decodificarLista(codificados);
+    }
+
+    @Benchmark
+    public List<Equipamento> copiar() {
+        List<Equipamento> copias = new ArrayList<>(equipamentos.size());
+        for (Equipamento equipamento : equipamentos) {
+            copias.add(new Equipamento(equipamento));
+        }
+        return copias;
+    }
+
+    static byte[] serializar(Object objeto) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(objeto);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object desserializar(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    /** Os campos de {@link Equipamento} com a serialização padrão, como eram gravados antes do codec. */
+    static final class EquipamentoPadrao implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Long id;
+        private final String nome;
+        private final String descricao;
+        private final LocalDate datadechegada;
+        private final LocalDate validade;
+        private final BigDecimal valor;
+        private final String status;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime updatedAt;
+        private final Long versao;
+
+        EquipamentoPadrao(Equipamento equipamento) {
+            this.id = equipamento.getId();
+            this.nome = equipamento.getNome();
+            this.descricao = equipamento.getDescricao();
+            this.datadechegada = equipamento.getDatadechegada();
+            this.validade = equipamento.getValidade();
+            this.valor = equipamento.getValor();
+            this.status = equipamento.getStatus();
+            this.createdAt = equipamento.getCreatedAt();
+            this.updatedAt = equipamento.getUpdatedAt();
+            this.versao = equipamento.getVersao();
+        }
+    }
+}
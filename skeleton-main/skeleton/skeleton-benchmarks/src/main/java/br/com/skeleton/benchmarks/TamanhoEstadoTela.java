@@ -0,0 +1,91 @@
+package br.com.skeleton.benchmarks;
+
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.facade.EquipamentoResumo;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mede, em bytes serializados, quanto a tela de equipamentos ocupa na sessão (o que é
+ * replicado no failover e passivado em disco) em função do tamanho da tabela.
+ * <p>
+ * Compara o estado antigo do EquipamentoBean (a lista inteira de entidades mais os
+ * equipamentos dos formulários) com o atual (formulários, ID buscado e só a página
+ * visível como {@link EquipamentoResumo}). O antigo cresce com a tabela; o atual deve
+ * ficar constante.
+ * <p>
+ * Uso: {@code java -cp benchmarks.jar br.com.skeleton.benchmarks.TamanhoEstadoTela [pagina] [saida.json]}
+ */
+public final class TamanhoEstadoTela {
+
+    private static final int[] TAMANHOS_TABELA = {1_000, 10_000, 100_000};
+
+    private TamanhoEstadoTela() {}
+
+    public static void main(String[] args) throws IOException {
+        int pagina = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        Path saida = Path.of(args.length > 1 ? args[1] : "estado-tela-result.json");
+
+        StringBuilder json = new StringBuilder("[");
+        System.out.printf("%10s %16s %16s%n", "linhas", "antes (bytes)", "depois (bytes)");
+        for (int linhas : TAMANHOS_TABELA) {
+            List<Equipamento> tabela = tabela(linhas);
+
+            ArrayList<Serializable> antes = new ArrayList<>();
+            antes.add(new ArrayList<>(tabela));
+            antes.add(new Equipamento());
+            antes.add(new Equipamento(tabela.get(0)));
+
+            ArrayList<EquipamentoResumo> visivel = new ArrayList<>(pagina);
+            for (Equipamento equipamento : tabela.subList(0, Math.min(pagina, linhas))) {
+                visivel.add(EquipamentoResumo.de(equipamento));
+            }
+            ArrayList<Serializable> depois = new ArrayList<>();
+            depois.add(visivel);
+            depois.add(new Equipamento());
+            depois.add(new Equipamento(tabela.get(0)));
+            depois.add(new Equipamento(tabela.get(0)));
+            depois.add(tabela.get(0).getId());
+
+            long bytesAntes = tamanho(antes);
+            long bytesDepois = tamanho(depois);
+            System.out.printf("%10d %16d %16d%n", linhas, bytesAntes, bytesDepois);
+            json.append(json.length() > 1 ? "," : "")
+                    .append("{\"linhas\":").append(linhas)
+                    .append(",\"pagina\":").append(pagina)
+                    .append(",\"bytesAntes\":").append(bytesAntes)
+                    .append(",\"bytesDepois\":").append(bytesDepois).append('}');
+        }
+        Files.writeString(saida, json.append(']').toString(), StandardCharsets.UTF_8);
+    }
+
+    private static List<Equipamento> tabela(int linhas) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<Equipamento> tabela = new ArrayList<>(linhas);
+        for (int i = 0; i < linhas; i++) {
+            Equipamento equipamento = AmbienteBenchmark.novoEquipamento(i);
+            equipamento.setId((long) i + 1);
+            equipamento.setVersao(0L);
+            equipamento.setCreatedAt(agora);
+            equipamento.setUpdatedAt(agora);
+            tabela.add(equipamento);
+        }
+        return tabela;
+    }
+
+    private static long tamanho(Serializable estado) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(estado);
+        }
+        return bytes.size();
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.skeleton.benchmarks;
+
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.serializacao.CodecBinario;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+/**
+ * Mede, em bytes, listas de equipamentos em três formatos: a serialização Java padrão pelos
+ * campos (o formato anterior ao codec), a serialização Java atual, que delega ao
+ * {@link CodecBinario}, e o codec sem o envelope da serialização Java, como o cache guarda.
+ * A vazão de cada formato é medida por {@link SerializacaoBenchmark}.
+ * <p>
+ * Uso: {@code java -cp benchmarks.jar br.com.skeleton.benchmarks.TamanhoSerializacao [saida.json]}
+ */
+public final class TamanhoSerializacao {
+
+    private static final int[] QUANTIDADES = {1, 20, 500};
+
+    private TamanhoSerializacao() {}
+
+    public static void main(String[] args) throws IOException {
+        Path saida = Path.of(args.length > 0 ? args[0] : "serializacao-result.json");
+
+        StringBuilder json = new StringBuilder("[");
+        System.out.printf("%12s %16s %16s %16s%n", "equipamentos", "padrão (bytes)", "java (bytes)", "codec (bytes)");
+        LocalDateTime agora = LocalDateTime.now();
+        for (int quantidade : QUANTIDADES) {
+            ArrayList<Equipamento> equipamentos = new ArrayList<>(quantidade);
+            ArrayList<SerializacaoBenchmark.EquipamentoPadrao> padrao = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                Equipamento equipamento = AmbienteBenchmark.novoEquipamento(i);
+                equipamento.setId((long) i + 1);
+                equipamento.setVersao(0L);
+                equipamento.setCreatedAt(agora.plusSeconds(i));
+                equipamento.setUpdatedAt(agora.plusSeconds(i));
+                equipamentos.add(equipamento);
+                padrao.add(new SerializacaoBenchmark.EquipamentoPadrao(equipamento));
+            }
+            int bytesPadrao = SerializacaoBenchmark.serializar(padrao).length;
+            int bytesJava = SerializacaoBenchmark.serializar(equipamentos).length;
+            int bytesCodec = CodecBinario.codificarLista(equipamentos).length;
+            System.out.printf("%12d %16d %16d %16d%n", quantidade, bytesPadrao, bytesJava, bytesCodec);
+            json.append(json.length() > 1 ? "," : "")
+                    .append("{\"equipamentos\":").append(quantidade)
+                    .append(",\"bytesPadrao\":").append(bytesPadrao)
+                    .append(",\"bytesJava\":").append(bytesJava)
+                    .append(",\"bytesCodec\":").append(bytesCodec).append('}');
+        }
+        Files.writeString(saida, json.append(']').toString(), StandardCharsets.UTF_8);
+    }
+}
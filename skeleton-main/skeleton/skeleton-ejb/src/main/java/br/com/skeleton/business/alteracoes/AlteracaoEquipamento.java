@@ -0,0 +1,78 @@
+package br.com.skeleton.business.alteracoes;
+
+import br.com.skeleton.business.entity.Equipamento;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Evento CDI disparado pela fachada a cada escrita em equipamentos e entregue aos
+ * observadores somente após o commit. Operações individuais levam uma cópia do
+ * equipamento gravado; operações em massa levam apenas os IDs afetados.
+ * <p>
+ * O número de sequência é atribuído pelo {@link FeedAlteracoes} ao registrar o evento.
+ */
+public class AlteracaoEquipamento implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Tipo {
+        CRIADO, ATUALIZADO, REMOVIDO
+    }
+
+    private final long sequencia;
+    private final Instant instante;
+    private final Tipo tipo;
+    private final List<Long> ids;
+    private final Equipamento equipamento;
+
+    /**
+     * @param tipo        O tipo da alteração.
+     * @param ids         Os IDs afetados.
+     * @param equipamento O equipamento como ficou gravado, ou null em operações em massa e remoções.
+     */
+    public AlteracaoEquipamento(Tipo tipo, List<Long> ids, Equipamento equipamento) {
+        this(0, Instant.now(), tipo, List.copyOf(ids), equipamento != null ? new Equipamento(equipamento) : null);
+    }
+
+    private AlteracaoEquipamento(long sequencia, Instant instante, Tipo tipo, List<Long> ids, Equipamento equipamento) {
+        this.sequencia = sequencia;
+        this.instante = instante;
+        this.tipo = tipo;
+        this.ids = ids;
+        this.equipamento = equipamento;
+    }
+
+    AlteracaoEquipamento comSequencia(long sequencia) {
+        return new AlteracaoEquipamento(sequencia, instante, tipo, ids, equipamento);
+    }
+
+    public long getSequencia() {
+        return sequencia;
+    }
+
+    public Instant getInstante() {
+        return instante;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public Equipamento getEquipamento() {
+        return equipamento;
+    }
+
+    @Override
+    public String toString() {
+        return "AlteracaoEquipamento{" +
+                "sequencia=" + sequencia +
+                ", tipo=" + tipo +
+                ", ids=" + (ids.size() > 10 ? ids.size() + " IDs" : ids) +
+                '}';
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.skeleton.business.alteracoes;
+
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Singleton;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registro em memória das últimas alterações de equipamentos, numeradas em sequência,
+ * para que os clientes apliquem deltas em vez de recarregar a tabela.
+ * <p>
+ * Guarda as {@link #CAPACIDADE} alterações mais recentes. Um cliente que volta informando
+ * a última sequência vista recebe o que perdeu; se ela já saiu do registro, ou se o
+ * servidor foi reiniciado (ver {@link #getGeracao()}), o cliente precisa recarregar tudo.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class FeedAlteracoes {
+
+    private static final Logger LOGGER = Logger.getLogger(FeedAlteracoes.class.getName());
+
+    static final int CAPACIDADE = 10_000;
+
+    private final long geracao = System.currentTimeMillis();
+    private final AlteracaoEquipamento[] registro = new AlteracaoEquipamento[CAPACIDADE];
+    private final List<Runnable> ouvintes = new CopyOnWriteArrayList<>();
+    private long ultimaSequencia;
+
+    /**
+     * Numera e guarda a alteração depois do commit da transação que a produziu,
+     * e avisa os ouvintes.
+     *
+     * @param alteracao A alteração disparada pela fachada.
+     */
+    public void registrar(@Observes(during = TransactionPhase.AFTER_SUCCESS) AlteracaoEquipamento alteracao) {
+        synchronized (registro) {
+            ultimaSequencia++;
+            registro[(int) (ultimaSequencia % CAPACIDADE)] = alteracao.comSequencia(ultimaSequencia);
+        }
+        for (Runnable ouvinte : ouvintes) {
+            try {
+                ouvinte.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Falha ao avisar ouvinte do feed de alterações", e);
+            }
+        }
+    }
+
+    /**
+     * @return Identifica esta instância do registro; muda a cada reinício do servidor,
+     *         quando as sequências recomeçam.
+     */
+    public long getGeracao() {
+        return geracao;
+    }
+
+    /**
+     * @return A sequência da alteração mais recente, ou 0 se nenhuma foi registrada.
+     */
+    public long getUltimaSequencia() {
+        synchronized (registro) {
+            return ultimaSequencia;
+        }
+    }
+
+    /**
+     * Retorna as alterações posteriores à sequência informada, em ordem.
+     *
+     * @param sequencia A última sequência já vista pelo cliente.
+     * @param maximo    Quantidade máxima de alterações.
+     * @return As alterações seguintes, ou null se parte delas já foi descartada do registro.
+     */
+    public List<AlteracaoEquipamento> desde(long sequencia, int maximo) {
+        synchronized (registro) {
+            if (sequencia > ultimaSequencia || sequencia < ultimaSequencia - CAPACIDADE) {
+                return null;
+            }
+            long ate = Math.min(ultimaSequencia, sequencia + maximo);
+            List<AlteracaoEquipamento> alteracoes = new ArrayList<>((int) (ate - sequencia));
+            for (long s = sequencia + 1; s <= ate; s++) {
+                alteracoes.add(registro[(int) (s % CAPACIDADE)]);
+            }
+            return alteracoes;
+        }
+    }
+
+    /**
+     * Registra um ouvinte avisado a cada nova alteração. O aviso acontece na thread que
+     * fez o commit, portanto o ouvinte deve apenas agendar o trabalho.
+     *
+     * @param ouvinte O ouvinte.
+     */
+    public void adicionarOuvinte(Runnable ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    public void removerOuvinte(Runnable ouvinte) {
+        ouvintes.remove(ouvinte);
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.skeleton.business.arquivamento;
+
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Job noturno que move para o arquivo particionado os equipamentos vencidos ou inativos
+ * sem alteração há mais de {@code skeleton.arquivamento.dias} (padrão 365) dias.
+ * <p>
+ * Roda depois da varredura de vencimentos, em blocos de {@code skeleton.arquivamento.bloco}
+ * (padrão 1000) equipamentos, cada um em uma transação curta, até não restar candidato.
+ * A tabela de equipamentos fica só com as linhas em uso, e as consultas da fachada, que não
+ * leem o arquivo, não pagam pelo histórico; os arquivados continuam acessíveis pelas
+ * consultas de resumos com {@code EquipamentoFiltro#setIncluirArquivados(true)}.
+ * <p>
+ * Os timers não são persistentes e rodam em cada instância do servidor; como os blocos
+ * usam SKIP LOCKED, execuções simultâneas em instâncias diferentes não se atrapalham.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class ArquivamentoEquipamentos {
+
+    private static final Logger LOGGER = Logger.getLogger(ArquivamentoEquipamentos.class.getName());
+
+    public static final String PROPRIEDADE_DIAS = "skeleton.arquivamento.dias";
+    public static final String PROPRIEDADE_BLOCO = "skeleton.arquivamento.bloco";
+
+    @EJB
+    private ArquivamentoGravador gravador;
+
+    private final AtomicBoolean executando = new AtomicBoolean();
+
+    private final LongAdder linhasTotal = new LongAdder();
+
+    @Schedule(hour = "3", minute = "30", persistent = false)
+    public void agendada() {
+        executar();
+    }
+
+    /**
+     * Arquiva todos os candidatos, bloco a bloco.
+     *
+     * @return A quantidade de equipamentos arquivados, ou -1 se outra execução já estava em andamento.
+     */
+    public long executar() {
+        if (!executando.compareAndSet(false, true)) {
+            LOGGER.warning("Arquivamento de equipamentos já em andamento; execução ignorada.");
+            return -1;
+        }
+        try {
+            int dias = Math.max(1, Integer.getInteger(PROPRIEDADE_DIAS, 365));
+            int tamanho = Math.max(1, Integer.getInteger(PROPRIEDADE_BLOCO, 1_000));
+            LocalDateTime limite = LocalDateTime.now().minusDays(dias);
+            long inicio = System.nanoTime();
+            long total = 0;
+            int arquivados;
+            do {
+                arquivados = gravador.arquivarBloco(limite, tamanho);
+                total += arquivados;
+                linhasTotal.add(arquivados);
+            } while (arquivados > 0);
+            LOGGER.log(Level.INFO, "Arquivamento concluído: {0} equipamentos sem alteração desde {1}, em {2} ms",
+                    new Object[]{total, limite, (System.nanoTime() - inicio) / 1_000_000});
+            return total;
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Arquivamento de equipamentos interrompido; será retomado na próxima execução", e);
+            throw e;
+        } finally {
+            executando.set(false);
+        }
+    }
+
+    public boolean isExecutando() {
+        return executando.get();
+    }
+
+    /** @return Equipamentos arquivados desde o início da aplicação. */
+    public long getLinhasTotal() {
+        return linhasTotal.sum();
+    }
+}
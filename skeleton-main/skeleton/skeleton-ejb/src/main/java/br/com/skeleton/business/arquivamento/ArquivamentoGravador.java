@@ -0,0 +1,84 @@
+package br.com.skeleton.business.arquivamento;
+
+import br.com.skeleton.business.facade.EquipamentoFacade;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Move blocos de equipamentos para o arquivo (tabela {@code equipamentos_arquivo}, ver
+ * sql/009_equipamentos_arquivo.sql). Cada bloco roda em uma transação própria: a cópia
+ * para o arquivo e a remoção da tabela de equipamentos são confirmadas juntas.
+ */
+@Stateless
+@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+public class ArquivamentoGravador {
+
+    @PersistenceContext(unitName = "MasterOne")
+    private EntityManager em;
+
+    @EJB
+    private EquipamentoFacade equipamentoFacade;
+
+    /**
+     * Arquiva o próximo bloco de equipamentos vencidos ou inativos sem alteração desde
+     * {@code limite}. As linhas são bloqueadas com SKIP LOCKED, de modo que um equipamento
+     * sendo editado fica para o bloco seguinte.
+     *
+     * @param limite  Os equipamentos alterados depois deste instante não são arquivados.
+     * @param tamanho A quantidade máxima de equipamentos do bloco.
+     * @return A quantidade de equipamentos arquivados.
+     */
+    @SuppressWarnings("unchecked")
+    public int arquivarBloco(LocalDateTime limite, int tamanho) {
+        // Mesmo predicado do índice parcial idx_equipamentos_arquivaveis.
+        List<Object[]> linhas = em.createNativeQuery(
+                        "SELECT id, CAST(extract(YEAR FROM data_de_chegada) AS INTEGER) FROM equipamentos"
+                                + " WHERE status IN ('vencido', 'inativo') AND updated_at < :limite"
+                                + " ORDER BY updated_at, id LIMIT :tamanho FOR UPDATE SKIP LOCKED")
+                .setParameter("limite", limite)
+                .setParameter("tamanho", tamanho)
+                .getResultList();
+        if (linhas.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(linhas.size());
+        Set<Integer> anos = new TreeSet<>();
+        for (Object[] linha : linhas) {
+            ids.add(((Number) linha[0]).longValue());
+            anos.add(((Number) linha[1]).intValue());
+        }
+        for (Integer ano : anos) {
+            criarParticao(ano);
+        }
+        em.createNativeQuery("INSERT INTO equipamentos_arquivo"
+                        + " (id, nome, descricao, data_de_chegada, validade, valor, status, created_at, updated_at, versao)"
+                        + " SELECT id, nome, descricao, data_de_chegada, validade, valor, status, created_at, updated_at, versao"
+                        + " FROM equipamentos WHERE id IN (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        // A remoção pela fachada invalida o cache, atualiza os resumos e notifica as telas.
+        return equipamentoFacade.deleteByIds(ids);
+    }
+
+    /**
+     * Cria a partição anual do arquivo, se ainda não existir. O ano vem do banco e é
+     * inteiro, por isso pode compor o nome da tabela.
+     */
+    private void criarParticao(int ano) {
+        LocalDate inicio = LocalDate.of(ano, 1, 1);
+        em.createNativeQuery("CREATE TABLE IF NOT EXISTS equipamentos_arquivo_" + ano
+                        + " PARTITION OF equipamentos_arquivo"
+                        + " FOR VALUES FROM ('" + inicio + "') TO ('" + inicio.plusYears(1) + "')")
+                .executeUpdate();
+    }
+}
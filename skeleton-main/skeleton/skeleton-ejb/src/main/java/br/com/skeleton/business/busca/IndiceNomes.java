@@ -0,0 +1,299 @@
+package br.com.skeleton.business.busca;
+
+import br.com.skeleton.business.alteracoes.AlteracaoEquipamento;
+import br.com.skeleton.business.entity.Equipamento;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.Timeout;
+import jakarta.ejb.TimerConfig;
+import jakarta.ejb.TimerService;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Índice em memória dos nomes de equipamentos para o autocompletar.
+ * <p>
+ * Cada nome é indexado pelo início de cada uma das suas palavras, sem acentos e em
+ * minúsculas, de modo que "bomba hidráulica" é sugerido tanto para "bom" quanto para
+ * "hidra". A consulta é uma varredura ordenada de um {@link ConcurrentSkipListMap}
+ * a partir do prefixo, sem ida ao banco.
+ * <p>
+ * O índice é carregado em segundo plano logo após a inicialização e acompanha as
+ * escritas pelos eventos {@link AlteracaoEquipamento}: alterações individuais são
+ * aplicadas na hora; nas em massa, que trazem só os IDs, os nomes são relidos do banco
+ * em segundo plano. Os IDs das alterações que chegam durante a carga inicial também são
+ * relidos ao fim dela, pois o cursor pode trazer depois do evento um estado anterior a ele.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class IndiceNomes {
+
+    private static final Logger LOGGER = Logger.getLogger(IndiceNomes.class.getName());
+
+    public static final int LIMITE_MAXIMO = 50;
+
+    private static final int IDS_POR_CONSULTA = 10_000;
+    private static final int FETCH_SIZE = 5_000;
+    private static final char SEPARADOR = '\u0000';
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    @PersistenceContext(unitName = "MasterOne")
+    private EntityManager em;
+
+    @Resource
+    private TimerService timerService;
+
+    /** Chave: início de palavra + separador + nome normalizado. Valor: entrada do nome. */
+    private final ConcurrentSkipListMap<String, Entrada> chaves = new ConcurrentSkipListMap<>();
+
+    /** Nome normalizado de cada equipamento, para atualizar e remover por ID. */
+    private final Map<Long, String> nomePorId = new HashMap<>();
+
+    /** Nomes normalizados indexados e o nome original e quantidade de equipamentos de cada um. */
+    private final Map<String, Entrada> entradas = new HashMap<>();
+
+    /** IDs a reler do banco. O lock também protege a passagem de {@link #carregado} para true. */
+    private final Set<Long> pendentes = new HashSet<>();
+
+    private final Object processamento = new Object();
+
+    private volatile boolean carregado;
+
+    @PostConstruct
+    public void init() {
+        agendar();
+    }
+
+    /**
+     * Sugere nomes de equipamentos que têm alguma palavra começando pelo prefixo.
+     *
+     * @param prefixo O texto digitado. Acentos e maiúsculas são ignorados.
+     * @param limite  Quantidade máxima de sugestões, entre 1 e {@value #LIMITE_MAXIMO}.
+     * @return Os nomes distintos encontrados, em ordem alfabética da palavra que casou.
+     * @throws IllegalArgumentException Se o limite for inválido.
+     */
+    public List<String> sugerir(String prefixo, int limite) {
+        if (limite <= 0 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO + ": " + limite);
+        }
+        String chave = prefixo != null ? normalizar(prefixo) : "";
+        if (chave.isEmpty()) {
+            return List.of();
+        }
+        Set<String> nomes = new LinkedHashSet<>();
+        NavigableMap<String, Entrada> faixa = chaves.subMap(chave, true, chave + Character.MAX_VALUE, false);
+        for (Entrada entrada : faixa.values()) {
+            nomes.add(entrada.nome);
+            if (nomes.size() >= limite) {
+                break;
+            }
+        }
+        return new ArrayList<>(nomes);
+    }
+
+    /**
+     * @return true quando a carga inicial terminou. Antes disso, {@link #sugerir} devolve
+     *         só o que já foi lido.
+     */
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    /**
+     * @return A quantidade de nomes distintos indexados.
+     */
+    public int getTotalNomes() {
+        synchronized (entradas) {
+            return entradas.size();
+        }
+    }
+
+    /**
+     * Aplica uma escrita confirmada de equipamentos.
+     *
+     * @param alteracao A alteração disparada pela fachada.
+     */
+    public void atualizar(@Observes(during = TransactionPhase.AFTER_SUCCESS) AlteracaoEquipamento alteracao) {
+        if (!carregado) {
+            synchronized (pendentes) {
+                if (!carregado) {
+                    pendentes.addAll(alteracao.getIds());
+                }
+            }
+        }
+        if (alteracao.getTipo() == AlteracaoEquipamento.Tipo.REMOVIDO) {
+            synchronized (entradas) {
+                for (Long id : alteracao.getIds()) {
+                    remover(id);
+                }
+            }
+        } else if (alteracao.getEquipamento() != null) {
+            Equipamento equipamento = alteracao.getEquipamento();
+            synchronized (entradas) {
+                indexar(equipamento.getId(), equipamento.getNome());
+            }
+        } else {
+            synchronized (pendentes) {
+                pendentes.addAll(alteracao.getIds());
+            }
+            agendar();
+        }
+    }
+
+    /**
+     * Faz a carga inicial e, depois dela, relê os nomes dos equipamentos alterados em massa.
+     */
+    @Timeout
+    public void processar() {
+        // Timers disparados juntos são executados um de cada vez.
+        synchronized (processamento) {
+            try {
+                if (!carregado) {
+                    carregar();
+                }
+                recarregarPendentes();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Erro ao atualizar o índice de nomes de equipamentos", e);
+            }
+        }
+    }
+
+    private void carregar() {
+        long inicio = System.nanoTime();
+        try (Stream<Object[]> linhas = em.createQuery("SELECT e.id, e.nome FROM Equipamento e", Object[].class)
+                .setHint("org.hibernate.fetchSize", FETCH_SIZE)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream()) {
+            linhas.forEach(linha -> {
+                synchronized (entradas) {
+                    indexar((Long) linha[0], (String) linha[1]);
+                }
+            });
+        }
+        // Sob o lock, um evento ou já viu carregado e não concorre mais com o cursor, ou deixou
+        // os seus IDs em pendentes, relidos pelo recarregarPendentes que segue a carga.
+        synchronized (pendentes) {
+            carregado = true;
+        }
+        LOGGER.log(Level.INFO, "Índice de nomes de equipamentos carregado: {0} nomes em {1} ms",
+                new Object[]{getTotalNomes(), (System.nanoTime() - inicio) / 1_000_000});
+    }
+
+    private void recarregarPendentes() {
+        List<Long> ids;
+        synchronized (pendentes) {
+            ids = new ArrayList<>(pendentes);
+            pendentes.clear();
+        }
+        for (int i = 0; i < ids.size(); i += IDS_POR_CONSULTA) {
+            List<Long> lote = ids.subList(i, Math.min(i + IDS_POR_CONSULTA, ids.size()));
+            Map<Long, String> nomes = new HashMap<>();
+            for (Object[] linha : em.createQuery("SELECT e.id, e.nome FROM Equipamento e WHERE e.id IN :ids", Object[].class)
+                    .setParameter("ids", lote)
+                    .getResultList()) {
+                nomes.put((Long) linha[0], (String) linha[1]);
+            }
+            synchronized (entradas) {
+                for (Long id : lote) {
+                    String nome = nomes.get(id);
+                    if (nome != null) {
+                        indexar(id, nome);
+                    } else {
+                        remover(id);
+                    }
+                }
+            }
+        }
+    }
+
+    private void agendar() {
+        timerService.createSingleActionTimer(0, new TimerConfig(null, false));
+    }
+
+    /** Deve ser chamado com o lock de {@link #entradas}. */
+    private void indexar(Long id, String nome) {
+        String normalizado = normalizar(nome);
+        String anterior = nomePorId.put(id, normalizado);
+        if (normalizado.equals(anterior)) {
+            return;
+        }
+        if (anterior != null) {
+            decrementar(anterior);
+        }
+        Entrada entrada = entradas.get(normalizado);
+        if (entrada != null) {
+            entrada.quantidade++;
+            return;
+        }
+        entrada = new Entrada(nome);
+        entradas.put(normalizado, entrada);
+        for (String inicio : iniciosDePalavra(normalizado)) {
+            chaves.put(inicio + SEPARADOR + normalizado, entrada);
+        }
+    }
+
+    /** Deve ser chamado com o lock de {@link #entradas}. */
+    private void remover(Long id) {
+        String normalizado = nomePorId.remove(id);
+        if (normalizado != null) {
+            decrementar(normalizado);
+        }
+    }
+
+    private void decrementar(String normalizado) {
+        Entrada entrada = entradas.get(normalizado);
+        if (entrada != null && --entrada.quantidade == 0) {
+            entradas.remove(normalizado);
+            for (String inicio : iniciosDePalavra(normalizado)) {
+                chaves.remove(inicio + SEPARADOR + normalizado);
+            }
+        }
+    }
+
+    private static List<String> iniciosDePalavra(String normalizado) {
+        List<String> inicios = new ArrayList<>();
+        inicios.add(normalizado);
+        for (int i = normalizado.indexOf(' '); i >= 0; i = normalizado.indexOf(' ', i + 1)) {
+            inicios.add(normalizado.substring(i + 1));
+        }
+        return inicios;
+    }
+
+    static String normalizar(String texto) {
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Entrada {
+
+        private final String nome;
+        private int quantidade = 1;
+
+        private Entrada(String nome) {
+            this.nome = nome;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.skeleton.business.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache em memória com capacidade máxima, expiração por tempo (TTL) e descarte do
+ * item menos usado recentemente (LRU). Registra acertos, faltas, descartes e
+ * expirações para permitir o dimensionamento.
+ *
+ * @param <K> tipo da chave
+ * @param <V> tipo do valor
+ */
+public class CacheLimitado<K, V> {
+
+    private final String nome;
+    private final int capacidade;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entrada<V>> entradas;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder descartes = new LongAdder();
+    private final LongAdder expiracoes = new LongAdder();
+
+    /**
+     * @param nome       Nome da região, usado nas estatísticas.
+     * @param capacidade Quantidade máxima de entradas. Deve ser positiva.
+     * @param ttlNanos   Tempo de vida de cada entrada, em nanossegundos. Deve ser positivo.
+     */
+    public CacheLimitado(String nome, int capacidade, long ttlNanos) {
+        if (capacidade <= 0 || ttlNanos <= 0) {
+            throw new IllegalArgumentException("Capacidade e TTL devem ser positivos.");
+        }
+        this.nome = nome;
+        this.capacidade = capacidade;
+        this.ttlNanos = ttlNanos;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> eldest) {
+                if (size() > CacheLimitado.this.capacidade) {
+                    descartes.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Retorna o valor associado à chave, se presente e não expirado.
+     *
+     * @param chave A chave buscada.
+     * @return O valor ou null.
+     */
+    public V get(K chave) {
+        synchronized (entradas) {
+            Entrada<V> entrada = entradas.get(chave);
+            if (entrada != null && System.nanoTime() - entrada.criadaEm > ttlNanos) {
+                entradas.remove(chave);
+                expiracoes.increment();
+                entrada = null;
+            }
+            if (entrada == null) {
+                faltas.increment();
+                return null;
+            }
+            acertos.increment();
+            return entrada.valor;
+        }
+    }
+
+    /**
+     * Associa o valor à chave, descartando a entrada menos usada se a capacidade for excedida.
+     *
+     * @param chave A chave. Não pode ser nula.
+     * @param valor O valor. Não pode ser nulo.
+     */
+    public void put(K chave, V valor) {
+        synchronized (entradas) {
+            entradas.put(chave, new Entrada<>(valor, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Associa o valor à chave se a condição, avaliada sob o lock da região, for verdadeira.
+     * Uma remoção concorrente ou acontece antes da avaliação, e é vista por ela, ou depois
+     * da inclusão, e remove o valor.
+     *
+     * @param chave    A chave. Não pode ser nula.
+     * @param valor    O valor. Não pode ser nulo.
+     * @param condicao A condição para armazenar o valor.
+     * @return true se o valor foi armazenado.
+     */
+    public boolean putSe(K chave, V valor, BooleanSupplier condicao) {
+        synchronized (entradas) {
+            if (!condicao.getAsBoolean()) {
+                return false;
+            }
+            entradas.put(chave, new Entrada<>(valor, System.nanoTime()));
+            return true;
+        }
+    }
+
+    /**
+     * Remove a entrada associada à chave.
+     *
+     * @param chave A chave.
+     */
+    public void remove(K chave) {
+        synchronized (entradas) {
+            entradas.remove(chave);
+        }
+    }
+
+    /**
+     * Remove todas as entradas.
+     */
+    public void clear() {
+        synchronized (entradas) {
+            entradas.clear();
+        }
+    }
+
+    /**
+     * Retorna um retrato das estatísticas de uso desta região.
+     *
+     * @return As estatísticas atuais.
+     */
+    public EstatisticasCache estatisticas() {
+        int tamanho;
+        synchronized (entradas) {
+            tamanho = entradas.size();
+        }
+        return new EstatisticasCache(nome, tamanho, capacidade, acertos.sum(), faltas.sum(),
+                descartes.sum(), expiracoes.sum());
+    }
+
+    private static final class Entrada<V> {
+        private final V valor;
+        private final long criadaEm;
+
+        private Entrada(V valor, long criadaEm) {
+            this.valor = valor;
+            this.criadaEm = criadaEm;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package br.com.skeleton.business.cache;
+
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.facade.EquipamentoFiltro;
+import br.com.skeleton.business.facade.EquipamentoResumo;
+import br.com.skeleton.business.serializacao.CodecBinario;
+import jakarta.annotation.Resource;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Singleton;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cache de leitura de equipamentos compartilhado pela aplicação, com quatro regiões:
+ * <ul>
+ *   <li>entidades: equipamentos por ID;</li>
+ *   <li>consultas: resultados de listagens, desde que tenham até {@link #MAX_LINHAS_CONSULTA} linhas;</li>
+ *   <li>resumos: listagens projetadas em {@link EquipamentoResumo}, com o mesmo limite de linhas;</li>
+ *   <li>contagens: totais por filtro.</li>
+ * </ul>
+ * Entidades e consultas são armazenadas no formato compacto de {@link CodecBinario} e cada
+ * leitura decodifica uma instância nova, para que alterações feitas pelo chamador (por
+ * exemplo, o binding de um formulário JSF) não contaminem o cache. Codificado, um
+ * equipamento ocupa uma fração do grafo de objetos (datas, BigDecimal, strings).
+ * A fachada invalida as regiões afetadas a cada escrita.
+ * <p>
+ * Cada escrita também avança uma geração: a dos IDs alterados e a das consultas. Quem vai
+ * ler do banco captura a geração antes da leitura e a informa ao armazenar o resultado; se
+ * uma escrita aconteceu no meio, o resultado pode ser anterior ao commit e é descartado.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class EquipamentoCache {
+
+    static final int MAX_LINHAS_CONSULTA = 500;
+
+    /**
+     * Listras de geração das entidades. IDs na mesma listra compartilham a geração: uma
+     * colisão só descarta um resultado válido, nunca aceita um obsoleto.
+     */
+    private static final int LISTRAS = 1024;
+
+    @Resource
+    private TransactionSynchronizationRegistry txRegistry;
+
+    private final CacheLimitado<Long, byte[]> entidades =
+            new CacheLimitado<>("equipamentos.entidades", 10_000, TimeUnit.MINUTES.toNanos(10));
+    private final CacheLimitado<List<Object>, byte[]> consultas =
+            new CacheLimitado<>("equipamentos.consultas", 200, TimeUnit.SECONDS.toNanos(60));
+    private final CacheLimitado<List<Object>, List<EquipamentoResumo>> resumos =
+            new CacheLimitado<>("equipamentos.resumos", 200, TimeUnit.SECONDS.toNanos(60));
+    private final CacheLimitado<EquipamentoFiltro, Long> contagens =
+            new CacheLimitado<>("equipamentos.contagens", 256, TimeUnit.SECONDS.toNanos(30));
+
+    private final AtomicLongArray geracoes = new AtomicLongArray(LISTRAS);
+    private final AtomicLong geracaoConsultas = new AtomicLong();
+
+    /**
+     * @param id O ID do equipamento.
+     * @return A geração atual do equipamento, a capturar antes de lê-lo do banco.
+     */
+    public long geracao(Long id) {
+        return geracoes.get(listra(id));
+    }
+
+    /**
+     * @return A geração atual de consultas, resumos e contagens, a capturar antes de
+     *         executar a consulta no banco.
+     */
+    public long geracaoConsultas() {
+        return geracaoConsultas.get();
+    }
+
+    private static int listra(Long id) {
+        return Long.hashCode(id) & (LISTRAS - 1);
+    }
+
+    /**
+     * @param id O ID do equipamento.
+     * @return Uma cópia do equipamento em cache, ou null.
+     */
+    public Equipamento getEquipamento(Long id) {
+        byte[] equipamento = entidades.get(id);
+        return equipamento != null ? CodecBinario.decodificar(equipamento) : null;
+    }
+
+    /**
+     * @param equipamento O equipamento lido do banco. Deve ter ID.
+     * @param geracao     A geração capturada com {@link #geracao(Long)} antes da leitura.
+     */
+    public void putEquipamento(Equipamento equipamento, long geracao) {
+        int listra = listra(equipamento.getId());
+        entidades.putSe(equipamento.getId(), CodecBinario.codificar(equipamento),
+                () -> geracoes.get(listra) == geracao);
+    }
+
+    /**
+     * @param chave A chave da consulta (nome do método e parâmetros).
+     * @return Cópias dos equipamentos em cache, ou null.
+     */
+    public List<Equipamento> getConsulta(List<Object> chave) {
+        byte[] resultado = consultas.get(chave);
+        return resultado != null ? CodecBinario.decodificarLista(resultado) : null;
+    }
+
+    /**
+     * Armazena o resultado de uma consulta, se ele não exceder {@link #MAX_LINHAS_CONSULTA} linhas.
+     *
+     * @param chave     A chave da consulta. Não pode ser alterada depois.
+     * @param resultado Os equipamentos retornados pelo banco.
+     * @param geracao   A geração capturada com {@link #geracaoConsultas()} antes da consulta.
+     */
+    public void putConsulta(List<Object> chave, List<Equipamento> resultado, long geracao) {
+        if (resultado.size() <= MAX_LINHAS_CONSULTA) {
+            consultas.putSe(chave, CodecBinario.codificarLista(resultado), () -> geracaoConsultas.get() == geracao);
+        }
+    }
+
+    /**
+     * @param chave A chave da consulta (nome do método e parâmetros).
+     * @return Os resumos em cache, ou null. Resumos são imutáveis e não precisam de cópia.
+     */
+    public List<EquipamentoResumo> getResumos(List<Object> chave) {
+        return resumos.get(chave);
+    }
+
+    /**
+     * Armazena o resultado de uma consulta projetada, se ele não exceder {@link #MAX_LINHAS_CONSULTA} linhas.
+     *
+     * @param chave     A chave da consulta. Não pode ser alterada depois.
+     * @param resultado Os resumos retornados pelo banco.
+     * @param geracao   A geração capturada com {@link #geracaoConsultas()} antes da consulta.
+     */
+    public void putResumos(List<Object> chave, List<EquipamentoResumo> resultado, long geracao) {
+        if (resultado.size() <= MAX_LINHAS_CONSULTA) {
+            resumos.putSe(chave, List.copyOf(resultado), () -> geracaoConsultas.get() == geracao);
+        }
+    }
+
+    /**
+     * @param filtro O filtro da contagem.
+     * @return O total em cache, ou null.
+     */
+    public Long getContagem(EquipamentoFiltro filtro) {
+        return contagens.get(filtro);
+    }
+
+    /**
+     * @param filtro  O filtro da contagem; uma cópia é usada como chave.
+     * @param total   O total de registros.
+     * @param geracao A geração capturada com {@link #geracaoConsultas()} antes da contagem.
+     */
+    public void putContagem(EquipamentoFiltro filtro, long total, long geracao) {
+        contagens.putSe(new EquipamentoFiltro(filtro), total, () -> geracaoConsultas.get() == geracao);
+    }
+
+    /**
+     * Remove os equipamentos alterados e descarta todas as consultas e contagens,
+     * já que qualquer escrita pode alterá-las.
+     *
+     * @param ids Os IDs dos equipamentos alterados ou removidos.
+     */
+    public void invalidar(Collection<Long> ids) {
+        // A geração avança antes da remoção: um put concorrente ou vê a geração nova, ou é removido.
+        for (Long id : ids) {
+            geracoes.incrementAndGet(listra(id));
+            entidades.remove(id);
+        }
+        geracaoConsultas.incrementAndGet();
+        consultas.clear();
+        resumos.clear();
+        contagens.clear();
+    }
+
+    /**
+     * Invalida agora e novamente após o fim da transação corrente. Leituras que começaram
+     * antes do commit podem trazer o estado anterior a ele; a segunda invalidação avança
+     * a geração e impede que elas o armazenem depois.
+     *
+     * @param ids Os IDs dos equipamentos alterados ou removidos.
+     */
+    public void invalidarNaTransacao(Collection<Long> ids) {
+        invalidar(ids);
+        if (txRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            txRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    invalidar(ids);
+                }
+            });
+        }
+    }
+
+    /**
+     * Descarta todo o conteúdo do cache.
+     */
+    public void invalidarTudo() {
+        for (int i = 0; i < LISTRAS; i++) {
+            geracoes.incrementAndGet(i);
+        }
+        geracaoConsultas.incrementAndGet();
+        entidades.clear();
+        consultas.clear();
+        resumos.clear();
+        contagens.clear();
+    }
+
+    /**
+     * @return As estatísticas de cada região.
+     */
+    public List<EstatisticasCache> estatisticas() {
+        return List.of(entidades.estatisticas(), consultas.estatisticas(), resumos.estatisticas(),
+                contagens.estatisticas());
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.skeleton.business.cache;
+
+import java.io.Serializable;
+
+/**
+ * Retrato imutável das estatísticas de uma região de cache.
+ */
+public class EstatisticasCache implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String nome;
+    private final int tamanho;
+    private final int capacidade;
+    private final long acertos;
+    private final long faltas;
+    private final long descartes;
+    private final long expiracoes;
+
+    public EstatisticasCache(String nome, int tamanho, int capacidade, long acertos, long faltas,
+                             long descartes, long expiracoes) {
+        this.nome = nome;
+        this.tamanho = tamanho;
+        this.capacidade = capacidade;
+        this.acertos = acertos;
+        this.faltas = faltas;
+        this.descartes = descartes;
+        this.expiracoes = expiracoes;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public long getFaltas() {
+        return faltas;
+    }
+
+    public long getDescartes() {
+        return descartes;
+    }
+
+    public long getExpiracoes() {
+        return expiracoes;
+    }
+
+    /**
+     * Proporção de acertos sobre o total de consultas ao cache.
+     *
+     * @return Um valor entre 0 e 1, ou 0 se o cache ainda não foi consultado.
+     */
+    public double getTaxaAcerto() {
+        long total = acertos + faltas;
+        return total == 0 ? 0 : (double) acertos / total;
+    }
+
+    @Override
+    public String toString() {
+        return "EstatisticasCache{" +
+                "nome='" + nome + '\'' +
+                ", tamanho=" + tamanho +
+                ", capacidade=" + capacidade +
+                ", acertos=" + acertos +
+                ", faltas=" + faltas +
+                ", descartes=" + descartes +
+                ", expiracoes=" + expiracoes +
+                '}';
+    }
+}
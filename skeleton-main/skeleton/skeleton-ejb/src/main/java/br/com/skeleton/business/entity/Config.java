@@ -1,17 +1,23 @@
 package br.com.skeleton.business.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Column;
 import jakarta.persistence.Table;
-import java.io.Serializable;
+import br.com.skeleton.business.serializacao.CodecBinario;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.Objects;
 
 @Entity
+@Cacheable
 @Table(name = "configs")
-public class Config implements Serializable {
+public class Config implements Externalizable {
 
   private static final long serialVersionUID = 6615511541532380908L;
 
@@ -52,6 +58,26 @@ public class Config implements Serializable {
     this.id = id;
   }
 
+  /**
+   * Escreve a configuração no formato compacto de {@link CodecBinario}.
+   * @param out o destino
+   * @throws IOException se o destino falhar
+   */
+  @Override
+  public void writeExternal(ObjectOutput out) throws IOException {
+    CodecBinario.escrever(out, this);
+  }
+
+  /**
+   * Lê a configuração escrita por {@link #writeExternal(ObjectOutput)}.
+   * @param in a origem
+   * @throws IOException se a origem falhar ou estiver em outro formato
+   */
+  @Override
+  public void readExternal(ObjectInput in) throws IOException {
+    CodecBinario.ler(in, this);
+  }
+
   @Override
   public int hashCode() {
     return Objects.hash(mensagem);
@@ -1,28 +1,55 @@
 package br.com.skeleton.business.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Column;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
-import java.io.Serializable;
+import jakarta.persistence.SequenceGenerator;
+import br.com.skeleton.business.serializacao.CodecBinario;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.math.BigDecimal;
+import java.util.Locale;
 import java.util.Objects;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "equipamentos")
-
-public class Equipamento implements Serializable {
+@Cacheable
+@Table(name = "equipamentos", indexes = {
+        @Index(name = "idx_equipamentos_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_equipamentos_updated_at_id", columnList = "updated_at, id"),
+        @Index(name = "idx_equipamentos_status_validade", columnList = "status, validade, id")
+})
+// O índice parcial idx_equipamentos_ativos_validade (validade, id) WHERE status = 'ativo'
+// não tem equivalente em @Index e é criado em sql/004_equipamentos_indices.sql.
+// A coluna gerada busca (tsvector) e os índices GIN da busca textual ficam em
+// sql/006_equipamentos_busca.sql e não são mapeados aqui.
+
+// Serializado no formato compacto de CodecBinario (view state, sessão), não pelos campos.
+public class Equipamento implements Externalizable {
 
     private static final long serialVersionUID = 1L;
 
+    // O status é gravado sempre em minúsculas (normalizarStatus): as consultas, os índices
+    // parciais de sql/ e os resumos comparam por igualdade com estes valores.
+    public static final String STATUS_ATIVO = "ativo";
+    public static final String STATUS_INATIVO = "inativo";
+    public static final String STATUS_VENCIDO = "vencido";
+
+    // Sequência com alocação em blocos (pooled): ao contrário de IDENTITY, permite INSERTs em lote.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "equipamentos_seq")
+    @SequenceGenerator(name = "equipamentos_seq", sequenceName = "equipamentos_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "nome", nullable = false)
@@ -41,7 +68,7 @@ public class Equipamento implements Serializable {
     private BigDecimal valor;
 
     @Column(name = "status", nullable = false, columnDefinition = "VARCHAR(20) DEFAULT 'ativo'")
-    private String status = "ativo";
+    private String status = STATUS_ATIVO;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -49,15 +76,37 @@ public class Equipamento implements Serializable {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     public Equipamento() {}
 
+    /**
+     * Cria uma cópia de outro equipamento, incluindo ID e datas de controle.
+     *
+     * @param outro O equipamento a ser copiado. Não pode ser nulo.
+     */
+    public Equipamento(Equipamento outro) {
+        this.id = outro.id;
+        this.nome = outro.nome;
+        this.descricao = outro.descricao;
+        this.datadechegada = outro.datadechegada;
+        this.validade = outro.validade;
+        this.valor = outro.valor;
+        this.status = outro.status;
+        this.createdAt = outro.createdAt;
+        this.updatedAt = outro.updatedAt;
+        this.versao = outro.versao;
+    }
+
     public Equipamento (String nome, String descricao, LocalDate datadechegada, LocalDate validade, BigDecimal valor, String status) {
         this.nome = nome;
         this.descricao = descricao;
         this.datadechegada = datadechegada;
         this.validade = validade;
         this.valor = valor;
-        this.status = status;
+        this.status = normalizarStatus(status);
     }
 
     public Long getId() {
@@ -113,7 +162,17 @@ public class Equipamento implements Serializable {
     }
 
     public void setStatus(String status) {
-        this.status = status;
+        this.status = normalizarStatus(status);
+    }
+
+    /**
+     * Forma gravada de um status: sem espaços nas pontas e em minúsculas.
+     *
+     * @param status O status como informado (tela, API, importação). Pode ser nulo.
+     * @return O status normalizado, ou nulo se for nulo.
+     */
+    public static String normalizarStatus(String status) {
+        return status == null ? null : status.strip().toLowerCase(Locale.ROOT);
     }
 
     public LocalDateTime getCreatedAt() {
@@ -132,6 +191,24 @@ public class Equipamento implements Serializable {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        CodecBinario.escrever(out, this);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        CodecBinario.ler(in, this);
+    }
+
     @PrePersist
     public void prePersist() {
         LocalDateTime now = LocalDateTime.now();
@@ -156,6 +233,7 @@ public class Equipamento implements Serializable {
                 ", status='" + status + '\'' +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
+                ", versao=" + versao +
                 '}';
     }
 
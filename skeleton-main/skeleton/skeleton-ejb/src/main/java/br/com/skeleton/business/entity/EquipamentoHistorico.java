@@ -0,0 +1,109 @@
+package br.com.skeleton.business.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Visão somente leitura dos equipamentos ativos e arquivados juntos (view
+ * {@code equipamentos_historico}, ver sql/009_equipamentos_arquivo.sql). Usada pelas
+ * consultas que pedem a inclusão dos arquivados; nunca é gravada.
+ */
+@Entity
+@Table(name = "equipamentos_historico")
+public class EquipamentoHistorico implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id", insertable = false, updatable = false)
+    private Long id;
+
+    @Column(name = "nome", insertable = false, updatable = false)
+    private String nome;
+
+    @Column(name = "descricao", insertable = false, updatable = false)
+    private String descricao;
+
+    @Column(name = "data_de_chegada", insertable = false, updatable = false)
+    private LocalDate datadechegada;
+
+    @Column(name = "validade", insertable = false, updatable = false)
+    private LocalDate validade;
+
+    @Column(name = "valor", insertable = false, updatable = false)
+    private BigDecimal valor;
+
+    @Column(name = "status", insertable = false, updatable = false)
+    private String status;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "arquivado", insertable = false, updatable = false)
+    private boolean arquivado;
+
+    protected EquipamentoHistorico() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public LocalDate getDatadechegada() {
+        return datadechegada;
+    }
+
+    public LocalDate getValidade() {
+        return validade;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public boolean isArquivado() {
+        return arquivado;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        EquipamentoHistorico that = (EquipamentoHistorico) obj;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
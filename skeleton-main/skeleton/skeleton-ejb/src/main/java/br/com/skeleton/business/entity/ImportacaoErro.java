@@ -0,0 +1,103 @@
+package br.com.skeleton.business.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Linha rejeitada durante uma importação, com o motivo da rejeição.
+ */
+@Entity
+@Table(name = "importacao_erros", indexes = {
+        @Index(name = "idx_importacao_erros_job_linha", columnList = "job_id, linha")
+})
+public class ImportacaoErro implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Tamanho máximo armazenado da mensagem de erro. */
+    public static final int TAMANHO_MENSAGEM = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "importacao_erros_seq")
+    @SequenceGenerator(name = "importacao_erros_seq", sequenceName = "importacao_erros_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "linha", nullable = false)
+    private long linha;
+
+    @Column(name = "mensagem", nullable = false, length = TAMANHO_MENSAGEM)
+    private String mensagem;
+
+    public ImportacaoErro() {}
+
+    public ImportacaoErro(long linha, String mensagem) {
+        this.linha = linha;
+        setMensagem(mensagem);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public long getLinha() {
+        return linha;
+    }
+
+    public void setLinha(long linha) {
+        this.linha = linha;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        String texto = mensagem != null ? mensagem : "Erro desconhecido";
+        this.mensagem = texto.length() > TAMANHO_MENSAGEM ? texto.substring(0, TAMANHO_MENSAGEM) : texto;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportacaoErro{" +
+                "jobId=" + jobId +
+                ", linha=" + linha +
+                ", mensagem='" + mensagem + '\'' +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        ImportacaoErro that = (ImportacaoErro) obj;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.skeleton.business.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Estado de uma importação em massa de equipamentos. A coluna {@code ultima_linha}
+ * é o checkpoint: todas as linhas do arquivo até ela já foram gravadas, o que
+ * permite retomar a importação após uma queda.
+ */
+@Entity
+@Table(name = "importacao_jobs")
+public class ImportacaoJob implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String PENDENTE = "pendente";
+    public static final String PROCESSANDO = "processando";
+    public static final String CONCLUIDO = "concluido";
+    public static final String FALHOU = "falhou";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "arquivo", nullable = false, length = 1024)
+    private String arquivo;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status = PENDENTE;
+
+    @Column(name = "ultima_linha", nullable = false)
+    private long ultimaLinha;
+
+    @Column(name = "total_importados", nullable = false)
+    private long totalImportados;
+
+    @Column(name = "total_erros", nullable = false)
+    private long totalErros;
+
+    @Column(name = "mensagem_erro", length = 1000)
+    private String mensagemErro;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public ImportacaoJob() {}
+
+    public ImportacaoJob(String arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getArquivo() {
+        return arquivo;
+    }
+
+    public void setArquivo(String arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getUltimaLinha() {
+        return ultimaLinha;
+    }
+
+    public void setUltimaLinha(long ultimaLinha) {
+        this.ultimaLinha = ultimaLinha;
+    }
+
+    public long getTotalImportados() {
+        return totalImportados;
+    }
+
+    public void setTotalImportados(long totalImportados) {
+        this.totalImportados = totalImportados;
+    }
+
+    public long getTotalErros() {
+        return totalErros;
+    }
+
+    public void setTotalErros(long totalErros) {
+        this.totalErros = totalErros;
+    }
+
+    public String getMensagemErro() {
+        return mensagemErro;
+    }
+
+    public void setMensagemErro(String mensagemErro) {
+        this.mensagemErro = mensagemErro;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @Override
+    public String toString() {
+        return "ImportacaoJob{" +
+                "id=" + id +
+                ", arquivo='" + arquivo + '\'' +
+                ", status='" + status + '\'' +
+                ", ultimaLinha=" + ultimaLinha +
+                ", totalImportados=" + totalImportados +
+                ", totalErros=" + totalErros +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        ImportacaoJob that = (ImportacaoJob) obj;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,190 @@
+package br.com.skeleton.business.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Mensagem aguardando entrega a um sistema externo (padrão transactional outbox).
+ * É gravada na mesma transação que os dados de negócio e entregue depois, em segundo
+ * plano. A chave de idempotência acompanha a mensagem em todas as tentativas, para que
+ * o destino descarte entregas repetidas.
+ */
+@Entity
+// O índice das mensagens pendentes é parcial (WHERE status = 'pendente') e fica em sql/005_outbox.sql.
+@Table(name = "outbox_mensagens")
+public class MensagemOutbox implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String PENDENTE = "pendente";
+    public static final String ENTREGUE = "entregue";
+    public static final String FALHOU = "falhou";
+
+    public static final int TAMANHO_ERRO = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "chave_idempotencia", nullable = false, unique = true, length = 36, updatable = false)
+    private String chaveIdempotencia;
+
+    @Column(name = "tipo", nullable = false, length = 50, updatable = false)
+    private String tipo;
+
+    @Column(name = "carga", nullable = false, columnDefinition = "TEXT", updatable = false)
+    private String carga;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status = PENDENTE;
+
+    @Column(name = "tentativas", nullable = false)
+    private int tentativas;
+
+    @Column(name = "proxima_tentativa", nullable = false)
+    private LocalDateTime proximaTentativa;
+
+    @Column(name = "ultimo_erro", length = TAMANHO_ERRO)
+    private String ultimoErro;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "entregue_em")
+    private LocalDateTime entregueEm;
+
+    public MensagemOutbox() {}
+
+    public MensagemOutbox(String tipo, String carga) {
+        this.tipo = tipo;
+        this.carga = carga;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        if (this.proximaTentativa == null) {
+            this.proximaTentativa = now;
+        }
+        if (this.chaveIdempotencia == null) {
+            this.chaveIdempotencia = UUID.randomUUID().toString();
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getChaveIdempotencia() {
+        return chaveIdempotencia;
+    }
+
+    public void setChaveIdempotencia(String chaveIdempotencia) {
+        this.chaveIdempotencia = chaveIdempotencia;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public String getCarga() {
+        return carga;
+    }
+
+    public void setCarga(String carga) {
+        this.carga = carga;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getTentativas() {
+        return tentativas;
+    }
+
+    public void setTentativas(int tentativas) {
+        this.tentativas = tentativas;
+    }
+
+    public LocalDateTime getProximaTentativa() {
+        return proximaTentativa;
+    }
+
+    public void setProximaTentativa(LocalDateTime proximaTentativa) {
+        this.proximaTentativa = proximaTentativa;
+    }
+
+    public String getUltimoErro() {
+        return ultimoErro;
+    }
+
+    public void setUltimoErro(String ultimoErro) {
+        this.ultimoErro = ultimoErro != null && ultimoErro.length() > TAMANHO_ERRO
+                ? ultimoErro.substring(0, TAMANHO_ERRO)
+                : ultimoErro;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getEntregueEm() {
+        return entregueEm;
+    }
+
+    public void setEntregueEm(LocalDateTime entregueEm) {
+        this.entregueEm = entregueEm;
+    }
+
+    @Override
+    public String toString() {
+        return "MensagemOutbox{" +
+                "id=" + id +
+                ", chaveIdempotencia='" + chaveIdempotencia + '\'' +
+                ", tipo='" + tipo + '\'' +
+                ", status='" + status + '\'' +
+                ", tentativas=" + tentativas +
+                ", proximaTentativa=" + proximaTentativa +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        MensagemOutbox that = (MensagemOutbox) obj;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,158 @@
+package br.com.skeleton.business.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Uma faixa de IDs de equipamentos na varredura de vencimentos de uma data. A coluna
+ * {@code proximo_id} é o checkpoint: os IDs da faixa anteriores a ele já foram
+ * processados, o que permite retomar a varredura após uma queda.
+ */
+@Entity
+@Table(name = "vencimento_particoes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_vencimento_particoes_data_inicio",
+                columnNames = {"data_referencia", "id_inicio"}))
+public class VencimentoParticao implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String PENDENTE = "pendente";
+    public static final String PROCESSANDO = "processando";
+    public static final String CONCLUIDA = "concluida";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "data_referencia", nullable = false, updatable = false)
+    private LocalDate dataReferencia;
+
+    @Column(name = "id_inicio", nullable = false, updatable = false)
+    private long idInicio;
+
+    /** Limite superior exclusivo da faixa. Na última partição, estendido ao retomar a varredura. */
+    @Column(name = "id_fim", nullable = false)
+    private long idFim;
+
+    @Column(name = "proximo_id", nullable = false)
+    private long proximoId;
+
+    @Column(name = "atualizados", nullable = false)
+    private long atualizados;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status = PENDENTE;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public VencimentoParticao() {}
+
+    public VencimentoParticao(LocalDate dataReferencia, long idInicio, long idFim) {
+        this.dataReferencia = dataReferencia;
+        this.idInicio = idInicio;
+        this.idFim = idFim;
+        this.proximoId = idInicio;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void atualizarData() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * @return true se todos os IDs da faixa já foram processados.
+     */
+    public boolean isConcluida() {
+        return CONCLUIDA.equals(status);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDataReferencia() {
+        return dataReferencia;
+    }
+
+    public long getIdInicio() {
+        return idInicio;
+    }
+
+    public long getIdFim() {
+        return idFim;
+    }
+
+    public void setIdFim(long idFim) {
+        this.idFim = idFim;
+    }
+
+    public long getProximoId() {
+        return proximoId;
+    }
+
+    public void setProximoId(long proximoId) {
+        this.proximoId = proximoId;
+    }
+
+    public long getAtualizados() {
+        return atualizados;
+    }
+
+    public void setAtualizados(long atualizados) {
+        this.atualizados = atualizados;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "VencimentoParticao{" +
+                "id=" + id +
+                ", dataReferencia=" + dataReferencia +
+                ", idInicio=" + idInicio +
+                ", idFim=" + idFim +
+                ", proximoId=" + proximoId +
+                ", status='" + status + '\'' +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        VencimentoParticao that = (VencimentoParticao) obj;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
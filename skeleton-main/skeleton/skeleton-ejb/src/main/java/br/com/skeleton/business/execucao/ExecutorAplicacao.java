@@ -0,0 +1,131 @@
+package br.com.skeleton.business.execucao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Singleton;
+import jakarta.enterprise.concurrent.ContextService;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executor das tarefas de E/S da aplicação (operações assíncronas da API e jobs em segundo
+ * plano), em um de dois modos escolhidos na inicialização:
+ * <ul>
+ *   <li>plataforma (padrão): o {@link ManagedExecutorService} do servidor, cujo pool limita
+ *       quantas tarefas bloqueiam no JDBC ao mesmo tempo;</li>
+ *   <li>virtual ({@code -Dskeleton.threads.virtuais=true}, requer Java 21): uma thread virtual
+ *       por tarefa, com o contexto do container propagado pelo {@link ContextService}. Como
+ *       o número de threads deixa de ser limite, o acesso ao banco passa a ser limitado por
+ *       {@link #comLimiteBanco(Supplier)} a {@code skeleton.banco.conexoes} (padrão 20)
+ *       operações simultâneas, valor que deve acompanhar o tamanho do pool JDBC do servidor.</li>
+ * </ul>
+ * Em Java anterior ao 21 o modo virtual é ignorado com um aviso. A criação das threads
+ * virtuais é feita por reflexão para que o projeto continue compilando para Java 11.
+ * <p>
+ * Não use o modo virtual para tarefas de CPU, como a conversão de linhas da importação.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class ExecutorAplicacao {
+
+    private static final Logger LOGGER = Logger.getLogger(ExecutorAplicacao.class.getName());
+
+    public static final String PROPRIEDADE_VIRTUAIS = "skeleton.threads.virtuais";
+    public static final String PROPRIEDADE_CONEXOES = "skeleton.banco.conexoes";
+    private static final int CONEXOES_PADRAO = 20;
+
+    @Resource
+    private ManagedExecutorService gerenciado;
+
+    @Resource
+    private ContextService contexto;
+
+    private ExecutorService virtual;
+    private Semaphore conexoes;
+
+    @PostConstruct
+    public void iniciar() {
+        if (!Boolean.getBoolean(PROPRIEDADE_VIRTUAIS)) {
+            return;
+        }
+        virtual = novoExecutorVirtual();
+        if (virtual == null) {
+            LOGGER.warning("Threads virtuais exigem Java 21; usando o executor gerenciado do servidor.");
+            return;
+        }
+        int limite = Integer.getInteger(PROPRIEDADE_CONEXOES, CONEXOES_PADRAO);
+        conexoes = new Semaphore(limite, true);
+        LOGGER.log(Level.INFO, "Tarefas de E/S em threads virtuais, com até {0} acessos simultâneos ao banco", limite);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (virtual != null) {
+            virtual.shutdown();
+        }
+    }
+
+    /**
+     * @return true se as tarefas estão rodando em threads virtuais.
+     */
+    public boolean isVirtual() {
+        return virtual != null;
+    }
+
+    /**
+     * @return O executor do modo configurado.
+     */
+    public Executor executor() {
+        if (virtual == null) {
+            return gerenciado;
+        }
+        return tarefa -> virtual.execute(contexto.createContextualProxy(tarefa, Runnable.class));
+    }
+
+    /**
+     * Executa uma operação de banco respeitando o limite de acessos simultâneos do modo
+     * virtual. No modo plataforma a operação é executada diretamente.
+     *
+     * @param operacao A operação.
+     * @return O resultado da operação.
+     * @throws IllegalStateException Se a thread for interrompida enquanto espera.
+     */
+    public <T> T comLimiteBanco(Supplier<T> operacao) {
+        if (conexoes == null) {
+            return operacao.get();
+        }
+        try {
+            conexoes.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando acesso ao banco.", e);
+        }
+        try {
+            return operacao.get();
+        } finally {
+            conexoes.release();
+        }
+    }
+
+    /**
+     * Cria um executor com uma thread virtual por tarefa.
+     *
+     * @return O executor, ou null se a JVM não suportar threads virtuais.
+     */
+    public static ExecutorService novoExecutorVirtual() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.skeleton.business.facade;
+
+import jakarta.ejb.ApplicationException;
+
+/**
+ * Indica que o equipamento foi alterado por outra transação desde que foi lido
+ * (a versão informada não é mais a atual). A transação é desfeita.
+ */
+@ApplicationException(rollback = true)
+public class ConflitoAtualizacaoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long equipamentoId;
+
+    public ConflitoAtualizacaoException(Long equipamentoId, Throwable causa) {
+        super("Equipamento foi alterado por outro usuário. ID: " + equipamentoId, causa);
+        this.equipamentoId = equipamentoId;
+    }
+
+    public Long getEquipamentoId() {
+        return equipamentoId;
+    }
+}
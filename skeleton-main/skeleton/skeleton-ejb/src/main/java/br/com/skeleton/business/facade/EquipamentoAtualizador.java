@@ -0,0 +1,139 @@
+package br.com.skeleton.business.facade;
+
+import br.com.skeleton.business.alteracoes.AlteracaoEquipamento;
+import br.com.skeleton.business.cache.EquipamentoCache;
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.relatorio.ResumoEquipamentos;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Executa uma tentativa de atualização com mescla de três vias (original lido pelo
+ * cliente, alteração do cliente e estado atual do banco), em transação própria para
+ * que a fachada possa repetir a tentativa após um conflito de versão.
+ */
+@Stateless
+public class EquipamentoAtualizador {
+
+    private static final List<Campo<?>> CAMPOS = List.of(
+            new Campo<>("nome", Equipamento::getNome, Equipamento::setNome),
+            new Campo<>("descricao", Equipamento::getDescricao, Equipamento::setDescricao),
+            new Campo<>("datadechegada", Equipamento::getDatadechegada, Equipamento::setDatadechegada),
+            new Campo<>("validade", Equipamento::getValidade, Equipamento::setValidade),
+            new Campo<>("valor", Equipamento::getValor, Equipamento::setValor),
+            new Campo<>("status", Equipamento::getStatus, Equipamento::setStatus));
+
+    @PersistenceContext(unitName = "MasterOne")
+    private EntityManager em;
+
+    @EJB
+    private EquipamentoCache cache;
+
+    @EJB
+    private ResumoEquipamentos resumo;
+
+    @Inject
+    private Event<AlteracaoEquipamento> alteracoes;
+
+    /**
+     * Aplica sobre o estado atual os campos que o cliente alterou em relação ao original.
+     *
+     * @param original   O equipamento como o cliente o leu, incluindo a versão.
+     * @param alterado   O equipamento com as alterações do cliente.
+     * @param tentativa  O número da tentativa, repassado ao resultado.
+     * @return O resultado da tentativa.
+     * @throws ConflitoAtualizacaoException Se outra transação gravar o equipamento durante a tentativa.
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public ResultadoAtualizacao tentar(Equipamento original, Equipamento alterado, int tentativa) {
+        Equipamento atual = em.find(Equipamento.class, original.getId());
+        if (atual == null) {
+            return new ResultadoAtualizacao(ResultadoAtualizacao.Situacao.NAO_ENCONTRADO, null, Set.of(), tentativa);
+        }
+        Set<String> nossos = diferencas(original, alterado);
+        ResultadoAtualizacao.Situacao situacao = ResultadoAtualizacao.Situacao.ATUALIZADO;
+        if (!Objects.equals(atual.getVersao(), original.getVersao())) {
+            Set<String> conflitos = new LinkedHashSet<>();
+            for (Campo<?> campo : CAMPOS) {
+                if (nossos.contains(campo.nome) && !campo.igual(original, atual) && !campo.igual(alterado, atual)) {
+                    conflitos.add(campo.nome);
+                }
+            }
+            if (!conflitos.isEmpty()) {
+                return new ResultadoAtualizacao(ResultadoAtualizacao.Situacao.CONFLITO, new Equipamento(atual),
+                        conflitos, tentativa);
+            }
+            situacao = ResultadoAtualizacao.Situacao.MESCLADO;
+        }
+        if (nossos.isEmpty()) {
+            return new ResultadoAtualizacao(situacao, new Equipamento(atual), Set.of(), tentativa);
+        }
+        // Subtrai do resumo dos relatórios o estado ainda não alterado da linha. Só aqui, depois
+        // dos retornos sem gravação: eles confirmam a transação sem o adicionar correspondente.
+        resumo.remover(List.of(atual.getId()));
+        for (Campo<?> campo : CAMPOS) {
+            if (nossos.contains(campo.nome)) {
+                campo.copiar(alterado, atual);
+            }
+        }
+        EquipamentoValidador.validar(atual);
+        try {
+            em.flush();
+        } catch (OptimisticLockException e) {
+            throw new ConflitoAtualizacaoException(atual.getId(), e);
+        }
+        resumo.adicionar(List.of(atual.getId()));
+        cache.invalidarNaTransacao(List.of(atual.getId()));
+        alteracoes.fire(new AlteracaoEquipamento(AlteracaoEquipamento.Tipo.ATUALIZADO, List.of(atual.getId()), atual));
+        return new ResultadoAtualizacao(situacao, new Equipamento(atual), Set.of(), tentativa);
+    }
+
+    private static Set<String> diferencas(Equipamento a, Equipamento b) {
+        Set<String> campos = new LinkedHashSet<>();
+        for (Campo<?> campo : CAMPOS) {
+            if (!campo.igual(a, b)) {
+                campos.add(campo.nome);
+            }
+        }
+        return campos;
+    }
+
+    private static final class Campo<T> {
+        private final String nome;
+        private final Function<Equipamento, T> getter;
+        private final BiConsumer<Equipamento, T> setter;
+
+        private Campo(String nome, Function<Equipamento, T> getter, BiConsumer<Equipamento, T> setter) {
+            this.nome = nome;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        private boolean igual(Equipamento a, Equipamento b) {
+            T va = getter.apply(a);
+            T vb = getter.apply(b);
+            if (va instanceof BigDecimal && vb instanceof BigDecimal) {
+                return ((BigDecimal) va).compareTo((BigDecimal) vb) == 0;
+            }
+            return Objects.equals(va, vb);
+        }
+
+        private void copiar(Equipamento de, Equipamento para) {
+            setter.accept(para, getter.apply(de));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.skeleton.business.facade;
+
+import br.com.skeleton.business.entity.Equipamento;
+import java.io.IOException;
+
+/**
+ * Recebe os equipamentos lidos por uma varredura da fachada, um de cada vez.
+ * Uma {@link IOException} interrompe a varredura e é repassada ao chamador.
+ */
+@FunctionalInterface
+public interface EquipamentoConsumidor {
+
+    /**
+     * Processa um equipamento lido do banco.
+     *
+     * @param equipamento O equipamento, já desanexado do contexto de persistência.
+     * @throws IOException Se o processamento falhar, por exemplo quando o cliente desconecta.
+     */
+    void aceitar(Equipamento equipamento) throws IOException;
+}
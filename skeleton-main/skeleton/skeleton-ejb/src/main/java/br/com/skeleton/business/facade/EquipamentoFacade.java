@@ -1,7 +1,13 @@
 package br.com.skeleton.business.facade;
 
 import br.com.skeleton.business.entity.Equipamento;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 import jakarta.ejb.Local;
 
 @Local
@@ -21,9 +27,27 @@ public interface EquipamentoFacade {
      * @param equipamento O equipamento com as alterações aplicadas. Não pode ser nulo.
      * @throws IllegalArgumentException Se o equipamento for nulo ou inválido.
      * @throws EntityNotFoundException Se o equipamento com o ID fornecido não for encontrado no banco.
+     * @throws ConflitoAtualizacaoException Se o equipamento foi alterado por outra transação desde que foi lido.
      */
     void update(Equipamento equipamento);
 
+    /**
+     * Atualiza um equipamento com controle de concorrência otimista, sem bloqueio de linha.
+     * <p>
+     * Se o equipamento mudou desde que {@code original} foi lido, as alterações do chamador
+     * (campos em que {@code alterado} difere de {@code original}) são aplicadas sobre o
+     * estado atual quando os campos alterados pelos dois lados forem disjuntos. Se os dois
+     * lados alterarem o mesmo campo com valores diferentes, nada é gravado e o resultado é
+     * {@link ResultadoAtualizacao.Situacao#CONFLITO}. Conflitos de versão durante a gravação
+     * são repetidos algumas vezes antes de desistir.
+     *
+     * @param original O equipamento como foi lido pelo chamador, incluindo a versão. Não pode ser nulo.
+     * @param alterado O equipamento com as alterações do chamador, com o mesmo ID. Não pode ser nulo.
+     * @return O resultado tipado da atualização.
+     * @throws IllegalArgumentException Se os argumentos forem nulos, sem versão ou com IDs diferentes.
+     */
+    ResultadoAtualizacao updateWithRetry(Equipamento original, Equipamento alterado);
+
     /**
      * Remove um equipamento com base no ID fornecido.
      *
@@ -32,6 +56,75 @@ public interface EquipamentoFacade {
      */
     void delete(Long id);
 
+    /**
+     * Remove um equipamento somente se ele ainda estiver na versão informada. A versão é
+     * conferida também no próprio DELETE, de modo que uma gravação concorrente entre a
+     * leitura e a remoção não é descartada.
+     *
+     * @param id     O identificador único do equipamento a ser removido. Não pode ser nulo.
+     * @param versao A versão lida pelo chamador. Não pode ser nula.
+     * @throws IllegalArgumentException Se o ID ou a versão forem nulos.
+     * @throws ConflitoAtualizacaoException Se o equipamento foi alterado ou removido desde que foi lido.
+     */
+    void delete(Long id, Long versao);
+
+    /**
+     * Cria vários equipamentos na mesma transação, enviando os INSERTs em lotes JDBC.
+     * O contexto de persistência é sincronizado e limpo a cada {@code batchSize} registros.
+     *
+     * @param equipamentos Os equipamentos a serem salvos. Não pode ser nulo nem conter nulos.
+     * @param batchSize    Tamanho de cada lote. Deve estar entre 1 e 10000.
+     * @return A quantidade de equipamentos criados.
+     * @throws IllegalArgumentException Se a coleção, algum elemento ou o tamanho do lote forem inválidos.
+     */
+    int createAll(Collection<Equipamento> equipamentos, int batchSize);
+
+    /**
+     * Atualiza vários equipamentos na mesma transação, em lotes de {@code batchSize}.
+     *
+     * @param equipamentos Os equipamentos com as alterações aplicadas. Não pode ser nulo nem conter nulos.
+     * @param batchSize    Tamanho de cada lote. Deve estar entre 1 e 10000.
+     * @return A quantidade de equipamentos atualizados.
+     * @throws IllegalArgumentException Se a coleção, algum elemento ou o tamanho do lote forem inválidos.
+     */
+    int updateAll(Collection<Equipamento> equipamentos, int batchSize);
+
+    /**
+     * Remove vários equipamentos com um DELETE em massa, sem carregá-los antes.
+     * IDs inexistentes são ignorados.
+     *
+     * @param ids Os IDs dos equipamentos a serem removidos. Não pode ser nulo nem conter nulos.
+     * @return A quantidade de equipamentos efetivamente removidos.
+     * @throws IllegalArgumentException Se a coleção ou algum ID forem nulos.
+     */
+    int deleteByIds(Collection<Long> ids);
+
+    /**
+     * Altera o status de vários equipamentos com UPDATEs em massa, sem carregá-los.
+     * Linhas que já estão com o status informado não são reescritas.
+     *
+     * @param ids    Os IDs dos equipamentos. Não pode ser nulo nem conter nulos.
+     * @param status O novo status. Não pode ser nulo nem vazio.
+     * @return A quantidade de equipamentos efetivamente alterados.
+     * @throws IllegalArgumentException Se os argumentos forem inválidos.
+     */
+    int updateStatus(Collection<Long> ids, String status);
+
+    /**
+     * Altera apenas os atributos informados de vários equipamentos, com UPDATEs em massa
+     * que gravam somente essas colunas, além de {@code updated_at} e da versão.
+     * <p>
+     * Atributos aceitos: nome, descricao, datadechegada, validade, valor e status. Linhas
+     * cujos valores já são os informados não são reescritas. Ao alterar só uma das datas,
+     * linhas em que a chegada ficaria posterior à validade são ignoradas.
+     *
+     * @param ids    Os IDs dos equipamentos. Não pode ser nulo nem conter nulos.
+     * @param campos Os novos valores por nome de atributo. Não pode ser nulo nem vazio.
+     * @return A quantidade de equipamentos efetivamente alterados.
+     * @throws IllegalArgumentException Se algum atributo ou valor for inválido.
+     */
+    int patch(Collection<Long> ids, Map<String, Object> campos);
+
     /**
      * Busca um equipamento pelo ID.
      *
@@ -47,4 +140,183 @@ public interface EquipamentoFacade {
      * @return Uma lista contendo todos os equipamentos cadastrados.
      */
     List<Equipamento> findAll();
+
+    /**
+     * Retorna uma página de equipamentos que atendem ao filtro, já ordenada no banco.
+     *
+     * @param filtro    Critérios de filtragem. Pode ser nulo para não filtrar.
+     * @param first     Índice do primeiro registro da página (base zero).
+     * @param pageSize  Quantidade máxima de registros da página. Deve ser positiva.
+     * @param sortField Nome do atributo usado na ordenação, ou null para ordenar pelo ID.
+     * @param ascending true para ordem crescente, false para decrescente.
+     * @return Os equipamentos da página solicitada.
+     * @throws IllegalArgumentException Se a paginação ou o campo de ordenação forem inválidos.
+     */
+    List<Equipamento> findPage(EquipamentoFiltro filtro, int first, int pageSize, String sortField, boolean ascending);
+
+    /**
+     * Retorna o resumo (id, nome, status, validade e valor) de todos os equipamentos.
+     * A leitura é uma projeção: só essas colunas são trazidas do banco e nada é
+     * registrado no contexto de persistência.
+     *
+     * @return Os resumos de todos os equipamentos, em ordem de ID.
+     */
+    List<EquipamentoResumo> findAllResumos();
+
+    /**
+     * Retorna uma página de resumos de equipamentos, com a mesma filtragem e ordenação de
+     * {@link #findPage}, lida como projeção, sem entidades gerenciadas. Com
+     * {@link EquipamentoFiltro#isIncluirArquivados()}, inclui os equipamentos arquivados.
+     *
+     * @param filtro    Critérios de filtragem. Pode ser nulo para não filtrar.
+     * @param first     Índice do primeiro registro da página (base zero).
+     * @param pageSize  Quantidade máxima de registros da página. Deve ser positiva.
+     * @param sortField Nome do atributo usado na ordenação, ou null para ordenar pelo ID.
+     * @param ascending true para ordem crescente, false para decrescente.
+     * @return Os resumos da página solicitada.
+     * @throws IllegalArgumentException Se a paginação ou o campo de ordenação forem inválidos.
+     */
+    List<EquipamentoResumo> findPageResumos(EquipamentoFiltro filtro, int first, int pageSize, String sortField, boolean ascending);
+
+    /**
+     * Conta os equipamentos que atendem ao filtro. O resultado é mantido em cache
+     * por um curto período e invalidado a cada escrita. Com
+     * {@link EquipamentoFiltro#isIncluirArquivados()}, conta também os arquivados.
+     *
+     * @param filtro Critérios de filtragem. Pode ser nulo para contar todos.
+     * @return O total de equipamentos que atendem ao filtro.
+     */
+    long count(EquipamentoFiltro filtro);
+
+    /**
+     * Busca equipamentos por texto em nome e descrição, do mais ao menos relevante.
+     * <p>
+     * Combina a busca textual do PostgreSQL (palavras inteiras, com radicais em português,
+     * nome com peso maior que a descrição) com a similaridade por trigramas do nome, que
+     * acha prefixos e nomes digitados com pequenos erros. Empates são desfeitos pelo ID.
+     *
+     * @param termo    O texto procurado. Não pode ser nulo nem vazio.
+     * @param first    Índice do primeiro registro da página (base zero).
+     * @param pageSize Quantidade máxima de registros. Deve estar entre 1 e 10000.
+     * @return Os equipamentos da página, em ordem de relevância.
+     * @throws IllegalArgumentException Se o termo ou a paginação forem inválidos.
+     */
+    List<Equipamento> search(String termo, int first, int pageSize);
+
+    /**
+     * Conta os equipamentos encontrados por {@link #search(String, int, int)}.
+     *
+     * @param termo O texto procurado. Não pode ser nulo nem vazio.
+     * @return O total de equipamentos encontrados.
+     * @throws IllegalArgumentException Se o termo for inválido.
+     */
+    long countSearch(String termo);
+
+    /**
+     * Retorna os próximos equipamentos em ordem de ID, a partir do último ID já lido
+     * (paginação por keyset). O custo de cada página independe da sua posição na tabela.
+     *
+     * @param afterId O último ID lido, ou null para começar do início.
+     * @param limit   Quantidade máxima de registros. Deve estar entre 1 e 10000.
+     * @return Os equipamentos com ID maior que {@code afterId}, em ordem crescente de ID.
+     * @throws IllegalArgumentException Se o limite for inválido.
+     */
+    List<Equipamento> findAfterId(Long afterId, int limit);
+
+    /**
+     * Retorna os próximos equipamentos em ordem de criação (created_at, id), a partir
+     * da última posição lida.
+     *
+     * @param afterCreatedAt O created_at do último registro lido, ou null para começar do início.
+     * @param afterId        O ID do último registro lido. Obrigatório quando {@code afterCreatedAt} for informado.
+     * @param limit          Quantidade máxima de registros. Deve estar entre 1 e 10000.
+     * @return Os equipamentos posteriores à posição informada.
+     * @throws IllegalArgumentException Se o limite ou a posição forem inválidos.
+     */
+    List<Equipamento> findAfterCreatedAt(LocalDateTime afterCreatedAt, Long afterId, int limit);
+
+    /**
+     * Retorna os próximos equipamentos em ordem de atualização (updated_at, id), a partir
+     * da última posição lida.
+     *
+     * @param afterUpdatedAt O updated_at do último registro lido, ou null para começar do início.
+     * @param afterId        O ID do último registro lido. Obrigatório quando {@code afterUpdatedAt} for informado.
+     * @param limit          Quantidade máxima de registros. Deve estar entre 1 e 10000.
+     * @return Os equipamentos posteriores à posição informada.
+     * @throws IllegalArgumentException Se o limite ou a posição forem inválidos.
+     */
+    List<Equipamento> findAfterUpdatedAt(LocalDateTime afterUpdatedAt, Long afterId, int limit);
+
+    /**
+     * Retorna os equipamentos com o status informado, em ordem de validade e ID.
+     * Atendida pelo índice (status, validade, id).
+     *
+     * @param status O status procurado. Não pode ser nulo nem vazio.
+     * @param limit  Quantidade máxima de registros. Deve estar entre 1 e 10000.
+     * @return Os equipamentos com o status informado.
+     * @throws IllegalArgumentException Se o status ou o limite forem inválidos.
+     */
+    List<Equipamento> findByStatus(String status, int limit);
+
+    /**
+     * Retorna os equipamentos ativos cuja validade está no intervalo informado (inclusivo),
+     * em ordem de validade e ID. Atendida pelo índice parcial dos equipamentos ativos.
+     *
+     * @param de    Início do intervalo. Não pode ser nulo.
+     * @param ate   Fim do intervalo. Não pode ser nulo nem anterior a {@code de}.
+     * @param limit Quantidade máxima de registros. Deve estar entre 1 e 10000.
+     * @return Os equipamentos ativos que vencem no intervalo.
+     * @throws IllegalArgumentException Se o intervalo ou o limite forem inválidos.
+     */
+    List<Equipamento> findExpiringBetween(LocalDate de, LocalDate ate, int limit);
+
+    /**
+     * Retorna os equipamentos criados a partir do instante informado, em ordem de criação.
+     * Atendida pelo índice (created_at, id).
+     *
+     * @param desde O instante inicial (inclusivo). Não pode ser nulo.
+     * @param limit Quantidade máxima de registros. Deve estar entre 1 e 10000.
+     * @return Os equipamentos criados desde {@code desde}.
+     * @throws IllegalArgumentException Se o instante ou o limite forem inválidos.
+     */
+    List<Equipamento> findCreatedSince(LocalDateTime desde, int limit);
+
+    /**
+     * Percorre todos os equipamentos em ordem de ID através de um cursor JDBC forward-only.
+     * Os registros são lidos do banco em blocos de {@code fetchSize} e desanexados do
+     * contexto de persistência à medida que são consumidos, mantendo o uso de memória constante.
+     * <p>
+     * Deve ser chamado dentro de uma transação ativa, e o stream precisa ser fechado
+     * pelo chamador (try-with-resources).
+     *
+     * @param fetchSize Quantidade de linhas trazidas por ida ao banco. Deve estar entre 1 e 10000.
+     * @return Um stream sequencial e lazy de equipamentos desanexados.
+     * @throws IllegalArgumentException Se o fetchSize for inválido.
+     */
+    Stream<Equipamento> streamAll(int fetchSize);
+
+    /**
+     * Percorre com um cursor forward-only os equipamentos que atendem ao filtro, em ordem de ID.
+     * Mesmo contrato de {@link #streamAll(int)}: requer transação ativa e o stream deve ser fechado.
+     *
+     * @param filtro    Critérios de filtragem. Pode ser nulo.
+     * @param fetchSize Quantidade de linhas trazidas por ida ao banco. Deve estar entre 1 e 10000.
+     * @return Um stream sequencial e lazy de equipamentos desanexados.
+     * @throws IllegalArgumentException Se o fetchSize for inválido.
+     */
+    Stream<Equipamento> stream(EquipamentoFiltro filtro, int fetchSize);
+
+    /**
+     * Entrega ao consumidor, um a um e em ordem de ID, os equipamentos que atendem ao filtro.
+     * A leitura usa um cursor e roda na transação da própria chamada, de modo que o uso de
+     * memória independe da quantidade de registros.
+     *
+     * @param filtro      Critérios de filtragem. Pode ser nulo.
+     * @param fetchSize   Quantidade de linhas trazidas por ida ao banco. Deve estar entre 1 e 10000.
+     * @param consumidor  Quem recebe cada equipamento. Não pode ser nulo.
+     * @return A quantidade de equipamentos entregues.
+     * @throws IOException Se o consumidor falhar; a leitura é interrompida e o cursor fechado.
+     * @throws IllegalArgumentException Se o fetchSize ou o consumidor forem inválidos.
+     */
+    long forEach(EquipamentoFiltro filtro, int fetchSize, EquipamentoConsumidor consumidor) throws IOException;
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package br.com.skeleton.business.facade;
+
+import br.com.skeleton.business.entity.Equipamento;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import jakarta.ejb.Local;
+
+/**
+ * Variante não bloqueante de {@link EquipamentoFacade}: cada operação é executada num
+ * executor gerenciado e o resultado é entregue por um {@link CompletionStage}. A thread
+ * chamadora (por exemplo, a da requisição HTTP) fica livre enquanto o banco trabalha.
+ * <p>
+ * Cada operação roda na sua própria transação, como a chamada síncrona correspondente.
+ * Falhas completam o estágio excepcionalmente com a mesma exceção que a fachada
+ * síncrona lançaria, embrulhada em {@link java.util.concurrent.CompletionException}.
+ */
+@Local
+public interface EquipamentoFacadeAsync {
+
+    /**
+     * @param equipamento O equipamento a ser salvo. Não pode ser nulo.
+     * @return O equipamento salvo, já com ID e datas de controle.
+     * @see EquipamentoFacade#create(Equipamento)
+     */
+    CompletionStage<Equipamento> create(Equipamento equipamento);
+
+    /**
+     * @param equipamento O equipamento com as alterações aplicadas. Não pode ser nulo.
+     * @return O equipamento como ficou gravado, relido após o commit.
+     * @see EquipamentoFacade#update(Equipamento)
+     */
+    CompletionStage<Equipamento> update(Equipamento equipamento);
+
+    /**
+     * @param id O ID do equipamento a ser removido. Não pode ser nulo.
+     * @return Estágio completado após a remoção.
+     * @see EquipamentoFacade#delete(Long)
+     */
+    CompletionStage<Void> delete(Long id);
+
+    /**
+     * @param id     O ID do equipamento a ser removido. Não pode ser nulo.
+     * @param versao A versão lida pelo chamador. Não pode ser nula.
+     * @return Estágio completado após a remoção.
+     * @see EquipamentoFacade#delete(Long, Long)
+     */
+    CompletionStage<Void> delete(Long id, Long versao);
+
+    /**
+     * @param id O ID do equipamento. Não pode ser nulo.
+     * @return O equipamento, ou null se não encontrado.
+     * @see EquipamentoFacade#findById(Long)
+     */
+    CompletionStage<Equipamento> findById(Long id);
+
+    /**
+     * @return Todos os equipamentos cadastrados.
+     * @see EquipamentoFacade#findAll()
+     */
+    CompletionStage<List<Equipamento>> findAll();
+
+    /**
+     * @return Os equipamentos da página solicitada.
+     * @see EquipamentoFacade#findPage(EquipamentoFiltro, int, int, String, boolean)
+     */
+    CompletionStage<List<Equipamento>> findPage(EquipamentoFiltro filtro, int first, int pageSize,
+                                                String sortField, boolean ascending);
+
+    /**
+     * @return Os resumos da página solicitada.
+     * @see EquipamentoFacade#findPageResumos(EquipamentoFiltro, int, int, String, boolean)
+     */
+    CompletionStage<List<EquipamentoResumo>> findPageResumos(EquipamentoFiltro filtro, int first, int pageSize,
+                                                             String sortField, boolean ascending);
+
+    /**
+     * @return O total de equipamentos que atendem ao filtro.
+     * @see EquipamentoFacade#count(EquipamentoFiltro)
+     */
+    CompletionStage<Long> count(EquipamentoFiltro filtro);
+
+    /**
+     * @return Os equipamentos encontrados, em ordem de relevância.
+     * @see EquipamentoFacade#search(String, int, int)
+     */
+    CompletionStage<List<Equipamento>> search(String termo, int first, int pageSize);
+
+    /**
+     * @return O total de equipamentos encontrados pela busca.
+     * @see EquipamentoFacade#countSearch(String)
+     */
+    CompletionStage<Long> countSearch(String termo);
+}
@@ -0,0 +1,118 @@
+package br.com.skeleton.business.facade;
+
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.execucao.ExecutorAplicacao;
+import br.com.skeleton.business.replica.ContextoLeitura;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Implementação de {@link EquipamentoFacadeAsync} que delega à fachada síncrona no
+ * {@link ExecutorAplicacao} (executor gerenciado ou threads virtuais, conforme configurado).
+ * Métodos {@code @Asynchronous} só podem devolver {@link java.util.concurrent.Future},
+ * por isso o executor é usado diretamente.
+ * <p>
+ * Este bean apenas agenda o trabalho, sem abrir transação; cada chamada à fachada
+ * dentro da tarefa tem a sua.
+ */
+@Stateless
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class EquipamentoFacadeAsyncImpl implements EquipamentoFacadeAsync {
+
+    @EJB
+    private EquipamentoFacade facade;
+
+    @EJB
+    private ExecutorAplicacao executor;
+
+    @Override
+    public CompletionStage<Equipamento> create(Equipamento equipamento) {
+        return executar(() -> {
+            facade.create(equipamento);
+            return equipamento;
+        });
+    }
+
+    @Override
+    public CompletionStage<Equipamento> update(Equipamento equipamento) {
+        return executar(() -> {
+            facade.update(equipamento);
+            return facade.findById(equipamento.getId());
+        });
+    }
+
+    @Override
+    public CompletionStage<Void> delete(Long id) {
+        return executar(() -> {
+            facade.delete(id);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletionStage<Void> delete(Long id, Long versao) {
+        return executar(() -> {
+            facade.delete(id, versao);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletionStage<Equipamento> findById(Long id) {
+        return executar(() -> facade.findById(id));
+    }
+
+    @Override
+    public CompletionStage<List<Equipamento>> findAll() {
+        return executar(facade::findAll);
+    }
+
+    @Override
+    public CompletionStage<List<Equipamento>> findPage(EquipamentoFiltro filtro, int first, int pageSize,
+                                                       String sortField, boolean ascending) {
+        return executar(() -> facade.findPage(filtro, first, pageSize, sortField, ascending));
+    }
+
+    @Override
+    public CompletionStage<List<EquipamentoResumo>> findPageResumos(EquipamentoFiltro filtro, int first, int pageSize,
+                                                                    String sortField, boolean ascending) {
+        return executar(() -> facade.findPageResumos(filtro, first, pageSize, sortField, ascending));
+    }
+
+    @Override
+    public CompletionStage<Long> count(EquipamentoFiltro filtro) {
+        return executar(() -> facade.count(filtro));
+    }
+
+    @Override
+    public CompletionStage<List<Equipamento>> search(String termo, int first, int pageSize) {
+        return executar(() -> facade.search(termo, first, pageSize));
+    }
+
+    @Override
+    public CompletionStage<Long> countSearch(String termo) {
+        return executar(() -> facade.countSearch(termo));
+    }
+
+    /**
+     * O {@link ContextoLeitura} da thread chamadora acompanha a tarefa, para que as leituras
+     * feitas no executor respeitem as gravações da sessão.
+     */
+    private <T> CompletionStage<T> executar(Supplier<T> operacao) {
+        ContextoLeitura contexto = ContextoLeitura.atual();
+        return CompletableFuture.supplyAsync(() -> {
+            ContextoLeitura anterior = ContextoLeitura.vincular(contexto);
+            try {
+                return executor.comLimiteBanco(operacao);
+            } finally {
+                ContextoLeitura.restaurar(anterior);
+            }
+        }, executor.executor());
+    }
+}
@@ -1,21 +1,110 @@
 package br.com.skeleton.business.facade;
 
+import br.com.skeleton.business.alteracoes.AlteracaoEquipamento;
+import br.com.skeleton.business.cache.EquipamentoCache;
 import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.entity.EquipamentoHistorico;
+import br.com.skeleton.business.metricas.MetricasBancoInterceptor;
+import br.com.skeleton.business.relatorio.ResumoEquipamentos;
+import br.com.skeleton.business.replica.RoteadorLeitura;
+import jakarta.ejb.EJB;
 import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptors;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.Session;
 
 @Stateless
+@Interceptors(MetricasBancoInterceptor.class)
 public class EquipamentoFacadeJpa implements EquipamentoFacade {
 
     @PersistenceContext(unitName = "MasterOne")
     private EntityManager em;
 
+    /** Réplica somente leitura; usada só quando o {@link RoteadorLeitura} permite. */
+    @PersistenceContext(unitName = RoteadorLeitura.UNIDADE_REPLICA)
+    private EntityManager emLeitura;
+
+    @EJB
+    private RoteadorLeitura roteador;
+
+    @EJB
+    private EquipamentoCache cache;
+
+    @EJB
+    private EquipamentoAtualizador atualizador;
+
+    @EJB
+    private ResumoEquipamentos resumo;
+
+    @Inject
+    private Event<AlteracaoEquipamento> alteracoes;
+
     private static final Logger LOGGER = Logger.getLogger(EquipamentoFacadeJpa.class.getName());
 
+    private static final int LIMITE_MAXIMO = 10_000;
+
+    /** Tentativas de {@link #updateWithRetry} antes de desistir por disputa contínua. */
+    private static final int MAX_TENTATIVAS = 3;
+
+    /** Máximo de IDs por comando em massa, abaixo do limite de parâmetros do driver PostgreSQL. */
+    private static final int IDS_POR_COMANDO = 10_000;
+
+    /** Atributos que podem ser alterados por {@link #patch} e seus tipos. */
+    private static final Map<String, Class<?>> CAMPOS_ATUALIZAVEIS = Map.of(
+            "nome", String.class,
+            "descricao", String.class,
+            "datadechegada", LocalDate.class,
+            "validade", LocalDate.class,
+            "valor", BigDecimal.class,
+            "status", String.class);
+
+    private static final int TAMANHO_MAXIMO_TERMO = 200;
+
+    /**
+     * Critério da busca textual: palavras do termo no tsvector de nome e descrição, ou nome
+     * começando pelo termo, ou nome parecido com o termo (operador % do pg_trgm). As três
+     * condições são atendidas pelos índices GIN, combinados pelo planejador em um BitmapOr.
+     */
+    private static final String FROM_BUSCA = "FROM equipamentos e, websearch_to_tsquery('portuguese', :termo) q"
+            + " WHERE e.busca @@ q OR lower(e.nome) LIKE :prefixo OR lower(e.nome) % :termo";
+
+    private static final String HINT_FETCH_SIZE = "org.hibernate.fetchSize";
+    private static final String HINT_READ_ONLY = "org.hibernate.readOnly";
+
+    private static final Set<String> CAMPOS_ORDENAVEIS = Set.of(
+            "id", "nome", "datadechegada", "validade", "valor", "status", "createdAt", "updatedAt");
+
     /**
      * Salva um novo equipamento no banco de dados.
      *
@@ -28,7 +117,10 @@ public class EquipamentoFacadeJpa implements EquipamentoFacade {
             throw new IllegalArgumentException("Equipamento não pode ser nulo.");
         }
         em.persist(equipamento);
-        LOGGER.info("Equipamento criado com sucesso: " + equipamento.getNome());
+        resumo.adicionar(List.of(equipamento.getId()));
+        cache.invalidarNaTransacao(List.of());
+        alteracoes.fire(new AlteracaoEquipamento(AlteracaoEquipamento.Tipo.CRIADO, List.of(equipamento.getId()), equipamento));
+        LOGGER.fine(() -> "Equipamento criado com sucesso: " + equipamento.getNome());
     }
 
     /**
@@ -42,8 +134,67 @@ public class EquipamentoFacadeJpa implements EquipamentoFacade {
         if (equipamento == null) {
             throw new IllegalArgumentException("Equipamento não pode ser nulo.");
         }
-        em.merge(equipamento);
-        LOGGER.info("Equipamento atualizado com sucesso: " + equipamento.getNome());
+        if (equipamento.getId() != null && equipamento.getVersao() == null) {
+            // Chamador sem controle de versão: a última gravação prevalece.
+            Equipamento atual = em.find(Equipamento.class, equipamento.getId());
+            if (atual != null) {
+                equipamento.setVersao(atual.getVersao());
+            }
+        }
+        if (equipamento.getId() != null) {
+            resumo.remover(List.of(equipamento.getId()));
+        }
+        Equipamento gravado;
+        try {
+            gravado = em.merge(equipamento);
+            em.flush();
+        } catch (OptimisticLockException e) {
+            throw new ConflitoAtualizacaoException(equipamento.getId(), e);
+        }
+        resumo.adicionar(List.of(gravado.getId()));
+        cache.invalidarNaTransacao(List.of(gravado.getId()));
+        alteracoes.fire(new AlteracaoEquipamento(AlteracaoEquipamento.Tipo.ATUALIZADO, List.of(gravado.getId()), gravado));
+        LOGGER.fine(() -> "Equipamento atualizado com sucesso: " + equipamento.getNome());
+    }
+
+    /**
+     * Atualiza com mescla de três vias, repetindo a tentativa quando outra transação grava
+     * o mesmo equipamento no meio dela. Roda fora da transação do chamador, pois cada
+     * tentativa precisa de uma transação nova.
+     *
+     * @param original O equipamento como foi lido.
+     * @param alterado O equipamento com as alterações.
+     * @return O resultado da atualização.
+     * @throws IllegalArgumentException Se os argumentos forem inválidos.
+     */
+    @Override
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public ResultadoAtualizacao updateWithRetry(Equipamento original, Equipamento alterado) {
+        if (original == null || alterado == null) {
+            throw new IllegalArgumentException("Equipamento não pode ser nulo.");
+        }
+        if (original.getId() == null || !original.getId().equals(alterado.getId())) {
+            throw new IllegalArgumentException("Original e alterado devem ter o mesmo ID.");
+        }
+        if (original.getVersao() == null) {
+            throw new IllegalArgumentException("A versão lida do equipamento é obrigatória.");
+        }
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                ResultadoAtualizacao resultado = atualizador.tentar(original, alterado, tentativa);
+                LOGGER.fine(() -> "Atualização concorrente de " + original.getId() + ": " + resultado);
+                return resultado;
+            } catch (ConflitoAtualizacaoException e) {
+                if (tentativa >= MAX_TENTATIVAS) {
+                    LOGGER.warning("Atualização abandonada após " + tentativa + " tentativas. ID: " + original.getId());
+                    // Direto no primário: a réplica pode ainda não ter a gravação concorrente.
+                    Equipamento atual = em.find(Equipamento.class, original.getId());
+                    return new ResultadoAtualizacao(atual != null
+                            ? ResultadoAtualizacao.Situacao.CONFLITO
+                            : ResultadoAtualizacao.Situacao.NAO_ENCONTRADO, atual, Set.of(), tentativa);
+                }
+            }
+        }
     }
 
     /**
@@ -59,13 +210,291 @@ public class EquipamentoFacadeJpa implements EquipamentoFacade {
         }
         Equipamento equipamento = em.find(Equipamento.class, id);
         if (equipamento != null) {
+            resumo.remover(List.of(id));
             em.remove(equipamento);
-            LOGGER.info("Equipamento removido com sucesso. ID: " + id);
+            removido(id);
         } else {
             LOGGER.warning("Tentativa de remover equipamento inexistente. ID: " + id);
         }
     }
 
+    /**
+     * Remove um equipamento se ele ainda estiver na versão informada.
+     *
+     * @param id     O ID do equipamento a ser removido. Não pode ser nulo.
+     * @param versao A versão lida pelo chamador. Não pode ser nula.
+     * @throws IllegalArgumentException Se o ID ou a versão forem nulos.
+     * @throws ConflitoAtualizacaoException Se o equipamento mudou ou foi removido desde a leitura.
+     */
+    @Override
+    public void delete(Long id, Long versao) {
+        if (id == null || versao == null) {
+            throw new IllegalArgumentException("ID e versão não podem ser nulos.");
+        }
+        Equipamento equipamento = em.find(Equipamento.class, id);
+        if (equipamento == null || !versao.equals(equipamento.getVersao())) {
+            throw new ConflitoAtualizacaoException(id, null);
+        }
+        resumo.remover(List.of(id));
+        try {
+            // Entidade versionada: o DELETE leva "AND versao = ?" e não remove nada se outra
+            // transação gravou depois do find.
+            em.remove(equipamento);
+            em.flush();
+        } catch (OptimisticLockException e) {
+            throw new ConflitoAtualizacaoException(id, e);
+        }
+        removido(id);
+    }
+
+    private void removido(Long id) {
+        cache.invalidarNaTransacao(List.of(id));
+        alteracoes.fire(new AlteracaoEquipamento(AlteracaoEquipamento.Tipo.REMOVIDO, List.of(id), null));
+        LOGGER.fine(() -> "Equipamento removido com sucesso. ID: " + id);
+    }
+
+    /**
+     * Persiste os equipamentos em lotes, sincronizando e limpando o contexto de
+     * persistência a cada lote para manter o uso de memória constante.
+     *
+     * @param equipamentos Os equipamentos a serem salvos.
+     * @param batchSize    Tamanho de cada lote.
+     * @return A quantidade de equipamentos criados.
+     * @throws IllegalArgumentException Se os argumentos forem inválidos.
+     */
+    @Override
+    public int createAll(Collection<Equipamento> equipamentos, int batchSize) {
+        validarLote(equipamentos, batchSize);
+        em.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        int total = 0;
+        for (Equipamento equipamento : equipamentos) {
+            em.persist(equipamento);
+            if (++total % batchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        List<Long> ids = equipamentos.stream().map(Equipamento::getId).collect(Collectors.toList());
+        resumo.adicionar(ids);
+        cache.invalidarNaTransacao(List.of());
+        alteracoes.fire(new AlteracaoEquipamento(AlteracaoEquipamento.Tipo.CRIADO, ids, null));
+        LOGGER.log(Level.FINE, "Equipamentos criados em lote: {0}", total);
+        return total;
+    }
+
+    /**
+     * Atualiza os equipamentos em lotes. Cada lote é carregado com uma única consulta
+     * antes do merge, evitando um SELECT por entidade.
+     *
+     * @param equipamentos Os equipamentos com as alterações aplicadas.
+     * @param batchSize    Tamanho de cada lote.
+     * @return A quantidade de equipamentos atualizados.
+     * @throws IllegalArgumentException Se os argumentos forem inválidos.
+     */
+    @Override
+    public int updateAll(Collection<Equipamento> equipamentos, int batchSize) {
+        validarLote(equipamentos, batchSize);
+        em.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        List<Equipamento> lote = new ArrayList<>(batchSize);
+        int total = 0;
+        for (Equipamento equipamento : equipamentos) {
+            lote.add(equipamento);
+            if (lote.size() == batchSize) {
+                total += mergeLote(lote);
+                lote.clear();
+            }
+        }
+        total += mergeLote(lote);
+        List<Long> ids = equipamentos.stream().map(Equipamento::getId).collect(Collectors.toList());
+        cache.invalidarNaTransacao(ids);
+        alteracoes.fire(new AlteracaoEquipamento(AlteracaoEquipamento.Tipo.ATUALIZADO, ids, null));
+        LOGGER.log(Level.FINE, "Equipamentos atualizados em lote: {0}", total);
+        return total;
+    }
+
+    /**
+     * Remove os equipamentos com DELETEs em massa, sem carregar as entidades.
+     *
+     * @param ids Os IDs a serem removidos.
+     * @return A quantidade de linhas removidas.
+     * @throws IllegalArgumentException Se a coleção ou algum ID forem nulos.
+     */
+    @Override
+    public int deleteByIds(Collection<Long> ids) {
+        if (ids == null || ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("IDs não podem ser nulos.");
+        }
+        List<Long> lista = new ArrayList<>(ids);
+        int total = 0;
+        for (int inicio = 0; inicio < lista.size(); inicio += IDS_POR_COMANDO) {
+            List<Long> bloco = lista.subList(inicio, Math.min(inicio + IDS_POR_COMANDO, lista.size()));
+            resumo.remover(bloco);
+            total += em.createQuery("DELETE FROM Equipamento e WHERE e.id IN :ids")
+                    .setParameter("ids", bloco)
+                    .executeUpdate();
+        }
+        cache.invalidarNaTransacao(lista);
+        if (total > 0) {
+            alteracoes.fire(new AlteracaoEquipamento(AlteracaoEquipamento.Tipo.REMOVIDO, lista, null));
+        }
+        LOGGER.log(Level.FINE, "Equipamentos removidos em lote: {0}", total);
+        return total;
+    }
+
+    /**
+     * Altera o status dos equipamentos com UPDATE em massa.
+     *
+     * @param ids    Os IDs.
+     * @param status O novo status.
+     * @return A quantidade de linhas alteradas.
+     * @throws IllegalArgumentException Se os argumentos forem inválidos.
+     */
+    @Override
+    public int updateStatus(Collection<Long> ids, String status) {
+        return patch(ids, Map.of("status", status == null ? "" : status));
+    }
+
+    /**
+     * Altera apenas os atributos informados, com UPDATE em massa.
+     *
+     * @param ids    Os IDs.
+     * @param campos Os novos valores por atributo.
+     * @return A quantidade de linhas alteradas.
+     * @throws IllegalArgumentException Se os argumentos forem inválidos.
+     */
+    @Override
+    public int patch(Collection<Long> ids, Map<String, Object> campos) {
+        if (ids == null || ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("IDs não podem ser nulos.");
+        }
+        validarCampos(campos);
+        Map<String, Object> valores = new HashMap<>(campos);
+        valores.computeIfPresent("status", (campo, status) -> Equipamento.normalizarStatus((String) status));
+
+        // Só o que mudou é gravado: SET apenas nos atributos informados e WHERE que pula
+        // as linhas que já têm esses valores, evitando reescrita de tupla e volume de WAL.
+        StringBuilder jpql = new StringBuilder("UPDATE Equipamento e SET ");
+        StringBuilder diferente = new StringBuilder();
+        for (String campo : campos.keySet()) {
+            jpql.append("e.").append(campo).append(" = :").append(campo).append(", ");
+            diferente.append(diferente.length() == 0 ? "" : " OR ")
+                    .append("e.").append(campo).append(" <> :").append(campo);
+        }
+        jpql.append("e.updatedAt = :agora, e.versao = e.versao + 1 WHERE e.id IN :ids AND (")
+                .append(diferente).append(')');
+        if (campos.containsKey("validade") && !campos.containsKey("datadechegada")) {
+            jpql.append(" AND e.datadechegada <= :validade");
+        } else if (campos.containsKey("datadechegada") && !campos.containsKey("validade")) {
+            jpql.append(" AND e.validade >= :datadechegada");
+        }
+
+        // O resumo dos relatórios só muda se algum atributo agregado for alterado.
+        boolean alteraResumo = campos.containsKey("status") || campos.containsKey("validade") || campos.containsKey("valor");
+        LocalDateTime agora = LocalDateTime.now();
+        List<Long> lista = new ArrayList<>(ids);
+        int total = 0;
+        for (int inicio = 0; inicio < lista.size(); inicio += IDS_POR_COMANDO) {
+            List<Long> bloco = lista.subList(inicio, Math.min(inicio + IDS_POR_COMANDO, lista.size()));
+            if (alteraResumo) {
+                resumo.remover(bloco);
+            }
+            Query query = em.createQuery(jpql.toString())
+                    .setParameter("agora", agora)
+                    .setParameter("ids", bloco);
+            valores.forEach(query::setParameter);
+            total += query.executeUpdate();
+            if (alteraResumo) {
+                resumo.adicionar(bloco);
+            }
+        }
+        cache.invalidarNaTransacao(lista);
+        if (total > 0) {
+            alteracoes.fire(new AlteracaoEquipamento(AlteracaoEquipamento.Tipo.ATUALIZADO, lista, null));
+        }
+        LOGGER.fine(() -> "Atualização parcial de " + campos.keySet() + " em " + lista.size() + " IDs");
+        return total;
+    }
+
+    private static void validarCampos(Map<String, Object> campos) {
+        if (campos == null || campos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um atributo para alterar.");
+        }
+        for (Map.Entry<String, Object> campo : campos.entrySet()) {
+            Class<?> tipo = CAMPOS_ATUALIZAVEIS.get(campo.getKey());
+            if (tipo == null) {
+                throw new IllegalArgumentException("Atributo não pode ser alterado: " + campo.getKey());
+            }
+            Object valor = campo.getValue();
+            if (!tipo.isInstance(valor)) {
+                throw new IllegalArgumentException("Valor inválido para " + campo.getKey() + ": " + valor);
+            }
+            if (valor instanceof String && ((String) valor).isBlank()) {
+                throw new IllegalArgumentException("O atributo " + campo.getKey() + " não pode ser vazio.");
+            }
+            if (valor instanceof String) {
+                EquipamentoValidador.validarTamanho(campo.getKey(), (String) valor, "status".equals(campo.getKey())
+                        ? EquipamentoValidador.TAMANHO_MAXIMO_STATUS : EquipamentoValidador.TAMANHO_MAXIMO_TEXTO);
+            }
+        }
+        if (campos.containsKey("valor")) {
+            EquipamentoValidador.validarValor((BigDecimal) campos.get("valor"));
+        }
+        if (campos.containsKey("datadechegada") && campos.containsKey("validade")) {
+            EquipamentoValidador.validarDatas((LocalDate) campos.get("datadechegada"), (LocalDate) campos.get("validade"));
+        }
+    }
+
+    private int mergeLote(List<Equipamento> lote) {
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = lote.stream()
+                .map(Equipamento::getId)
+                .collect(Collectors.toList());
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Equipamento sem ID não pode ser atualizado.");
+        }
+        resumo.remover(ids);
+        // Carrega o lote de uma vez para que o merge encontre as entidades já gerenciadas.
+        Map<Long, Equipamento> gerenciados = em.createQuery("SELECT e FROM Equipamento e WHERE e.id IN :ids", Equipamento.class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .collect(Collectors.toMap(Equipamento::getId, Function.identity()));
+        for (Equipamento equipamento : lote) {
+            Equipamento gerenciado = gerenciados.get(equipamento.getId());
+            if (gerenciado == null) {
+                LOGGER.warning("Tentativa de atualizar equipamento inexistente. ID: " + equipamento.getId());
+                continue;
+            }
+            if (equipamento.getVersao() == null) {
+                equipamento.setVersao(gerenciado.getVersao());
+            }
+            try {
+                em.merge(equipamento);
+            } catch (OptimisticLockException e) {
+                throw new ConflitoAtualizacaoException(equipamento.getId(), e);
+            }
+        }
+        try {
+            em.flush();
+        } catch (OptimisticLockException e) {
+            Long id = e.getEntity() instanceof Equipamento ? ((Equipamento) e.getEntity()).getId() : null;
+            throw new ConflitoAtualizacaoException(id, e);
+        }
+        resumo.adicionar(ids);
+        em.clear();
+        return gerenciados.size();
+    }
+
+    private static void validarLote(Collection<Equipamento> equipamentos, int batchSize) {
+        if (equipamentos == null || equipamentos.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Equipamentos não podem ser nulos.");
+        }
+        validarLimite(batchSize);
+    }
+
     /**
      * Busca um equipamento pelo ID.
      *
@@ -74,13 +503,22 @@ public class EquipamentoFacadeJpa implements EquipamentoFacade {
      * @throws IllegalArgumentException Se o ID for nulo.
      */
     @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
     public Equipamento findById(Long id) {
         if (id == null) {
             throw new IllegalArgumentException("ID não pode ser nulo.");
         }
-        Equipamento equipamento = em.find(Equipamento.class, id);
+        Equipamento equipamento = cache.getEquipamento(id);
+        if (equipamento != null) {
+            return equipamento;
+        }
+        long geracao = cache.geracao(id);
+        EntityManager fonte = leitura();
+        equipamento = fonte.find(Equipamento.class, id);
         if (equipamento == null) {
-            LOGGER.info("Equipamento não encontrado para ID: " + id);
+            LOGGER.fine(() -> "Equipamento não encontrado para ID: " + id);
+        } else if (cachear(fonte)) {
+            cache.putEquipamento(equipamento, geracao);
         }
         return equipamento;
     }
@@ -91,10 +529,520 @@ public class EquipamentoFacadeJpa implements EquipamentoFacade {
      * @return Lista de equipamentos cadastrados.
      */
     @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
     public List<Equipamento> findAll() {
-        TypedQuery<Equipamento> query = em.createQuery("SELECT e FROM Equipamento e", Equipamento.class);
+        List<Object> chave = List.of("findAll");
+        List<Equipamento> emCache = cache.getConsulta(chave);
+        if (emCache != null) {
+            return emCache;
+        }
+        long geracao = cache.geracaoConsultas();
+        EntityManager fonte = leitura();
+        TypedQuery<Equipamento> query = fonte.createQuery("SELECT e FROM Equipamento e", Equipamento.class);
         List<Equipamento> equipamentos = query.getResultList();
-        LOGGER.info("Total de equipamentos encontrados: " + equipamentos.size());
+        LOGGER.fine(() -> "Total de equipamentos encontrados: " + equipamentos.size());
+        if (cachear(fonte)) {
+            cache.putConsulta(chave, equipamentos, geracao);
+        }
         return equipamentos;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retorna uma página de equipamentos filtrada e ordenada pelo banco.
+     *
+     * @param filtro    Critérios de filtragem. Pode ser nulo.
+     * @param first     Índice do primeiro registro (base zero). Não pode ser negativo.
+     * @param pageSize  Tamanho da página. Deve ser positivo.
+     * @param sortField Atributo de ordenação ou null para ordenar pelo ID.
+     * @param ascending Direção da ordenação.
+     * @return Os equipamentos da página.
+     * @throws IllegalArgumentException Se a paginação ou o campo de ordenação forem inválidos.
+     */
+    @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<Equipamento> findPage(EquipamentoFiltro filtro, int first, int pageSize, String sortField, boolean ascending) {
+        if (first < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Paginação inválida: first=" + first + ", pageSize=" + pageSize);
+        }
+        if (sortField != null && !CAMPOS_ORDENAVEIS.contains(sortField)) {
+            throw new IllegalArgumentException("Campo de ordenação inválido: " + sortField);
+        }
+        exigirSemArquivados(filtro);
+        List<Object> chave = Arrays.asList("findPage", filtro != null ? new EquipamentoFiltro(filtro) : null,
+                first, pageSize, sortField, ascending);
+        List<Equipamento> emCache = cache.getConsulta(chave);
+        if (emCache != null) {
+            return emCache;
+        }
+        long geracao = cache.geracaoConsultas();
+        EntityManager fonte = leitura();
+        CriteriaBuilder cb = fonte.getCriteriaBuilder();
+        CriteriaQuery<Equipamento> cq = cb.createQuery(Equipamento.class);
+        Root<Equipamento> root = cq.from(Equipamento.class);
+        cq.select(root).where(predicados(cb, root, filtro));
+        ordenar(cb, cq, root, sortField, ascending);
+
+        List<Equipamento> pagina = fonte.createQuery(cq)
+                .setFirstResult(first)
+                .setMaxResults(pageSize)
+                .getResultList();
+        if (cachear(fonte)) {
+            cache.putConsulta(chave, pagina, geracao);
+        }
+        return pagina;
+    }
+
+    /**
+     * Retorna os resumos de todos os equipamentos com uma expressão construtora: o
+     * SELECT traz só as cinco colunas do resumo e o resultado não é gerenciado.
+     *
+     * @return Os resumos em ordem de ID.
+     */
+    @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<EquipamentoResumo> findAllResumos() {
+        List<Object> chave = List.of("findAllResumos");
+        List<EquipamentoResumo> emCache = cache.getResumos(chave);
+        if (emCache != null) {
+            return emCache;
+        }
+        long geracao = cache.geracaoConsultas();
+        EntityManager fonte = leitura();
+        List<EquipamentoResumo> resumos = fonte.createQuery("SELECT new " + EquipamentoResumo.class.getName()
+                        + "(e.id, e.nome, e.status, e.validade, e.valor) FROM Equipamento e ORDER BY e.id",
+                        EquipamentoResumo.class)
+                .getResultList();
+        LOGGER.log(Level.FINE, "Total de resumos de equipamentos encontrados: {0}", resumos.size());
+        if (cachear(fonte)) {
+            cache.putResumos(chave, resumos, geracao);
+        }
+        return resumos;
+    }
+
+    /**
+     * Retorna uma página de resumos filtrada e ordenada pelo banco, como projeção.
+     *
+     * @param filtro    Critérios de filtragem. Pode ser nulo.
+     * @param first     Índice do primeiro registro (base zero). Não pode ser negativo.
+     * @param pageSize  Tamanho da página. Deve ser positivo.
+     * @param sortField Atributo de ordenação ou null para ordenar pelo ID.
+     * @param ascending Direção da ordenação.
+     * @return Os resumos da página.
+     * @throws IllegalArgumentException Se a paginação ou o campo de ordenação forem inválidos.
+     */
+    @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<EquipamentoResumo> findPageResumos(EquipamentoFiltro filtro, int first, int pageSize,
+                                                   String sortField, boolean ascending) {
+        if (first < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Paginação inválida: first=" + first + ", pageSize=" + pageSize);
+        }
+        if (sortField != null && !CAMPOS_ORDENAVEIS.contains(sortField)) {
+            throw new IllegalArgumentException("Campo de ordenação inválido: " + sortField);
+        }
+        List<Object> chave = Arrays.asList("findPageResumos", filtro != null ? new EquipamentoFiltro(filtro) : null,
+                first, pageSize, sortField, ascending);
+        List<EquipamentoResumo> emCache = cache.getResumos(chave);
+        if (emCache != null) {
+            return emCache;
+        }
+        long geracao = cache.geracaoConsultas();
+        EntityManager fonte = leitura();
+        CriteriaBuilder cb = fonte.getCriteriaBuilder();
+        CriteriaQuery<EquipamentoResumo> cq = cb.createQuery(EquipamentoResumo.class);
+        Root<?> root = cq.from(origem(filtro));
+        cq.select(cb.construct(EquipamentoResumo.class, root.get("id"), root.get("nome"), root.get("status"),
+                        root.get("validade"), root.get("valor")))
+                .where(predicados(cb, root, filtro));
+        ordenar(cb, cq, root, sortField, ascending);
+
+        List<EquipamentoResumo> pagina = fonte.createQuery(cq)
+                .setFirstResult(first)
+                .setMaxResults(pageSize)
+                .getResultList();
+        if (cachear(fonte)) {
+            cache.putResumos(chave, pagina, geracao);
+        }
+        return pagina;
+    }
+
+    /** O ID desempata a ordenação para que as páginas sejam estáveis. */
+    private static void ordenar(CriteriaBuilder cb, CriteriaQuery<?> cq, Root<?> root,
+                                String sortField, boolean ascending) {
+        Path<Object> id = root.get("id");
+        if (sortField == null || "id".equals(sortField)) {
+            cq.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            Path<Object> campo = root.get(sortField);
+            cq.orderBy(ascending ? cb.asc(campo) : cb.desc(campo), cb.asc(id));
+        }
+    }
+
+    /**
+     * Conta os equipamentos que atendem ao filtro, reutilizando o cache de contagens.
+     *
+     * @param filtro Critérios de filtragem. Pode ser nulo.
+     * @return O total de registros.
+     */
+    @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public long count(EquipamentoFiltro filtro) {
+        EquipamentoFiltro chave = filtro != null ? filtro : new EquipamentoFiltro();
+        Long total = cache.getContagem(chave);
+        if (total != null) {
+            return total;
+        }
+        long geracao = cache.geracaoConsultas();
+        EntityManager fonte = leitura();
+        CriteriaBuilder cb = fonte.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<?> root = cq.from(origem(chave));
+        cq.select(cb.count(root)).where(predicados(cb, root, chave));
+        total = fonte.createQuery(cq).getSingleResult();
+        if (cachear(fonte)) {
+            cache.putContagem(chave, total, geracao);
+        }
+        return total;
+    }
+
+    /**
+     * Busca equipamentos por texto, ordenados por relevância. Os IDs da página são
+     * selecionados com SQL nativo (tsvector e pg_trgm, ver sql/006_equipamentos_busca.sql)
+     * e as entidades carregadas em seguida por JPQL.
+     *
+     * @param termo    O texto procurado.
+     * @param first    Índice do primeiro registro.
+     * @param pageSize Tamanho da página.
+     * @return Os equipamentos da página, em ordem de relevância.
+     * @throws IllegalArgumentException Se o termo ou a paginação forem inválidos.
+     */
+    @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<Equipamento> search(String termo, int first, int pageSize) {
+        String normalizado = normalizarTermo(termo);
+        validarLimite(pageSize);
+        if (first < 0) {
+            throw new IllegalArgumentException("Paginação inválida: first=" + first);
+        }
+        List<Object> chave = List.of("search", normalizado, first, pageSize);
+        List<Equipamento> emCache = cache.getConsulta(chave);
+        if (emCache != null) {
+            return emCache;
+        }
+        long geracao = cache.geracaoConsultas();
+        EntityManager fonte = leitura();
+        @SuppressWarnings("unchecked")
+        List<Number> ids = parametrosBusca(fonte.createNativeQuery("SELECT e.id " + FROM_BUSCA
+                        + " ORDER BY ts_rank_cd(e.busca, q) + similarity(lower(e.nome), :termo) DESC, e.id"), normalizado)
+                .setFirstResult(first)
+                .setMaxResults(pageSize)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Equipamento> porId = fonte.createQuery("SELECT e FROM Equipamento e WHERE e.id IN :ids", Equipamento.class)
+                .setParameter("ids", ids.stream().map(Number::longValue).collect(Collectors.toList()))
+                .getResultStream()
+                .collect(Collectors.toMap(Equipamento::getId, Function.identity()));
+        List<Equipamento> pagina = ids.stream()
+                .map(id -> porId.get(id.longValue()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (cachear(fonte)) {
+            cache.putConsulta(chave, pagina, geracao);
+        }
+        return pagina;
+    }
+
+    /**
+     * Conta os equipamentos encontrados pela busca textual.
+     *
+     * @param termo O texto procurado.
+     * @return O total de equipamentos encontrados.
+     * @throws IllegalArgumentException Se o termo for inválido.
+     */
+    @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public long countSearch(String termo) {
+        String normalizado = normalizarTermo(termo);
+        Number total = (Number) parametrosBusca(leitura().createNativeQuery("SELECT COUNT(*) " + FROM_BUSCA), normalizado)
+                .getSingleResult();
+        return total.longValue();
+    }
+
+    private static Query parametrosBusca(Query query, String termo) {
+        return query.setParameter("termo", termo)
+                .setParameter("prefixo", termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+    }
+
+    private static String normalizarTermo(String termo) {
+        if (termo == null || termo.isBlank()) {
+            throw new IllegalArgumentException("O termo de busca é obrigatório.");
+        }
+        String normalizado = termo.trim().replaceAll("\\s+", " ").toLowerCase();
+        if (normalizado.length() > TAMANHO_MAXIMO_TERMO) {
+            throw new IllegalArgumentException("O termo de busca deve ter até " + TAMANHO_MAXIMO_TERMO + " caracteres.");
+        }
+        return normalizado;
+    }
+
+    /**
+     * Retorna os próximos equipamentos após o ID informado (keyset em id).
+     *
+     * @param afterId O último ID lido ou null.
+     * @param limit   Tamanho da página.
+     * @return Os equipamentos seguintes em ordem de ID.
+     * @throws IllegalArgumentException Se o limite for inválido.
+     */
+    @Override
+    public List<Equipamento> findAfterId(Long afterId, int limit) {
+        validarLimite(limit);
+        TypedQuery<Equipamento> query = afterId == null
+                ? em.createQuery("SELECT e FROM Equipamento e ORDER BY e.id", Equipamento.class)
+                : em.createQuery("SELECT e FROM Equipamento e WHERE e.id > :afterId ORDER BY e.id", Equipamento.class)
+                        .setParameter("afterId", afterId);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Retorna os próximos equipamentos após a posição (created_at, id) informada.
+     *
+     * @param afterCreatedAt O created_at do último registro lido ou null.
+     * @param afterId        O ID do último registro lido.
+     * @param limit          Tamanho da página.
+     * @return Os equipamentos seguintes em ordem de criação.
+     * @throws IllegalArgumentException Se o limite ou a posição forem inválidos.
+     */
+    @Override
+    public List<Equipamento> findAfterCreatedAt(LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        return findAfterTimestamp("createdAt", afterCreatedAt, afterId, limit);
+    }
+
+    /**
+     * Retorna os próximos equipamentos após a posição (updated_at, id) informada.
+     *
+     * @param afterUpdatedAt O updated_at do último registro lido ou null.
+     * @param afterId        O ID do último registro lido.
+     * @param limit          Tamanho da página.
+     * @return Os equipamentos seguintes em ordem de atualização.
+     * @throws IllegalArgumentException Se o limite ou a posição forem inválidos.
+     */
+    @Override
+    public List<Equipamento> findAfterUpdatedAt(LocalDateTime afterUpdatedAt, Long afterId, int limit) {
+        return findAfterTimestamp("updatedAt", afterUpdatedAt, afterId, limit);
+    }
+
+    /**
+     * Retorna os equipamentos com o status informado, por validade e ID.
+     *
+     * @param status O status.
+     * @param limit  Tamanho máximo do resultado.
+     * @return Os equipamentos encontrados.
+     * @throws IllegalArgumentException Se o status ou o limite forem inválidos.
+     */
+    @Override
+    public List<Equipamento> findByStatus(String status, int limit) {
+        validarLimite(limit);
+        if (status == null || status.isBlank()) {
+            throw new IllegalArgumentException("O status é obrigatório.");
+        }
+        return em.createQuery("SELECT e FROM Equipamento e WHERE e.status = :status "
+                        + "ORDER BY e.validade, e.id", Equipamento.class)
+                .setParameter("status", Equipamento.normalizarStatus(status))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Retorna os equipamentos ativos que vencem no intervalo informado.
+     *
+     * @param de    Início do intervalo.
+     * @param ate   Fim do intervalo.
+     * @param limit Tamanho máximo do resultado.
+     * @return Os equipamentos encontrados.
+     * @throws IllegalArgumentException Se o intervalo ou o limite forem inválidos.
+     */
+    @Override
+    public List<Equipamento> findExpiringBetween(LocalDate de, LocalDate ate, int limit) {
+        validarLimite(limit);
+        if (de == null || ate == null || ate.isBefore(de)) {
+            throw new IllegalArgumentException("Intervalo de validade inválido: " + de + " a " + ate);
+        }
+        // O status vai como literal para o planejador casar a consulta com o índice parcial;
+        // com parâmetro, planos genéricos de prepared statement não o utilizariam.
+        return em.createQuery("SELECT e FROM Equipamento e WHERE e.status = '" + Equipamento.STATUS_ATIVO + "' "
+                        + "AND e.validade BETWEEN :de AND :ate ORDER BY e.validade, e.id", Equipamento.class)
+                .setParameter("de", de)
+                .setParameter("ate", ate)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Retorna os equipamentos criados desde o instante informado, por created_at e ID.
+     *
+     * @param desde O instante inicial.
+     * @param limit Tamanho máximo do resultado.
+     * @return Os equipamentos encontrados.
+     * @throws IllegalArgumentException Se o instante ou o limite forem inválidos.
+     */
+    @Override
+    public List<Equipamento> findCreatedSince(LocalDateTime desde, int limit) {
+        validarLimite(limit);
+        if (desde == null) {
+            throw new IllegalArgumentException("O instante inicial é obrigatório.");
+        }
+        return em.createQuery("SELECT e FROM Equipamento e WHERE e.createdAt >= :desde "
+                        + "ORDER BY e.createdAt, e.id", Equipamento.class)
+                .setParameter("desde", desde)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Percorre todos os equipamentos com um cursor forward-only, desanexando cada
+     * entidade após a leitura.
+     *
+     * @param fetchSize Linhas por ida ao banco.
+     * @return Stream lazy de equipamentos; deve ser fechado pelo chamador.
+     * @throws IllegalArgumentException Se o fetchSize for inválido.
+     */
+    @Override
+    @TransactionAttribute(TransactionAttributeType.MANDATORY)
+    public Stream<Equipamento> streamAll(int fetchSize) {
+        return stream(null, fetchSize);
+    }
+
+    /**
+     * Percorre com um cursor forward-only os equipamentos que atendem ao filtro.
+     *
+     * @param filtro    Critérios de filtragem ou null.
+     * @param fetchSize Linhas por ida ao banco.
+     * @return Stream lazy de equipamentos; deve ser fechado pelo chamador.
+     * @throws IllegalArgumentException Se o fetchSize for inválido.
+     */
+    @Override
+    @TransactionAttribute(TransactionAttributeType.MANDATORY)
+    public Stream<Equipamento> stream(EquipamentoFiltro filtro, int fetchSize) {
+        validarLimite(fetchSize);
+        exigirSemArquivados(filtro);
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Equipamento> cq = cb.createQuery(Equipamento.class);
+        Root<Equipamento> root = cq.from(Equipamento.class);
+        cq.select(root).where(predicados(cb, root, filtro)).orderBy(cb.asc(root.get("id")));
+        return em.createQuery(cq)
+                .setHint(HINT_FETCH_SIZE, fetchSize)
+                .setHint(HINT_READ_ONLY, true)
+                .getResultStream()
+                .peek(em::detach);
+    }
+
+    /**
+     * Entrega ao consumidor os equipamentos que atendem ao filtro, lidos por cursor.
+     *
+     * @param filtro     Critérios de filtragem ou null.
+     * @param fetchSize  Linhas por ida ao banco.
+     * @param consumidor Quem recebe cada equipamento.
+     * @return A quantidade de equipamentos entregues.
+     * @throws IOException Se o consumidor falhar.
+     */
+    @Override
+    public long forEach(EquipamentoFiltro filtro, int fetchSize, EquipamentoConsumidor consumidor) throws IOException {
+        if (consumidor == null) {
+            throw new IllegalArgumentException("Consumidor não pode ser nulo.");
+        }
+        long total = 0;
+        try (Stream<Equipamento> equipamentos = stream(filtro, fetchSize)) {
+            Iterator<Equipamento> iterator = equipamentos.iterator();
+            while (iterator.hasNext()) {
+                consumidor.aceitar(iterator.next());
+                total++;
+            }
+        }
+        return total;
+    }
+
+    private List<Equipamento> findAfterTimestamp(String campo, LocalDateTime afterTimestamp, Long afterId, int limit) {
+        validarLimite(limit);
+        if (afterTimestamp == null) {
+            return em.createQuery("SELECT e FROM Equipamento e ORDER BY e." + campo + ", e.id", Equipamento.class)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        if (afterId == null) {
+            throw new IllegalArgumentException("ID do último registro é obrigatório junto com o timestamp.");
+        }
+        // Comparação de tupla (row value) permite que o PostgreSQL use o índice (campo, id) diretamente.
+        return em.createQuery("SELECT e FROM Equipamento e WHERE (e." + campo + ", e.id) > (:ts, :afterId)"
+                        + " ORDER BY e." + campo + ", e.id", Equipamento.class)
+                .setParameter("ts", afterTimestamp)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static void validarLimite(int limit) {
+        if (limit <= 0 || limit > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO + ": " + limit);
+        }
+    }
+
+    /**
+     * EntityManager das leituras fora de transação: a réplica, quando o {@link RoteadorLeitura}
+     * permite, ou o primário.
+     */
+    private EntityManager leitura() {
+        return roteador.usarReplica() ? emLeitura : em;
+    }
+
+    private boolean cachear(EntityManager fonte) {
+        return fonte == em || roteador.podeCachearDaReplica();
+    }
+
+    /**
+     * Os equipamentos arquivados só existem na view de histórico; sem a opção, as consultas
+     * leem apenas a tabela de equipamentos, que não contém o arquivo.
+     */
+    private static Class<?> origem(EquipamentoFiltro filtro) {
+        return filtro != null && filtro.isIncluirArquivados() ? EquipamentoHistorico.class : Equipamento.class;
+    }
+
+    private static void exigirSemArquivados(EquipamentoFiltro filtro) {
+        if (filtro != null && filtro.isIncluirArquivados()) {
+            throw new IllegalArgumentException("Equipamentos arquivados só podem ser listados como resumos.");
+        }
+    }
+
+    private Predicate[] predicados(CriteriaBuilder cb, Root<?> root, EquipamentoFiltro filtro) {
+        if (filtro == null) {
+            return new Predicate[0];
+        }
+        List<Predicate> predicados = new ArrayList<>();
+        if (filtro.getNome() != null && !filtro.getNome().isBlank()) {
+            String padrao = "%" + filtro.getNome().trim().toLowerCase() + "%";
+            predicados.add(cb.like(cb.lower(root.get("nome")), padrao));
+        }
+        if (filtro.getStatus() != null && !filtro.getStatus().isBlank()) {
+            predicados.add(cb.equal(root.get("status"), filtro.getStatus()));
+        }
+        if (filtro.getValidadeDe() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(root.get("validade"), filtro.getValidadeDe()));
+        }
+        if (filtro.getValidadeAte() != null) {
+            predicados.add(cb.lessThanOrEqualTo(root.get("validade"), filtro.getValidadeAte()));
+        }
+        if (filtro.getValorMin() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(root.get("valor"), filtro.getValorMin()));
+        }
+        if (filtro.getValorMax() != null) {
+            predicados.add(cb.lessThanOrEqualTo(root.get("valor"), filtro.getValorMax()));
+        }
+        if (filtro.getChegadaDe() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(root.get("datadechegada"), filtro.getChegadaDe()));
+        }
+        if (filtro.getChegadaAte() != null) {
+            predicados.add(cb.lessThanOrEqualTo(root.get("datadechegada"), filtro.getChegadaAte()));
+        }
+        return predicados.toArray(new Predicate[0]);
+    }
+}
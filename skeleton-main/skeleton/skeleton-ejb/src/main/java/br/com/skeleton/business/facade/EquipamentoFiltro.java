@@ -0,0 +1,173 @@
+package br.com.skeleton.business.facade;
+
+import br.com.skeleton.business.entity.Equipamento;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Critérios opcionais de filtragem para as consultas paginadas de equipamentos.
+ * Campos nulos ou vazios são ignorados.
+ */
+public class EquipamentoFiltro implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String nome;
+    private String status;
+    private LocalDate validadeDe;
+    private LocalDate validadeAte;
+    private BigDecimal valorMin;
+    private BigDecimal valorMax;
+    private LocalDate chegadaDe;
+    private LocalDate chegadaAte;
+    private boolean incluirArquivados;
+
+    public EquipamentoFiltro() {}
+
+    /**
+     * Cria uma cópia independente do filtro informado.
+     *
+     * @param outro O filtro a ser copiado. Não pode ser nulo.
+     */
+    public EquipamentoFiltro(EquipamentoFiltro outro) {
+        this.nome = outro.nome;
+        this.status = outro.status;
+        this.validadeDe = outro.validadeDe;
+        this.validadeAte = outro.validadeAte;
+        this.valorMin = outro.valorMin;
+        this.valorMax = outro.valorMax;
+        this.chegadaDe = outro.chegadaDe;
+        this.chegadaAte = outro.chegadaAte;
+        this.incluirArquivados = outro.incluirArquivados;
+    }
+
+    /**
+     * Indica se nenhum critério foi informado.
+     *
+     * @return true se o filtro não restringe a consulta.
+     */
+    public boolean isVazio() {
+        return isBlank(nome) && isBlank(status) && validadeDe == null && validadeAte == null
+                && valorMin == null && valorMax == null && chegadaDe == null && chegadaAte == null;
+    }
+
+    private static boolean isBlank(String valor) {
+        return valor == null || valor.isBlank();
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = Equipamento.normalizarStatus(status);
+    }
+
+    public LocalDate getValidadeDe() {
+        return validadeDe;
+    }
+
+    public void setValidadeDe(LocalDate validadeDe) {
+        this.validadeDe = validadeDe;
+    }
+
+    public LocalDate getValidadeAte() {
+        return validadeAte;
+    }
+
+    public void setValidadeAte(LocalDate validadeAte) {
+        this.validadeAte = validadeAte;
+    }
+
+    public BigDecimal getValorMin() {
+        return valorMin;
+    }
+
+    public void setValorMin(BigDecimal valorMin) {
+        this.valorMin = valorMin;
+    }
+
+    public BigDecimal getValorMax() {
+        return valorMax;
+    }
+
+    public void setValorMax(BigDecimal valorMax) {
+        this.valorMax = valorMax;
+    }
+
+    public LocalDate getChegadaDe() {
+        return chegadaDe;
+    }
+
+    public void setChegadaDe(LocalDate chegadaDe) {
+        this.chegadaDe = chegadaDe;
+    }
+
+    public LocalDate getChegadaAte() {
+        return chegadaAte;
+    }
+
+    public void setChegadaAte(LocalDate chegadaAte) {
+        this.chegadaAte = chegadaAte;
+    }
+
+    /**
+     * @return true para incluir os equipamentos já movidos para o arquivo. Aceito apenas
+     *         pelas consultas de resumos e pela contagem. O arquivo é particionado por ano
+     *         de chegada: com {@link #getChegadaDe()} e {@link #getChegadaAte()}, só as
+     *         partições dos anos da faixa são lidas.
+     */
+    public boolean isIncluirArquivados() {
+        return incluirArquivados;
+    }
+
+    public void setIncluirArquivados(boolean incluirArquivados) {
+        this.incluirArquivados = incluirArquivados;
+    }
+
+    @Override
+    public String toString() {
+        return "EquipamentoFiltro{" +
+                "nome='" + nome + '\'' +
+                ", status='" + status + '\'' +
+                ", validadeDe=" + validadeDe +
+                ", validadeAte=" + validadeAte +
+                ", valorMin=" + valorMin +
+                ", valorMax=" + valorMax +
+                ", chegadaDe=" + chegadaDe +
+                ", chegadaAte=" + chegadaAte +
+                ", incluirArquivados=" + incluirArquivados +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        EquipamentoFiltro that = (EquipamentoFiltro) obj;
+        return Objects.equals(nome, that.nome)
+                && Objects.equals(status, that.status)
+                && Objects.equals(validadeDe, that.validadeDe)
+                && Objects.equals(validadeAte, that.validadeAte)
+                && Objects.equals(valorMin, that.valorMin)
+                && Objects.equals(valorMax, that.valorMax)
+                && Objects.equals(chegadaDe, that.chegadaDe)
+                && Objects.equals(chegadaAte, that.chegadaAte)
+                && incluirArquivados == that.incluirArquivados;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nome, status, validadeDe, validadeAte, valorMin, valorMax, chegadaDe, chegadaAte, incluirArquivados);
+    }
+}
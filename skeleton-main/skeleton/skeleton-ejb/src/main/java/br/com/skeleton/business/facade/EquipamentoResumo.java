@@ -0,0 +1,88 @@
+package br.com.skeleton.business.facade;
+
+import br.com.skeleton.business.entity.Equipamento;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Projeção somente leitura de um equipamento com os atributos exibidos nas listagens.
+ * Imutável e sem vínculo com o contexto de persistência, pode ser guardada em telas e
+ * sessões sem carregar a descrição e os demais atributos da entidade.
+ */
+public final class EquipamentoResumo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String nome;
+    private final String status;
+    private final LocalDate validade;
+    private final BigDecimal valor;
+
+    public EquipamentoResumo(Long id, String nome, String status, LocalDate validade, BigDecimal valor) {
+        this.id = id;
+        this.nome = nome;
+        this.status = status;
+        this.validade = validade;
+        this.valor = valor;
+    }
+
+    /**
+     * @param equipamento O equipamento. Não pode ser nulo.
+     * @return O resumo do equipamento.
+     */
+    public static EquipamentoResumo de(Equipamento equipamento) {
+        return new EquipamentoResumo(equipamento.getId(), equipamento.getNome(), equipamento.getStatus(),
+                equipamento.getValidade(), equipamento.getValor());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDate getValidade() {
+        return validade;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        EquipamentoResumo that = (EquipamentoResumo) obj;
+        return Objects.equals(id, that.id)
+                && Objects.equals(nome, that.nome)
+                && Objects.equals(status, that.status)
+                && Objects.equals(validade, that.validade)
+                && Objects.equals(valor, that.valor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, nome, status, validade, valor);
+    }
+
+    @Override
+    public String toString() {
+        return "EquipamentoResumo{" +
+                "id=" + id +
+                ", nome='" + nome + '\'' +
+                ", status='" + status + '\'' +
+                ", validade=" + validade +
+                ", valor=" + valor +
+                '}';
+    }
+}
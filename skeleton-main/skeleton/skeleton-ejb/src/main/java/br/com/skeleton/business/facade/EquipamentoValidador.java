@@ -0,0 +1,89 @@
+package br.com.skeleton.business.facade;
+
+import br.com.skeleton.business.entity.Equipamento;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Regras de validação de equipamentos compartilhadas pela interface web e pela importação.
+ */
+public final class EquipamentoValidador {
+
+    /** Maior valor representável na coluna valor (precision 10, scale 2). */
+    private static final BigDecimal VALOR_MAXIMO = new BigDecimal("99999999.99");
+
+    /** Tamanho das colunas nome e descricao (VARCHAR(255)), em caracteres. */
+    public static final int TAMANHO_MAXIMO_TEXTO = 255;
+
+    /** Tamanho da coluna status (VARCHAR(20)), em caracteres. */
+    public static final int TAMANHO_MAXIMO_STATUS = 20;
+
+    private EquipamentoValidador() {}
+
+    /**
+     * Valida as datas de chegada e de validade de um equipamento.
+     *
+     * @param datadechegada A data de chegada.
+     * @param validade      A data de validade.
+     * @throws IllegalArgumentException Se alguma data for nula ou se a chegada for posterior à validade.
+     */
+    public static void validarDatas(LocalDate datadechegada, LocalDate validade) {
+        if (datadechegada == null || validade == null) {
+            throw new IllegalArgumentException("As datas de chegada e validade não podem ser nulas.");
+        }
+        if (datadechegada.isAfter(validade)) {
+            throw new IllegalArgumentException("A data de chegada não pode ser posterior à validade.");
+        }
+    }
+
+    /**
+     * Valida os campos obrigatórios, os tamanhos dos textos e as datas de um equipamento.
+     *
+     * @param equipamento O equipamento a ser validado. Não pode ser nulo.
+     * @throws IllegalArgumentException Se algum campo obrigatório estiver ausente ou inválido.
+     */
+    public static void validar(Equipamento equipamento) {
+        if (equipamento.getNome() == null || equipamento.getNome().isBlank()) {
+            throw new IllegalArgumentException("O nome é obrigatório.");
+        }
+        if (equipamento.getDescricao() == null || equipamento.getDescricao().isBlank()) {
+            throw new IllegalArgumentException("A descrição é obrigatória.");
+        }
+        validarTamanho("nome", equipamento.getNome(), TAMANHO_MAXIMO_TEXTO);
+        validarTamanho("descrição", equipamento.getDescricao(), TAMANHO_MAXIMO_TEXTO);
+        validarTamanho("status", equipamento.getStatus(), TAMANHO_MAXIMO_STATUS);
+        validarDatas(equipamento.getDatadechegada(), equipamento.getValidade());
+        validarValor(equipamento.getValor());
+    }
+
+    /**
+     * Rejeita textos maiores que a coluna. Sem isso o erro só aparece no banco, e na
+     * importação derruba o lote inteiro em vez de ficar na linha.
+     *
+     * @param campo  O nome do campo, para a mensagem.
+     * @param texto  O texto. Nulo é aceito.
+     * @param maximo O tamanho da coluna, em caracteres.
+     * @throws IllegalArgumentException Se o texto exceder o tamanho da coluna.
+     */
+    public static void validarTamanho(String campo, String texto, int maximo) {
+        // O PostgreSQL conta caracteres, não unidades UTF-16.
+        if (texto != null && texto.codePointCount(0, texto.length()) > maximo) {
+            throw new IllegalArgumentException("O campo " + campo + " excede " + maximo + " caracteres.");
+        }
+    }
+
+    /**
+     * Valida o valor de um equipamento contra os limites da coluna.
+     *
+     * @param valor O valor.
+     * @throws IllegalArgumentException Se o valor for nulo, negativo ou maior que o máximo.
+     */
+    public static void validarValor(BigDecimal valor) {
+        if (valor == null || valor.signum() < 0) {
+            throw new IllegalArgumentException("O valor é obrigatório e não pode ser negativo.");
+        }
+        if (valor.compareTo(VALOR_MAXIMO) > 0) {
+            throw new IllegalArgumentException("O valor excede o máximo permitido: " + VALOR_MAXIMO);
+        }
+    }
+}
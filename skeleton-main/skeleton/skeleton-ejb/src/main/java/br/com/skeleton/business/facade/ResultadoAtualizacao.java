@@ -0,0 +1,76 @@
+package br.com.skeleton.business.facade;
+
+import br.com.skeleton.business.entity.Equipamento;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Resultado de uma atualização com controle de concorrência otimista.
+ */
+public class ResultadoAtualizacao implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Situacao {
+        /** A versão lida ainda era a atual e as alterações foram gravadas. */
+        ATUALIZADO,
+        /** Outra transação alterou campos diferentes; as alterações foram aplicadas sobre a versão atual. */
+        MESCLADO,
+        /** Outra transação alterou os mesmos campos com valores diferentes; nada foi gravado. */
+        CONFLITO,
+        /** O equipamento não existe mais. */
+        NAO_ENCONTRADO
+    }
+
+    private final Situacao situacao;
+    private final Equipamento equipamento;
+    private final Set<String> camposEmConflito;
+    private final int tentativas;
+
+    ResultadoAtualizacao(Situacao situacao, Equipamento equipamento, Set<String> camposEmConflito, int tentativas) {
+        this.situacao = situacao;
+        this.equipamento = equipamento;
+        this.camposEmConflito = Collections.unmodifiableSet(camposEmConflito);
+        this.tentativas = tentativas;
+    }
+
+    public Situacao getSituacao() {
+        return situacao;
+    }
+
+    /**
+     * @return O estado gravado após a atualização, ou o estado atual do banco em caso de conflito.
+     *         Nulo quando o equipamento não foi encontrado.
+     */
+    public Equipamento getEquipamento() {
+        return equipamento;
+    }
+
+    /**
+     * @return Os atributos alterados simultaneamente por outra transação com valores diferentes.
+     */
+    public Set<String> getCamposEmConflito() {
+        return camposEmConflito;
+    }
+
+    public int getTentativas() {
+        return tentativas;
+    }
+
+    /**
+     * @return true se as alterações foram gravadas.
+     */
+    public boolean isGravado() {
+        return situacao == Situacao.ATUALIZADO || situacao == Situacao.MESCLADO;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoAtualizacao{" +
+                "situacao=" + situacao +
+                ", camposEmConflito=" + camposEmConflito +
+                ", tentativas=" + tentativas +
+                '}';
+    }
+}
@@ -0,0 +1,169 @@
+package br.com.skeleton.business.importacao;
+
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.facade.EquipamentoValidador;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Converte linhas de um arquivo CSV em equipamentos validados.
+ * <p>
+ * O separador (vírgula, ponto e vírgula ou tabulação) é detectado a partir do
+ * cabeçalho, o que cobre os arquivos exportados pelo Excel. As colunas são
+ * localizadas pelo nome, em qualquer ordem. Instâncias são imutáveis e podem ser
+ * compartilhadas entre threads.
+ */
+final class EquipamentoCsvParser {
+
+    private static final String[] COLUNAS = {"nome", "descricao", "data_de_chegada", "validade", "valor", "status"};
+    private static final int NOME = 0;
+    private static final int DESCRICAO = 1;
+    private static final int DATA_DE_CHEGADA = 2;
+    private static final int VALIDADE = 3;
+    private static final int VALOR = 4;
+    private static final int STATUS = 5;
+
+    private static final DateTimeFormatter DATA_BR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final char separador;
+    private final int[] indices;
+
+    private EquipamentoCsvParser(char separador, int[] indices) {
+        this.separador = separador;
+        this.indices = indices;
+    }
+
+    /**
+     * Cria um parser a partir da linha de cabeçalho do arquivo.
+     *
+     * @param cabecalho A primeira linha do arquivo. Não pode ser nula.
+     * @return O parser configurado para o layout do arquivo.
+     * @throws IllegalArgumentException Se alguma coluna obrigatória estiver ausente.
+     */
+    static EquipamentoCsvParser doCabecalho(String cabecalho) {
+        String limpo = cabecalho.startsWith("\uFEFF") ? cabecalho.substring(1) : cabecalho;
+        char separador = detectarSeparador(limpo);
+        List<String> nomes = dividir(limpo, separador);
+        int[] indices = new int[COLUNAS.length];
+        Arrays.fill(indices, -1);
+        for (int i = 0; i < nomes.size(); i++) {
+            String nome = nomes.get(i).trim().toLowerCase(Locale.ROOT);
+            for (int c = 0; c < COLUNAS.length; c++) {
+                if (COLUNAS[c].equals(nome)) {
+                    indices[c] = i;
+                }
+            }
+        }
+        for (int c = 0; c < STATUS; c++) {
+            if (indices[c] < 0) {
+                throw new IllegalArgumentException("Coluna obrigatória ausente no cabeçalho: " + COLUNAS[c]);
+            }
+        }
+        return new EquipamentoCsvParser(separador, indices);
+    }
+
+    /**
+     * Converte e valida uma linha de dados.
+     *
+     * @param linha A linha do arquivo.
+     * @return O equipamento correspondente, ainda não persistido.
+     * @throws IllegalArgumentException Se a linha for inválida; a mensagem descreve o motivo.
+     */
+    Equipamento parse(String linha) {
+        List<String> campos = dividir(linha, separador);
+        Equipamento equipamento = new Equipamento();
+        equipamento.setNome(campo(campos, NOME));
+        equipamento.setDescricao(campo(campos, DESCRICAO));
+        equipamento.setDatadechegada(data(campo(campos, DATA_DE_CHEGADA), COLUNAS[DATA_DE_CHEGADA]));
+        equipamento.setValidade(data(campo(campos, VALIDADE), COLUNAS[VALIDADE]));
+        equipamento.setValor(valor(campo(campos, VALOR)));
+        String status = campo(campos, STATUS);
+        if (status != null) {
+            equipamento.setStatus(status.toLowerCase(Locale.ROOT));
+        }
+        EquipamentoValidador.validar(equipamento);
+        return equipamento;
+    }
+
+    private String campo(List<String> campos, int coluna) {
+        int indice = indices[coluna];
+        if (indice < 0 || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static LocalDate data(String texto, String coluna) {
+        if (texto == null) {
+            return null;
+        }
+        try {
+            return texto.indexOf('/') > 0 ? LocalDate.parse(texto, DATA_BR) : LocalDate.parse(texto);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida em " + coluna + ": " + texto);
+        }
+    }
+
+    private static BigDecimal valor(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        // Aceita tanto 1234.56 quanto o formato brasileiro 1.234,56.
+        String normalizado = texto.indexOf(',') >= 0 ? texto.replace(".", "").replace(',', '.') : texto;
+        try {
+            return new BigDecimal(normalizado);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido: " + texto);
+        }
+    }
+
+    private static char detectarSeparador(String cabecalho) {
+        if (cabecalho.indexOf(';') >= 0) {
+            return ';';
+        }
+        if (cabecalho.indexOf('\t') >= 0) {
+            return '\t';
+        }
+        return ',';
+    }
+
+    /**
+     * Divide uma linha respeitando campos entre aspas duplas e aspas escapadas ("").
+     */
+    static List<String> dividir(String linha, char separador) {
+        List<String> campos = new ArrayList<>(COLUNAS.length);
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"') {
+                    if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                        atual.append('"');
+                        i++;
+                    } else {
+                        entreAspas = false;
+                    }
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+}
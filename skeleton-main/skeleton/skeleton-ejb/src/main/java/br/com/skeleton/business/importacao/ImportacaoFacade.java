@@ -0,0 +1,48 @@
+package br.com.skeleton.business.importacao;
+
+import br.com.skeleton.business.entity.ImportacaoErro;
+import br.com.skeleton.business.entity.ImportacaoJob;
+import java.util.List;
+import jakarta.ejb.Local;
+
+@Local
+public interface ImportacaoFacade {
+
+    /**
+     * Inicia a importação assíncrona de um arquivo CSV de equipamentos.
+     *
+     * @param caminhoArquivo Caminho, no servidor, do arquivo a ser importado. Não pode ser nulo.
+     * @return O ID do job criado, usado para acompanhar o progresso.
+     * @throws IllegalArgumentException Se o arquivo não existir ou não puder ser lido.
+     */
+    Long iniciar(String caminhoArquivo);
+
+    /**
+     * Retoma uma importação interrompida a partir do último checkpoint gravado.
+     * As linhas já importadas não são gravadas novamente.
+     *
+     * @param jobId O ID do job. Não pode ser nulo.
+     * @throws IllegalArgumentException Se o job não existir ou já estiver concluído.
+     */
+    void retomar(Long jobId);
+
+    /**
+     * Busca o estado de uma importação: status, checkpoint e totais.
+     *
+     * @param jobId O ID do job. Não pode ser nulo.
+     * @return O job ou null se não encontrado.
+     * @throws IllegalArgumentException Se o ID for nulo.
+     */
+    ImportacaoJob findJob(Long jobId);
+
+    /**
+     * Retorna uma página do relatório de erros da importação, em ordem de linha.
+     *
+     * @param jobId    O ID do job. Não pode ser nulo.
+     * @param first    Índice do primeiro erro (base zero).
+     * @param pageSize Quantidade máxima de erros.
+     * @return Os erros da página.
+     * @throws IllegalArgumentException Se o ID for nulo ou a paginação for inválida.
+     */
+    List<ImportacaoErro> findErros(Long jobId, int first, int pageSize);
+}
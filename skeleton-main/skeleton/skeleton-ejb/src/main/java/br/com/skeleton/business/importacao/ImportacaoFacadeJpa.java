@@ -0,0 +1,78 @@
+package br.com.skeleton.business.importacao;
+
+import br.com.skeleton.business.entity.ImportacaoErro;
+import br.com.skeleton.business.entity.ImportacaoJob;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Stateless;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.logging.Logger;
+
+@Stateless
+public class ImportacaoFacadeJpa implements ImportacaoFacade {
+
+    @PersistenceContext(unitName = "MasterOne")
+    private EntityManager em;
+
+    @EJB
+    private ImportacaoGravador gravador;
+
+    @EJB
+    private ImportacaoProcessador processador;
+
+    private static final Logger LOGGER = Logger.getLogger(ImportacaoFacadeJpa.class.getName());
+
+    @Override
+    public Long iniciar(String caminhoArquivo) {
+        if (caminhoArquivo == null) {
+            throw new IllegalArgumentException("Caminho do arquivo não pode ser nulo.");
+        }
+        Path arquivo = Paths.get(caminhoArquivo);
+        if (!Files.isRegularFile(arquivo) || !Files.isReadable(arquivo)) {
+            throw new IllegalArgumentException("Arquivo não encontrado ou sem permissão de leitura: " + caminhoArquivo);
+        }
+        ImportacaoJob job = gravador.criarJob(arquivo.toAbsolutePath().toString());
+        processador.processar(job.getId());
+        LOGGER.info("Importação agendada: " + job);
+        return job.getId();
+    }
+
+    @Override
+    public void retomar(Long jobId) {
+        ImportacaoJob job = findJob(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Importação não encontrada. ID: " + jobId);
+        }
+        if (ImportacaoJob.CONCLUIDO.equals(job.getStatus())) {
+            throw new IllegalArgumentException("Importação já concluída. ID: " + jobId);
+        }
+        processador.processar(jobId);
+    }
+
+    @Override
+    public ImportacaoJob findJob(Long jobId) {
+        if (jobId == null) {
+            throw new IllegalArgumentException("ID não pode ser nulo.");
+        }
+        return em.find(ImportacaoJob.class, jobId);
+    }
+
+    @Override
+    public List<ImportacaoErro> findErros(Long jobId, int first, int pageSize) {
+        if (jobId == null) {
+            throw new IllegalArgumentException("ID não pode ser nulo.");
+        }
+        if (first < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Paginação inválida: first=" + first + ", pageSize=" + pageSize);
+        }
+        return em.createQuery("SELECT e FROM ImportacaoErro e WHERE e.jobId = :jobId ORDER BY e.linha", ImportacaoErro.class)
+                .setParameter("jobId", jobId)
+                .setFirstResult(first)
+                .setMaxResults(pageSize)
+                .getResultList();
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.skeleton.business.importacao;
+
+import br.com.skeleton.business.entity.ImportacaoErro;
+import br.com.skeleton.business.entity.ImportacaoJob;
+import br.com.skeleton.business.facade.EquipamentoFacade;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.logging.Logger;
+
+/**
+ * Grava o estado das importações. Cada método roda em uma transação própria para
+ * que o checkpoint de um lote seja confirmado junto com os equipamentos do lote.
+ */
+@Stateless
+@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+public class ImportacaoGravador {
+
+    private static final Logger LOGGER = Logger.getLogger(ImportacaoGravador.class.getName());
+
+    @PersistenceContext(unitName = "MasterOne")
+    private EntityManager em;
+
+    @EJB
+    private EquipamentoFacade equipamentoFacade;
+
+    /**
+     * Registra uma nova importação pendente.
+     *
+     * @param arquivo Caminho do arquivo a ser importado.
+     * @return O job criado, já com ID.
+     */
+    public ImportacaoJob criarJob(String arquivo) {
+        ImportacaoJob job = new ImportacaoJob(arquivo);
+        em.persist(job);
+        return job;
+    }
+
+    /**
+     * Marca o job como em processamento e retorna o seu estado atual, incluindo o checkpoint.
+     *
+     * @param jobId O ID do job.
+     * @return O job atualizado.
+     * @throws IllegalArgumentException Se o job não existir.
+     */
+    public ImportacaoJob iniciarProcessamento(Long jobId) {
+        ImportacaoJob job = buscar(jobId);
+        job.setStatus(ImportacaoJob.PROCESSANDO);
+        job.setMensagemErro(null);
+        return job;
+    }
+
+    /**
+     * Grava os equipamentos válidos e os erros de um lote e avança o checkpoint, tudo
+     * na mesma transação.
+     *
+     * @param jobId O ID do job.
+     * @param lote  O lote convertido.
+     */
+    public void gravarLote(Long jobId, LoteImportacao lote) {
+        if (!lote.getValidos().isEmpty()) {
+            equipamentoFacade.createAll(lote.getValidos(), lote.getValidos().size());
+        }
+        for (ImportacaoErro erro : lote.getErros()) {
+            erro.setJobId(jobId);
+            em.persist(erro);
+        }
+        ImportacaoJob job = buscar(jobId);
+        job.setUltimaLinha(lote.getUltimaLinha());
+        job.setTotalImportados(job.getTotalImportados() + lote.getValidos().size());
+        job.setTotalErros(job.getTotalErros() + lote.getErros().size());
+    }
+
+    /**
+     * Marca o job como concluído.
+     *
+     * @param jobId O ID do job.
+     */
+    public void concluir(Long jobId) {
+        ImportacaoJob job = buscar(jobId);
+        job.setStatus(ImportacaoJob.CONCLUIDO);
+        LOGGER.info("Importação concluída: " + job);
+    }
+
+    /**
+     * Marca o job como falho. O checkpoint é preservado para permitir a retomada.
+     *
+     * @param jobId    O ID do job.
+     * @param mensagem O motivo da falha.
+     */
+    public void falhar(Long jobId, String mensagem) {
+        ImportacaoJob job = buscar(jobId);
+        job.setStatus(ImportacaoJob.FALHOU);
+        job.setMensagemErro(mensagem != null && mensagem.length() > 1000 ? mensagem.substring(0, 1000) : mensagem);
+    }
+
+    private ImportacaoJob buscar(Long jobId) {
+        ImportacaoJob job = em.find(ImportacaoJob.class, jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Importação não encontrada. ID: " + jobId);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.skeleton.business.importacao;
+
+import br.com.skeleton.business.entity.ImportacaoErro;
+import br.com.skeleton.business.entity.ImportacaoJob;
+import jakarta.annotation.Resource;
+import jakarta.ejb.Asynchronous;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pipeline de importação: uma thread lê o arquivo linha a linha, blocos de linhas são
+ * convertidos e validados em paralelo e os lotes resultantes são gravados em ordem,
+ * cada um em sua própria transação.
+ * <p>
+ * A quantidade de blocos em andamento é limitada: quando o limite é atingido a leitura
+ * espera a gravação do lote mais antigo, o que mantém o uso de memória constante
+ * independentemente do tamanho do arquivo.
+ */
+@Stateless
+public class ImportacaoProcessador {
+
+    private static final Logger LOGGER = Logger.getLogger(ImportacaoProcessador.class.getName());
+
+    static final int LINHAS_POR_LOTE = 1_000;
+
+    private static final int PARALELISMO = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static final int MAX_LOTES_EM_ANDAMENTO = PARALELISMO * 2;
+
+    /** Jobs em execução neste servidor, para evitar processamento duplicado. */
+    private static final Set<Long> EM_EXECUCAO = ConcurrentHashMap.newKeySet();
+
+    // A conversão é CPU-bound: fica no pool gerenciado mesmo com threads virtuais habilitadas.
+    @Resource
+    private ManagedExecutorService executor;
+
+    @EJB
+    private ImportacaoGravador gravador;
+
+    /**
+     * Processa o arquivo do job de forma assíncrona, a partir do último checkpoint gravado.
+     *
+     * @param jobId O ID do job.
+     */
+    @Asynchronous
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public void processar(Long jobId) {
+        if (!EM_EXECUCAO.add(jobId)) {
+            LOGGER.warning("Importação já está em execução. ID: " + jobId);
+            return;
+        }
+        Deque<Future<LoteImportacao>> emAndamento = new ArrayDeque<>();
+        try {
+            ImportacaoJob job = gravador.iniciarProcessamento(jobId);
+            LOGGER.info("Iniciando importação a partir da linha " + (job.getUltimaLinha() + 1) + ": " + job);
+            ler(job, emAndamento);
+            gravador.concluir(jobId);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Falha na importação. ID: " + jobId, e);
+            emAndamento.forEach(f -> f.cancel(true));
+            gravador.falhar(jobId, e.getMessage());
+        } finally {
+            EM_EXECUCAO.remove(jobId);
+        }
+    }
+
+    private void ler(ImportacaoJob job, Deque<Future<LoteImportacao>> emAndamento) throws Exception {
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(job.getArquivo()), StandardCharsets.UTF_8)) {
+            String cabecalho = reader.readLine();
+            if (cabecalho == null) {
+                return;
+            }
+            EquipamentoCsvParser parser = EquipamentoCsvParser.doCabecalho(cabecalho);
+            long checkpoint = job.getUltimaLinha();
+            long numeroLinha = 1;
+            long primeiraLinha = 0;
+            List<String> linhas = new ArrayList<>(LINHAS_POR_LOTE);
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                numeroLinha++;
+                if (numeroLinha <= checkpoint) {
+                    continue;
+                }
+                if (linhas.isEmpty()) {
+                    primeiraLinha = numeroLinha;
+                }
+                linhas.add(linha);
+                if (linhas.size() == LINHAS_POR_LOTE) {
+                    emAndamento.add(submeter(parser, primeiraLinha, linhas));
+                    linhas = new ArrayList<>(LINHAS_POR_LOTE);
+                    while (emAndamento.size() >= MAX_LOTES_EM_ANDAMENTO) {
+                        gravar(job.getId(), emAndamento.poll());
+                    }
+                }
+            }
+            if (!linhas.isEmpty()) {
+                emAndamento.add(submeter(parser, primeiraLinha, linhas));
+            }
+            while (!emAndamento.isEmpty()) {
+                gravar(job.getId(), emAndamento.poll());
+            }
+        }
+    }
+
+    private Future<LoteImportacao> submeter(EquipamentoCsvParser parser, long primeiraLinha, List<String> linhas) {
+        return executor.submit(() -> converter(parser, primeiraLinha, linhas));
+    }
+
+    private void gravar(Long jobId, Future<LoteImportacao> futuro) throws InterruptedException, ExecutionException {
+        gravador.gravarLote(jobId, futuro.get());
+    }
+
+    static LoteImportacao converter(EquipamentoCsvParser parser, long primeiraLinha, List<String> linhas) {
+        LoteImportacao lote = new LoteImportacao(primeiraLinha + linhas.size() - 1, linhas.size());
+        for (int i = 0; i < linhas.size(); i++) {
+            String linha = linhas.get(i);
+            if (linha.isBlank()) {
+                continue;
+            }
+            try {
+                lote.getValidos().add(parser.parse(linha));
+            } catch (RuntimeException e) {
+                lote.getErros().add(new ImportacaoErro(primeiraLinha + i, e.getMessage()));
+            }
+        }
+        return lote;
+    }
+}
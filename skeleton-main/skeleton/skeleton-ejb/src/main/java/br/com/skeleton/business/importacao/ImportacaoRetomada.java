@@ -0,0 +1,40 @@
+package br.com.skeleton.business.importacao;
+
+import br.com.skeleton.business.entity.ImportacaoJob;
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Retoma na inicialização do servidor as importações que estavam em processamento
+ * quando ele parou.
+ */
+@Singleton
+@Startup
+public class ImportacaoRetomada {
+
+    private static final Logger LOGGER = Logger.getLogger(ImportacaoRetomada.class.getName());
+
+    @PersistenceContext(unitName = "MasterOne")
+    private EntityManager em;
+
+    @EJB
+    private ImportacaoProcessador processador;
+
+    @PostConstruct
+    public void init() {
+        List<Long> interrompidos = em.createQuery(
+                        "SELECT j.id FROM ImportacaoJob j WHERE j.status = :status", Long.class)
+                .setParameter("status", ImportacaoJob.PROCESSANDO)
+                .getResultList();
+        for (Long jobId : interrompidos) {
+            LOGGER.info("Retomando importação interrompida. ID: " + jobId);
+            processador.processar(jobId);
+        }
+    }
+}
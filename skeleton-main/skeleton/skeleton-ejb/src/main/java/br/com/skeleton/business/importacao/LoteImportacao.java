@@ -0,0 +1,39 @@
+package br.com.skeleton.business.importacao;
+
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.entity.ImportacaoErro;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado da conversão de um bloco contíguo de linhas do arquivo: os equipamentos
+ * válidos e os erros das linhas rejeitadas. {@link #getUltimaLinha()} é o checkpoint
+ * gravado junto com o lote.
+ */
+public class LoteImportacao implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long ultimaLinha;
+    private final List<Equipamento> validos;
+    private final List<ImportacaoErro> erros;
+
+    public LoteImportacao(long ultimaLinha, int capacidade) {
+        this.ultimaLinha = ultimaLinha;
+        this.validos = new ArrayList<>(capacidade);
+        this.erros = new ArrayList<>();
+    }
+
+    public long getUltimaLinha() {
+        return ultimaLinha;
+    }
+
+    public List<Equipamento> getValidos() {
+        return validos;
+    }
+
+    public List<ImportacaoErro> getErros() {
+        return erros;
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.skeleton.business.metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de durações em nanossegundos com faixas log-lineares, no estilo do HdrHistogram:
+ * cada potência de dois é dividida em 16 faixas, o que limita o erro relativo dos percentis
+ * a cerca de 6%. Valores acima de ~18 minutos caem na última faixa.
+ * <p>
+ * A gravação é lock-free (um incremento atômico por faixa) e não aloca, podendo ficar
+ * ligada em produção. As leituras não bloqueiam as gravações e podem ver chamadas em curso.
+ */
+public class HistogramaLatencia {
+
+    private static final int BITS_PRECISAO = 5;
+    private static final int SUBFAIXAS = 1 << BITS_PRECISAO;
+    private static final int MEIO = SUBFAIXAS / 2;
+    private static final int MAIOR_EXPOENTE = 40;
+    private static final long MAIOR_VALOR = (1L << MAIOR_EXPOENTE) - 1;
+    private static final int FAIXAS = indice(MAIOR_VALOR) + 1;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(FAIXAS);
+    private final LongAdder soma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param nanos A duração observada. Valores negativos são tratados como zero.
+     */
+    public void registrar(long nanos) {
+        long valor = Math.min(Math.max(nanos, 0), MAIOR_VALOR);
+        contagens.incrementAndGet(indice(valor));
+        soma.add(valor);
+        maximo.accumulate(valor);
+    }
+
+    /**
+     * @return A soma das durações registradas, em nanossegundos.
+     */
+    public long getSoma() {
+        return soma.sum();
+    }
+
+    /**
+     * @return A maior duração registrada, em nanossegundos.
+     */
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Calcula vários percentis sobre uma mesma cópia das faixas.
+     *
+     * @param quantis Os quantis desejados, entre 0 e 1.
+     * @return Para cada quantil, o limite superior da faixa em que ele cai, em nanossegundos;
+     *         o último elemento é a quantidade de registros considerada.
+     */
+    public long[] percentis(double... quantis) {
+        long[] copia = new long[FAIXAS];
+        long total = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            copia[i] = contagens.get(i);
+            total += copia[i];
+        }
+        long[] resultado = new long[quantis.length + 1];
+        resultado[quantis.length] = total;
+        if (total == 0) {
+            return resultado;
+        }
+        for (int q = 0; q < quantis.length; q++) {
+            long posicao = Math.max(1, (long) Math.ceil(quantis[q] * total));
+            long acumulado = 0;
+            for (int i = 0; i < FAIXAS; i++) {
+                acumulado += copia[i];
+                if (acumulado >= posicao) {
+                    resultado[q] = Math.min(limiteSuperior(i), getMaximo());
+                    break;
+                }
+            }
+        }
+        return resultado;
+    }
+
+    private static int indice(long valor) {
+        if (valor < SUBFAIXAS) {
+            return (int) valor;
+        }
+        int deslocamento = 63 - Long.numberOfLeadingZeros(valor) - (BITS_PRECISAO - 1);
+        return deslocamento * MEIO + (int) (valor >>> deslocamento);
+    }
+
+    private static long limiteSuperior(int indice) {
+        if (indice < SUBFAIXAS) {
+            return indice;
+        }
+        int deslocamento = indice / MEIO - 1;
+        long mantissa = indice % MEIO + MEIO;
+        return ((mantissa + 1) << deslocamento) - 1;
+    }
+}
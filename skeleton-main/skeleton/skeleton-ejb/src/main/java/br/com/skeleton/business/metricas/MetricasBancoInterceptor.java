@@ -0,0 +1,57 @@
+package br.com.skeleton.business.metricas;
+
+import br.com.skeleton.business.replica.RoteadorLeitura;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.hibernate.Session;
+
+/**
+ * {@link MetricasInterceptor} para fachadas: registra {@link TempoBanco} nas sessões do
+ * Hibernate da chamada corrente, a do primário e, com o roteamento de leituras habilitado,
+ * a da réplica ({@value RoteadorLeitura#UNIDADE_REPLICA}). A última sessão instrumentada
+ * de cada unidade fica num campo, e o registro só se repete quando a sessão muda; a
+ * verificação é uma comparação de referências, sem alocação. Se dois interceptores
+ * registrarem a mesma sessão, o {@link TempoBanco} ignora os eventos repetidos.
+ */
+public class MetricasBancoInterceptor extends MetricasInterceptor {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOGGER = Logger.getLogger(MetricasBancoInterceptor.class.getName());
+
+    @PersistenceContext(unitName = "MasterOne")
+    private transient EntityManager em;
+
+    @PersistenceContext(unitName = RoteadorLeitura.UNIDADE_REPLICA)
+    private transient EntityManager emLeitura;
+
+    /** Sem roteamento, a réplica nunca é lida e a sua sessão nem é aberta. */
+    private final boolean replicaHabilitada = Boolean.getBoolean(RoteadorLeitura.PROPRIEDADE_HABILITADA);
+
+    private transient Session instrumentada;
+    private transient Session instrumentadaLeitura;
+
+    @Override
+    protected void prepararBanco() {
+        instrumentada = instrumentar(em, instrumentada);
+        if (replicaHabilitada) {
+            instrumentadaLeitura = instrumentar(emLeitura, instrumentadaLeitura);
+        }
+    }
+
+    private static Session instrumentar(EntityManager em, Session anterior) {
+        try {
+            Session sessao = em.unwrap(Session.class);
+            if (sessao != anterior) {
+                sessao.addEventListeners(TempoBanco.LISTENER);
+            }
+            return sessao;
+        } catch (RuntimeException e) {
+            // Métricas nunca podem impedir a chamada; sem o listener o tempo de banco fica zerado.
+            LOGGER.log(Level.FINE, "Não foi possível medir o tempo de banco", e);
+            return anterior;
+        }
+    }
+}
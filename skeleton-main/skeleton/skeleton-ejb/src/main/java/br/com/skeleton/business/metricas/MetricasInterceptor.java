@@ -0,0 +1,49 @@
+package br.com.skeleton.business.metricas;
+
+import jakarta.ejb.EJB;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.InvocationContext;
+import java.io.Serializable;
+import java.util.Collection;
+
+/**
+ * Mede latência, tempo de banco, linhas devolvidas e erros de cada chamada interceptada
+ * e registra em {@link RegistroMetricas}. O custo por chamada são duas leituras de relógio
+ * e alguns incrementos atômicos, sem alocação nem log.
+ * <p>
+ * O tempo de banco só é medido se alguma camada abaixo registrar {@link TempoBanco} na
+ * sessão do Hibernate; nas fachadas use {@link MetricasBancoInterceptor}.
+ */
+public class MetricasInterceptor implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @EJB
+    private RegistroMetricas registro;
+
+    @AroundInvoke
+    public Object medir(InvocationContext ctx) throws Exception {
+        long inicio = System.nanoTime();
+        long bancoAntes = TempoBanco.acumulado();
+        Throwable erro = null;
+        Object resultado = null;
+        try {
+            prepararBanco();
+            resultado = ctx.proceed();
+            return resultado;
+        } catch (Exception | Error e) {
+            erro = e;
+            throw e;
+        } finally {
+            long total = System.nanoTime() - inicio;
+            int linhas = resultado instanceof Collection ? ((Collection<?>) resultado).size() : -1;
+            registro.metodo(ctx.getMethod()).registrar(total, TempoBanco.acumulado() - bancoAntes, linhas, erro);
+        }
+    }
+
+    /**
+     * Chamado antes de prosseguir, para que subclasses preparem a medição do tempo de banco.
+     */
+    protected void prepararBanco() {
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.skeleton.business.metricas;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas acumuladas de um método instrumentado: latência total, tempo gasto em comandos
+ * JDBC, linhas devolvidas e erros por tipo de exceção.
+ */
+public class MetricasMetodo {
+
+    private final String nome;
+    private final HistogramaLatencia latencia = new HistogramaLatencia();
+    private final HistogramaLatencia banco = new HistogramaLatencia();
+    private final LongAdder linhas = new LongAdder();
+    private final Map<String, LongAdder> erros = new ConcurrentHashMap<>();
+
+    MetricasMetodo(String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Registra uma chamada.
+     *
+     * @param totalNanos Duração total da chamada.
+     * @param bancoNanos Parte da duração gasta executando comandos JDBC.
+     * @param linhas     Linhas devolvidas, ou negativo se o método não devolve uma coleção.
+     * @param erro       A exceção lançada, ou null.
+     */
+    void registrar(long totalNanos, long bancoNanos, int linhas, Throwable erro) {
+        latencia.registrar(totalNanos);
+        banco.registrar(bancoNanos);
+        if (linhas > 0) {
+            this.linhas.add(linhas);
+        }
+        if (erro != null) {
+            erros.computeIfAbsent(erro.getClass().getSimpleName(), tipo -> new LongAdder()).increment();
+        }
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public HistogramaLatencia getLatencia() {
+        return latencia;
+    }
+
+    public HistogramaLatencia getBanco() {
+        return banco;
+    }
+
+    public long getLinhas() {
+        return linhas.sum();
+    }
+
+    /**
+     * @return Quantidade de erros por nome simples da exceção, em ordem alfabética.
+     */
+    public Map<String, Long> getErros() {
+        Map<String, Long> copia = new TreeMap<>();
+        erros.forEach((tipo, contagem) -> copia.put(tipo, contagem.sum()));
+        return copia;
+    }
+}
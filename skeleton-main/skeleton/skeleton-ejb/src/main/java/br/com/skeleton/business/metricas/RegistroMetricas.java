@@ -0,0 +1,57 @@
+package br.com.skeleton.business.metricas;
+
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Singleton;
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Registro das métricas dos métodos instrumentados por {@link MetricasInterceptor},
+ * compartilhado pela aplicação.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class RegistroMetricas {
+
+    /** Atalho da chamada: evita montar o nome a cada chamada. */
+    private final ConcurrentMap<Method, MetricasMetodo> porMetodo = new ConcurrentHashMap<>();
+    /** Uma série por nome, mesmo que dois objetos Method resultem no mesmo nome. */
+    private final ConcurrentMap<String, MetricasMetodo> porNome = new ConcurrentHashMap<>();
+
+    /**
+     * @param metodo O método chamado.
+     * @return As métricas do método, criadas na primeira chamada.
+     */
+    public MetricasMetodo metodo(Method metodo) {
+        MetricasMetodo metricas = porMetodo.get(metodo);
+        if (metricas == null) {
+            metricas = porMetodo.computeIfAbsent(metodo, m -> porNome.computeIfAbsent(nome(m), MetricasMetodo::new));
+        }
+        return metricas;
+    }
+
+    /**
+     * @param metodo O método.
+     * @return Classe, método e tipos dos parâmetros, por exemplo
+     *         {@code EquipamentoFacadeJpa.create(Equipamento)}: sobrecargas têm nomes distintos.
+     */
+    static String nome(Method metodo) {
+        return metodo.getDeclaringClass().getSimpleName() + "." + metodo.getName()
+                + Stream.of(metodo.getParameterTypes()).map(Class::getSimpleName).collect(Collectors.joining(",", "(", ")"));
+    }
+
+    /**
+     * @return As métricas de todos os métodos já chamados, em ordem de nome.
+     */
+    public List<MetricasMetodo> metodos() {
+        return porNome.values().stream()
+                .sorted(Comparator.comparing(MetricasMetodo::getNome))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.skeleton.business.metricas;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Acumula, por thread, o tempo gasto executando comandos JDBC, a partir dos eventos de
+ * sessão do Hibernate. O tempo de leitura das linhas de um ResultSet não é contado.
+ * <p>
+ * O interceptor lê o acumulado antes e depois da chamada; a diferença é o tempo de banco
+ * da chamada, incluindo o de chamadas aninhadas. Comandos JDBC não se aninham numa thread:
+ * um início com outro comando em andamento e um fim sem comando em andamento vêm de um
+ * registro repetido na mesma sessão e são ignorados.
+ */
+public final class TempoBanco extends BaseSessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Instância única registrada nas sessões; o estado fica na thread, não no listener. */
+    public static final TempoBanco LISTENER = new TempoBanco();
+
+    // [0] = nanos acumulados, [1] = início do comando em execução, [2] = 1 se há comando em execução
+    private static final ThreadLocal<long[]> RELOGIO = ThreadLocal.withInitial(() -> new long[3]);
+
+    private TempoBanco() {}
+
+    /**
+     * @return O tempo de banco acumulado pela thread corrente, em nanossegundos.
+     */
+    public static long acumulado() {
+        return RELOGIO.get()[0];
+    }
+
+    private static void iniciar() {
+        long[] relogio = RELOGIO.get();
+        if (relogio[2] == 0) {
+            relogio[1] = System.nanoTime();
+            relogio[2] = 1;
+        }
+    }
+
+    private static void encerrar() {
+        long[] relogio = RELOGIO.get();
+        if (relogio[2] == 1) {
+            relogio[0] += System.nanoTime() - relogio[1];
+            relogio[2] = 0;
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        iniciar();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        encerrar();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        iniciar();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        encerrar();
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.skeleton.business.outbox;
+
+import br.com.skeleton.business.entity.MensagemOutbox;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Destino local que acrescenta cada mensagem, uma por linha em JSON, a um arquivo
+ * ({@code skeleton.outbox.arquivo}, padrão {@code skeleton-outbox.ndjson} no diretório
+ * temporário). Substitui o sistema externo em desenvolvimento e testes.
+ */
+@ApplicationScoped
+public class DestinoArquivo implements DestinoOutbox {
+
+    public static final String NOME = "arquivo";
+
+    private final Path arquivo = Paths.get(System.getProperty("skeleton.outbox.arquivo",
+            Paths.get(System.getProperty("java.io.tmpdir"), "skeleton-outbox.ndjson").toString()));
+
+    @Override
+    public String getNome() {
+        return NOME;
+    }
+
+    @Override
+    public synchronized void entregar(MensagemOutbox mensagem) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write("{\"chave\":\"" + mensagem.getChaveIdempotencia()
+                    + "\",\"tipo\":\"" + mensagem.getTipo()
+                    + "\",\"carga\":" + mensagem.getCarga() + "}\n");
+        }
+    }
+}
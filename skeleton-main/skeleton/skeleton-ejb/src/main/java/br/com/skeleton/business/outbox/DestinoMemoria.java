@@ -0,0 +1,41 @@
+package br.com.skeleton.business.outbox;
+
+import br.com.skeleton.business.entity.MensagemOutbox;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Destino em memória, para testes: guarda as mensagens entregues em ordem e ignora
+ * repetições pela chave de idempotência, como um destino real deveria fazer.
+ */
+@ApplicationScoped
+public class DestinoMemoria implements DestinoOutbox {
+
+    public static final String NOME = "memoria";
+
+    private final Map<String, MensagemOutbox> entregues = new LinkedHashMap<>();
+
+    @Override
+    public String getNome() {
+        return NOME;
+    }
+
+    @Override
+    public synchronized void entregar(MensagemOutbox mensagem) {
+        entregues.putIfAbsent(mensagem.getChaveIdempotencia(), mensagem);
+    }
+
+    /**
+     * @return As mensagens entregues, sem repetições, na ordem da primeira entrega.
+     */
+    public synchronized List<MensagemOutbox> getEntregues() {
+        return new ArrayList<>(entregues.values());
+    }
+
+    public synchronized void limpar() {
+        entregues.clear();
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.skeleton.business.outbox;
+
+import br.com.skeleton.business.entity.MensagemOutbox;
+
+/**
+ * Destino das mensagens do outbox. Implementações são beans CDI; a escolhida é a
+ * cujo {@link #getNome()} corresponde à propriedade de sistema
+ * {@value OutboxDespachante#PROPRIEDADE_DESTINO} (padrão {@value OutboxDespachante#DESTINO_PADRAO}).
+ * <p>
+ * A entrega é "pelo menos uma vez": uma mensagem pode chegar repetida após uma falha
+ * entre a entrega e a confirmação, e o destino deve usar a chave de idempotência
+ * para descartar repetições.
+ */
+public interface DestinoOutbox {
+
+    /**
+     * @return O nome pelo qual o destino é selecionado.
+     */
+    String getNome();
+
+    /**
+     * Entrega a mensagem. Retornar normalmente confirma a entrega; qualquer exceção faz
+     * a mensagem ser tentada de novo mais tarde.
+     *
+     * @param mensagem A mensagem, com chave de idempotência, tipo e carga.
+     * @throws Exception Se a entrega falhar.
+     */
+    void entregar(MensagemOutbox mensagem) throws Exception;
+}
@@ -0,0 +1,113 @@
+package br.com.skeleton.business.outbox;
+
+import br.com.skeleton.business.entity.MensagemOutbox;
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Entrega em segundo plano as mensagens pendentes do outbox. A cada disparo reserva
+ * lotes de mensagens, entrega cada uma ao destino configurado e confirma as entregues
+ * em bloco; as que falham são reagendadas pelo {@link OutboxGravador}.
+ * <p>
+ * Um disparo não se sobrepõe ao anterior nesta instância, e várias instâncias podem
+ * rodar ao mesmo tempo, já que a reserva pula as linhas bloqueadas pelas outras.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class OutboxDespachante {
+
+    private static final Logger LOGGER = Logger.getLogger(OutboxDespachante.class.getName());
+
+    public static final String PROPRIEDADE_DESTINO = "skeleton.outbox.destino";
+    public static final String DESTINO_PADRAO = DestinoArquivo.NOME;
+
+    /** Mensagens reservadas por vez. */
+    static final int TAMANHO_LOTE = 100;
+
+    /** Lotes por disparo, para que um acúmulo grande não prenda o timer indefinidamente. */
+    static final int MAX_LOTES_POR_DISPARO = 50;
+
+    @EJB
+    private OutboxGravador gravador;
+
+    @Inject
+    @Any
+    private Instance<DestinoOutbox> destinos;
+
+    private final AtomicBoolean executando = new AtomicBoolean();
+
+    private DestinoOutbox destino;
+
+    @PostConstruct
+    public void init() {
+        String nome = System.getProperty(PROPRIEDADE_DESTINO, DESTINO_PADRAO);
+        for (DestinoOutbox candidato : destinos) {
+            if (candidato.getNome().equals(nome)) {
+                destino = candidato;
+            }
+        }
+        if (destino == null) {
+            LOGGER.log(Level.SEVERE, "Destino do outbox desconhecido: {0}. O outbox não será despachado.", nome);
+        } else {
+            LOGGER.log(Level.INFO, "Outbox despachado para o destino: {0}", nome);
+        }
+    }
+
+    @Schedule(hour = "*", minute = "*", second = "*/2", persistent = false)
+    public void despachar() {
+        if (destino == null || !executando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (int lote = 0; lote < MAX_LOTES_POR_DISPARO; lote++) {
+                if (despacharLote() < TAMANHO_LOTE) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Erro ao despachar o outbox", e);
+        } finally {
+            executando.set(false);
+        }
+    }
+
+    /**
+     * Reserva e entrega um lote.
+     *
+     * @return O número de mensagens reservadas.
+     */
+    int despacharLote() {
+        List<MensagemOutbox> mensagens = gravador.reservar(TAMANHO_LOTE);
+        List<Long> entregues = new ArrayList<>(mensagens.size());
+        for (MensagemOutbox mensagem : mensagens) {
+            try {
+                destino.entregar(mensagem);
+                entregues.add(mensagem.getId());
+            } catch (Exception e) {
+                String status = gravador.registrarFalha(mensagem.getId(), String.valueOf(e));
+                Level nivel = MensagemOutbox.FALHOU.equals(status) ? Level.SEVERE : Level.WARNING;
+                LOGGER.log(nivel, "Falha ao entregar a mensagem " + mensagem.getChaveIdempotencia()
+                        + " (status: " + status + ")", e);
+            }
+        }
+        gravador.marcarEntregues(entregues);
+        return mensagens.size();
+    }
+}
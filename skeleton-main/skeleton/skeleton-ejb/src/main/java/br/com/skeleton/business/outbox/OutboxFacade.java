@@ -0,0 +1,30 @@
+package br.com.skeleton.business.outbox;
+
+import br.com.skeleton.business.entity.Config;
+import jakarta.ejb.Local;
+
+/**
+ * Interface para o envio de mensagens através do outbox transacional.
+ */
+@Local
+public interface OutboxFacade {
+
+    /**
+     * Grava a configuração e enfileira a sua mensagem de envio na mesma transação: ou
+     * ambas são confirmadas, ou nenhuma. A entrega ao destino acontece depois, em
+     * segundo plano.
+     *
+     * @param config A configuração a ser enviada.
+     * @return A chave de idempotência da mensagem enfileirada.
+     * @throws IllegalArgumentException Se a configuração ou a sua mensagem for nula ou vazia.
+     */
+    String enviarConfig(Config config);
+
+    /**
+     * Conta as mensagens em um determinado status.
+     *
+     * @param status O status (pendente, entregue ou falhou).
+     * @return O número de mensagens.
+     */
+    long contarPorStatus(String status);
+}
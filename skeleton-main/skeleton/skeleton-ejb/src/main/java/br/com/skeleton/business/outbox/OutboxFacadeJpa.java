@@ -0,0 +1,54 @@
+package br.com.skeleton.business.outbox;
+
+import br.com.skeleton.business.entity.Config;
+import br.com.skeleton.business.entity.MensagemOutbox;
+import jakarta.ejb.Stateless;
+import jakarta.json.Json;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementação JPA do outbox. A mensagem é gravada na transação do chamador (ou em
+ * uma nova, se não houver), junto com os dados de negócio.
+ */
+@Stateless
+public class OutboxFacadeJpa implements OutboxFacade {
+
+    private static final Logger LOGGER = Logger.getLogger(OutboxFacadeJpa.class.getName());
+
+    public static final String TIPO_CONFIG = "config";
+
+    @PersistenceContext(unitName = "MasterOne")
+    private EntityManager em;
+
+    @Override
+    public String enviarConfig(Config config) {
+        if (config == null || config.getMensagem() == null || config.getMensagem().trim().isEmpty()) {
+            throw new IllegalArgumentException("A mensagem da configuração não pode ser nula ou vazia.");
+        }
+        Config gravada = config.getId() == null ? config : em.merge(config);
+        if (gravada.getId() == null) {
+            em.persist(gravada);
+            em.flush();
+        }
+
+        String carga = Json.createObjectBuilder()
+                .add("id", gravada.getId())
+                .add("mensagem", gravada.getMensagem())
+                .build()
+                .toString();
+        MensagemOutbox mensagem = new MensagemOutbox(TIPO_CONFIG, carga);
+        em.persist(mensagem);
+        LOGGER.log(Level.FINE, "Mensagem enfileirada no outbox: {0}", mensagem.getChaveIdempotencia());
+        return mensagem.getChaveIdempotencia();
+    }
+
+    @Override
+    public long contarPorStatus(String status) {
+        return em.createQuery("SELECT COUNT(m) FROM MensagemOutbox m WHERE m.status = :status", Long.class)
+                .setParameter("status", status)
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.skeleton.business.outbox;
+
+import br.com.skeleton.business.entity.MensagemOutbox;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Grava o estado das mensagens do outbox. Cada método roda em uma transação própria,
+ * curta, para que nenhum lock seja mantido durante a entrega ao destino.
+ */
+@Stateless
+@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+public class OutboxGravador {
+
+    /** Tentativas antes de a mensagem ser marcada como falhou e deixar de ser reenviada. */
+    public static final int MAX_TENTATIVAS = 10;
+
+    /** Tempo durante o qual uma mensagem reservada não é reservada de novo por outro despachante. */
+    static final long RESERVA_SEGUNDOS = 60;
+
+    static final long ESPERA_INICIAL_SEGUNDOS = 2;
+    static final long ESPERA_MAXIMA_SEGUNDOS = 600;
+
+    /** Valor da dica de lock timeout que o Hibernate traduz para SKIP LOCKED. */
+    private static final int SKIP_LOCKED = -2;
+
+    @PersistenceContext(unitName = "MasterOne")
+    private EntityManager em;
+
+    /**
+     * Reserva até {@code limite} mensagens pendentes e vencidas, em ordem de criação.
+     * As linhas já bloqueadas por outro despachante são puladas, e as reservadas têm a
+     * próxima tentativa adiada pelo tempo da reserva; se o despachante cair no meio da
+     * entrega, elas voltam a ficar disponíveis quando a reserva expirar.
+     *
+     * @param limite Número máximo de mensagens.
+     * @return As mensagens reservadas, desanexadas.
+     */
+    public List<MensagemOutbox> reservar(int limite) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<MensagemOutbox> mensagens = em.createQuery(
+                        "SELECT m FROM MensagemOutbox m WHERE m.status = :status"
+                                + " AND m.proximaTentativa <= :agora ORDER BY m.id", MensagemOutbox.class)
+                .setParameter("status", MensagemOutbox.PENDENTE)
+                .setParameter("agora", agora)
+                .setMaxResults(limite)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint("jakarta.persistence.lock.timeout", SKIP_LOCKED)
+                .getResultList();
+        LocalDateTime fimReserva = agora.plusSeconds(RESERVA_SEGUNDOS);
+        for (MensagemOutbox mensagem : mensagens) {
+            mensagem.setProximaTentativa(fimReserva);
+        }
+        em.flush();
+        em.clear();
+        return mensagens;
+    }
+
+    /**
+     * Marca as mensagens como entregues.
+     *
+     * @param ids Os IDs das mensagens entregues.
+     */
+    public void marcarEntregues(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        em.createQuery("UPDATE MensagemOutbox m SET m.status = :status, m.entregueEm = :agora,"
+                        + " m.ultimoErro = NULL WHERE m.id IN :ids")
+                .setParameter("status", MensagemOutbox.ENTREGUE)
+                .setParameter("agora", LocalDateTime.now())
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    /**
+     * Registra uma falha de entrega e agenda a próxima tentativa com espera exponencial
+     * e jitter, ou marca a mensagem como falhou ao atingir {@link #MAX_TENTATIVAS}.
+     *
+     * @param id   O ID da mensagem.
+     * @param erro A descrição do erro.
+     * @return O status resultante da mensagem.
+     */
+    public String registrarFalha(Long id, String erro) {
+        MensagemOutbox mensagem = em.find(MensagemOutbox.class, id);
+        if (mensagem == null) {
+            return null;
+        }
+        int tentativas = mensagem.getTentativas() + 1;
+        mensagem.setTentativas(tentativas);
+        mensagem.setUltimoErro(erro);
+        if (tentativas >= MAX_TENTATIVAS) {
+            mensagem.setStatus(MensagemOutbox.FALHOU);
+        } else {
+            mensagem.setProximaTentativa(LocalDateTime.now().plusSeconds(espera(tentativas)));
+        }
+        return mensagem.getStatus();
+    }
+
+    /**
+     * Espera antes da tentativa seguinte: dobra a cada falha até o máximo, com jitter
+     * de até metade do valor para que mensagens que falharam juntas não voltem juntas.
+     */
+    static long espera(int tentativas) {
+        long base = Math.min(ESPERA_MAXIMA_SEGUNDOS, ESPERA_INICIAL_SEGUNDOS << Math.min(tentativas - 1, 20));
+        return base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+    }
+}
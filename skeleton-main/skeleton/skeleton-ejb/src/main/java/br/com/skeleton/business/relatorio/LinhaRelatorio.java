@@ -0,0 +1,57 @@
+package br.com.skeleton.business.relatorio;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Uma linha de relatório agregado: o grupo, a quantidade de equipamentos e a soma dos valores.
+ */
+public class LinhaRelatorio implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String grupo;
+    private long quantidade;
+    private BigDecimal valorTotal;
+
+    public LinhaRelatorio() {}
+
+    public LinhaRelatorio(String grupo, long quantidade, BigDecimal valorTotal) {
+        this.grupo = grupo;
+        this.quantidade = quantidade;
+        this.valorTotal = valorTotal != null ? valorTotal : BigDecimal.ZERO;
+    }
+
+    public String getGrupo() {
+        return grupo;
+    }
+
+    public void setGrupo(String grupo) {
+        this.grupo = grupo;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(long quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public void setValorTotal(BigDecimal valorTotal) {
+        this.valorTotal = valorTotal;
+    }
+
+    @Override
+    public String toString() {
+        return "LinhaRelatorio{" +
+                "grupo='" + grupo + '\'' +
+                ", quantidade=" + quantidade +
+                ", valorTotal=" + valorTotal +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.skeleton.business.relatorio;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import jakarta.ejb.Local;
+
+/**
+ * Relatórios agregados de equipamentos, calculados no banco. Cada consulta devolve uma
+ * linha por grupo, sem trazer os equipamentos para a memória.
+ */
+@Local
+public interface RelatorioFacade {
+
+    /**
+     * Quantidade e valor total de equipamentos por status.
+     *
+     * @return Uma linha por status, em ordem de status.
+     */
+    List<LinhaRelatorio> totaisPorStatus();
+
+    /**
+     * Quantidade e valor total de equipamentos por mês de validade, no intervalo de meses
+     * informado (inclusivo).
+     *
+     * @param de     O primeiro mês. Não pode ser nulo.
+     * @param ate    O último mês. Não pode ser nulo nem anterior a {@code de}.
+     * @param status Considera só os equipamentos com este status, ou todos se for nulo.
+     * @return Uma linha por mês com equipamentos, em ordem cronológica, com o grupo no formato yyyy-MM.
+     * @throws IllegalArgumentException Se o intervalo for inválido.
+     */
+    List<LinhaRelatorio> vencimentosPorMes(YearMonth de, YearMonth ate, String status);
+
+    /**
+     * Quantidade e valor total de equipamentos por faixa de valor.
+     *
+     * @param limites Os limites entre as faixas, em ordem crescente e sem repetição. Com
+     *                limites 100 e 1000, as faixas são "< 100", "100 - 1000" e ">= 1000".
+     * @return Uma linha por faixa com equipamentos, da menor para a maior.
+     * @throws IllegalArgumentException Se os limites forem vazios, nulos, negativos ou fora de ordem.
+     */
+    List<LinhaRelatorio> faixasDeValor(List<BigDecimal> limites);
+}
@@ -0,0 +1,127 @@
+package br.com.skeleton.business.relatorio;
+
+import br.com.skeleton.business.entity.Equipamento;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Stateless;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Implementação dos relatórios com consultas agregadas. Totais por status e por mês são
+ * lidos do resumo materializado quando ele está ativo (ver {@link ResumoEquipamentos}),
+ * com custo proporcional ao número de grupos; caso contrário, são agregados direto da
+ * tabela de equipamentos. Faixas de valor dependem dos limites pedidos e são sempre
+ * agregadas da tabela.
+ */
+@Stateless
+public class RelatorioFacadeJpa implements RelatorioFacade {
+
+    /** Máximo de limites de faixa aceitos por consulta. */
+    private static final int MAX_LIMITES = 50;
+
+    @PersistenceContext(unitName = "MasterOne")
+    private EntityManager em;
+
+    @EJB
+    private ResumoEquipamentos resumo;
+
+    @Override
+    public List<LinhaRelatorio> totaisPorStatus() {
+        if (resumo.isAtivo()) {
+            return linhas(em.createNativeQuery("SELECT r.status, SUM(r.quantidade), SUM(r.valor_total)"
+                    + " FROM resumo_equipamentos r GROUP BY r.status HAVING SUM(r.quantidade) > 0 ORDER BY r.status"));
+        }
+        return linhas(em.createQuery("SELECT e.status, COUNT(e), SUM(e.valor) FROM Equipamento e"
+                + " GROUP BY e.status ORDER BY e.status"));
+    }
+
+    @Override
+    public List<LinhaRelatorio> vencimentosPorMes(YearMonth de, YearMonth ate, String status) {
+        if (de == null || ate == null || ate.isBefore(de)) {
+            throw new IllegalArgumentException("Intervalo de meses inválido: " + de + " a " + ate);
+        }
+        boolean porStatus = status != null && !status.isBlank();
+        Query query;
+        if (resumo.isAtivo()) {
+            query = em.createNativeQuery("SELECT to_char(r.mes_validade, 'YYYY-MM'), SUM(r.quantidade), SUM(r.valor_total)"
+                    + " FROM resumo_equipamentos r WHERE r.mes_validade BETWEEN :de AND :ate"
+                    + (porStatus ? " AND r.status = :status" : "")
+                    + " GROUP BY r.mes_validade HAVING SUM(r.quantidade) > 0 ORDER BY r.mes_validade");
+            query.setParameter("ate", ate.atDay(1));
+        } else {
+            // Intervalo em validade (e não em date_trunc) para usar os índices que começam por validade.
+            query = em.createNativeQuery("SELECT to_char(date_trunc('month', e.validade), 'YYYY-MM'), COUNT(*), SUM(e.valor)"
+                    + " FROM equipamentos e WHERE e.validade BETWEEN :de AND :ate"
+                    + (porStatus ? " AND e.status = :status" : "")
+                    + " GROUP BY 1 ORDER BY 1");
+            query.setParameter("ate", ate.atEndOfMonth());
+        }
+        query.setParameter("de", de.atDay(1));
+        if (porStatus) {
+            query.setParameter("status", Equipamento.normalizarStatus(status));
+        }
+        return linhas(query);
+    }
+
+    @Override
+    public List<LinhaRelatorio> faixasDeValor(List<BigDecimal> limites) {
+        if (limites == null || limites.isEmpty() || limites.size() > MAX_LIMITES) {
+            throw new IllegalArgumentException("Informe de 1 a " + MAX_LIMITES + " limites de faixa.");
+        }
+        if (limites.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Limites de faixa não podem ser nulos.");
+        }
+        for (int i = 0; i < limites.size(); i++) {
+            if (limites.get(i).signum() < 0 || (i > 0 && limites.get(i).compareTo(limites.get(i - 1)) <= 0)) {
+                throw new IllegalArgumentException("Limites de faixa devem ser não negativos e crescentes: " + limites);
+            }
+        }
+        // width_bucket devolve 0 abaixo do primeiro limite e n acima do último. Os limites
+        // entram como literais numéricos, já validados como BigDecimal.
+        String array = limites.stream().map(BigDecimal::toPlainString).collect(Collectors.joining(",", "ARRAY[", "]::numeric[]"));
+        @SuppressWarnings("unchecked")
+        List<Object[]> resultado = em.createNativeQuery("SELECT width_bucket(e.valor, " + array + "), COUNT(*), SUM(e.valor)"
+                        + " FROM equipamentos e GROUP BY 1 ORDER BY 1")
+                .getResultList();
+        List<LinhaRelatorio> linhas = new ArrayList<>(resultado.size());
+        for (Object[] linha : resultado) {
+            int faixa = ((Number) linha[0]).intValue();
+            linhas.add(new LinhaRelatorio(rotuloFaixa(limites, faixa), ((Number) linha[1]).longValue(), decimal(linha[2])));
+        }
+        return linhas;
+    }
+
+    private static String rotuloFaixa(List<BigDecimal> limites, int faixa) {
+        if (faixa == 0) {
+            return "< " + limites.get(0).toPlainString();
+        }
+        if (faixa == limites.size()) {
+            return ">= " + limites.get(faixa - 1).toPlainString();
+        }
+        return limites.get(faixa - 1).toPlainString() + " - " + limites.get(faixa).toPlainString();
+    }
+
+    private static List<LinhaRelatorio> linhas(Query query) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> resultado = query.getResultList();
+        List<LinhaRelatorio> linhas = new ArrayList<>(resultado.size());
+        for (Object[] linha : resultado) {
+            linhas.add(new LinhaRelatorio(String.valueOf(linha[0]), ((Number) linha[1]).longValue(), decimal(linha[2])));
+        }
+        return linhas;
+    }
+
+    private static BigDecimal decimal(Object valor) {
+        if (valor == null) {
+            return BigDecimal.ZERO;
+        }
+        return valor instanceof BigDecimal ? (BigDecimal) valor : new BigDecimal(valor.toString());
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.skeleton.business.relatorio;
+
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Mantém a tabela resumo_equipamentos (quantidade e valor total por status e mês de
+ * validade), lida pelos relatórios em vez da tabela de equipamentos.
+ * <p>
+ * Opcional: fica desligado a menos que a propriedade de sistema
+ * {@value #PROPRIEDADE_ATIVO} seja {@code true}. Ligado, as escritas da fachada chamam
+ * {@link #remover} antes de alterar as linhas e {@link #adicionar} depois, na mesma
+ * transação, e o resumo muda pelo delta das linhas afetadas. Como cada escrita
+ * atualiza a linha do seu grupo, escritas concorrentes no mesmo status e mês se
+ * enfileiram nessa linha até o commit; por isso o recurso é opcional.
+ * {@link #remover} também trava as linhas de equipamentos informadas até o commit, para
+ * que o estado subtraído seja o mesmo que a escrita vai substituir.
+ * <p>
+ * Ao ligar com dados já existentes, ou se o resumo divergir, use {@link #reconstruir()}.
+ */
+@Stateless
+public class ResumoEquipamentos {
+
+    private static final Logger LOGGER = Logger.getLogger(ResumoEquipamentos.class.getName());
+
+    public static final String PROPRIEDADE_ATIVO = "skeleton.relatorios.resumos";
+
+    private static final boolean ATIVO = Boolean.getBoolean(PROPRIEDADE_ATIVO);
+
+    /** Máximo de IDs por comando, abaixo do limite de parâmetros do driver PostgreSQL. */
+    private static final int IDS_POR_COMANDO = 10_000;
+
+    /** Em ordem de ID, para que escritas concorrentes em lote travem sem deadlock. */
+    private static final String TRAVAR_LINHAS =
+            "SELECT e.id FROM equipamentos e WHERE e.id IN (:ids) ORDER BY e.id FOR UPDATE";
+
+    private static final String APLICAR_DELTA =
+            "INSERT INTO resumo_equipamentos (status, mes_validade, quantidade, valor_total)"
+                    + " SELECT e.status, CAST(date_trunc('month', e.validade) AS DATE), :sinal * COUNT(*), :sinal * SUM(e.valor)"
+                    + " FROM equipamentos e WHERE e.id IN (:ids) GROUP BY 1, 2"
+                    + " ON CONFLICT (status, mes_validade) DO UPDATE SET"
+                    + " quantidade = resumo_equipamentos.quantidade + EXCLUDED.quantidade,"
+                    + " valor_total = resumo_equipamentos.valor_total + EXCLUDED.valor_total";
+
+    @PersistenceContext(unitName = "MasterOne")
+    private EntityManager em;
+
+    /**
+     * @return true se o resumo é mantido e usado pelos relatórios.
+     */
+    public boolean isAtivo() {
+        return ATIVO;
+    }
+
+    /**
+     * Soma ao resumo o estado atual dos equipamentos informados. Chamar depois de
+     * inserir ou alterar as linhas.
+     *
+     * @param ids Os IDs dos equipamentos gravados.
+     */
+    @TransactionAttribute(TransactionAttributeType.MANDATORY)
+    public void adicionar(Collection<Long> ids) {
+        aplicar(ids, 1);
+    }
+
+    /**
+     * Subtrai do resumo o estado atual dos equipamentos informados. Chamar antes de
+     * alterar ou remover as linhas.
+     *
+     * @param ids Os IDs dos equipamentos que serão alterados ou removidos.
+     */
+    @TransactionAttribute(TransactionAttributeType.MANDATORY)
+    public void remover(Collection<Long> ids) {
+        aplicar(ids, -1);
+    }
+
+    /**
+     * Recalcula o resumo inteiro a partir da tabela de equipamentos.
+     *
+     * @return A quantidade de grupos gravados.
+     */
+    public int reconstruir() {
+        em.createNativeQuery("LOCK TABLE resumo_equipamentos IN EXCLUSIVE MODE").executeUpdate();
+        em.createNativeQuery("DELETE FROM resumo_equipamentos").executeUpdate();
+        int grupos = em.createNativeQuery(
+                        "INSERT INTO resumo_equipamentos (status, mes_validade, quantidade, valor_total)"
+                                + " SELECT e.status, CAST(date_trunc('month', e.validade) AS DATE), COUNT(*), SUM(e.valor)"
+                                + " FROM equipamentos e GROUP BY 1, 2")
+                .executeUpdate();
+        LOGGER.info("Resumo de equipamentos reconstruído: " + grupos + " grupos");
+        return grupos;
+    }
+
+    private void aplicar(Collection<Long> ids, int sinal) {
+        if (!ATIVO || ids.isEmpty()) {
+            return;
+        }
+        // Alterações pendentes no contexto de persistência precisam estar no banco antes
+        // da leitura agregada.
+        em.flush();
+        List<Long> lista = new ArrayList<>(ids);
+        for (int inicio = 0; inicio < lista.size(); inicio += IDS_POR_COMANDO) {
+            List<Long> bloco = lista.subList(inicio, Math.min(inicio + IDS_POR_COMANDO, lista.size()));
+            if (sinal < 0) {
+                // Sem a trava, em READ COMMITTED duas escritas na mesma linha subtraem o mesmo
+                // estado anterior e o resumo perde a alteração da primeira. Travada, a segunda
+                // espera o commit da primeira e o comando seguinte já lê o estado gravado.
+                em.createNativeQuery(TRAVAR_LINHAS).setParameter("ids", bloco).getResultList();
+            }
+            em.createNativeQuery(APLICAR_DELTA)
+                    .setParameter("sinal", sinal)
+                    .setParameter("ids", bloco)
+                    .executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.skeleton.business.replica;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Posição no WAL do primário (LSN) da última gravação feita por uma sessão de usuário, usada pelo
+ * {@link RoteadorLeitura} para garantir que a sessão leia as próprias gravações: enquanto a
+ * réplica não tiver aplicado a gravação, as leituras da sessão vão para o primário.
+ * <p>
+ * A camada web vincula um contexto à thread da requisição e o persiste entre requisições
+ * (cookie); a fachada assíncrona o repassa às threads do executor. Sem contexto vinculado,
+ * como nos timers, não há gravações da sessão a considerar.
+ */
+public final class ContextoLeitura {
+
+    private static final ThreadLocal<ContextoLeitura> ATUAL = new ThreadLocal<>();
+
+    private final LongConsumer aoGravar;
+    private volatile long lsnGravacao;
+
+    /**
+     * @param lsnGravacao A posição no WAL (em bytes) após a última gravação conhecida da sessão, ou 0.
+     * @param aoGravar    Chamado com a posição de cada nova gravação, para que a camada web
+     *                    a persista na sessão. Pode ser nulo.
+     */
+    public ContextoLeitura(long lsnGravacao, LongConsumer aoGravar) {
+        this.lsnGravacao = lsnGravacao;
+        this.aoGravar = aoGravar;
+    }
+
+    /**
+     * @return O contexto vinculado à thread corrente, ou null.
+     */
+    public static ContextoLeitura atual() {
+        return ATUAL.get();
+    }
+
+    /**
+     * Vincula o contexto à thread corrente.
+     *
+     * @param contexto O contexto. Pode ser nulo.
+     * @return O contexto vinculado antes, a ser devolvido a {@link #restaurar}.
+     */
+    public static ContextoLeitura vincular(ContextoLeitura contexto) {
+        ContextoLeitura anterior = ATUAL.get();
+        if (contexto != null) {
+            ATUAL.set(contexto);
+        } else {
+            ATUAL.remove();
+        }
+        return anterior;
+    }
+
+    /**
+     * Restaura o contexto que estava vinculado antes de {@link #vincular}.
+     *
+     * @param anterior O valor devolvido por {@link #vincular}.
+     */
+    public static void restaurar(ContextoLeitura anterior) {
+        vincular(anterior);
+    }
+
+    public long getLsnGravacao() {
+        return lsnGravacao;
+    }
+
+    void registrarGravacao(long lsn) {
+        lsnGravacao = Math.max(lsnGravacao, lsn);
+        if (aoGravar != null) {
+            aoGravar.accept(lsnGravacao);
+        }
+    }
+}
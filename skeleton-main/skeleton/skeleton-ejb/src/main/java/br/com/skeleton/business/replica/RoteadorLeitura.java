@@ -0,0 +1,231 @@
+package br.com.skeleton.business.replica;
+
+import br.com.skeleton.business.alteracoes.AlteracaoEquipamento;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decide se uma leitura da fachada de equipamentos pode ir para a réplica (unidade de
+ * persistência {@value #UNIDADE_REPLICA}, declarada junto de "MasterOne" e apontando para o
+ * datasource da réplica somente leitura).
+ * <p>
+ * A cada {@value #INTERVALO_SONDAGEM_MS} ms o atraso da réplica é medido. Uma leitura vai
+ * para a réplica somente se:
+ * <ul>
+ *   <li>o roteamento estiver habilitado ({@code -Dskeleton.replica.habilitada=true});</li>
+ *   <li>não houver transação ativa: dentro de uma transação a leitura pode depender do que
+ *       ela já gravou, e a réplica não participa de transações do primário;</li>
+ *   <li>a última sondagem for recente e o atraso menor que {@code skeleton.replica.janela.ms}
+ *       (padrão 5000);</li>
+ *   <li>a última gravação da sessão ({@link ContextoLeitura}) já estiver aplicada na réplica
+ *       segundo a última sondagem.</li>
+ * </ul>
+ * As gravações são identificadas pela posição no WAL do primário (LSN) logo após o commit,
+ * e a réplica pela posição já aplicada ({@code pg_last_wal_replay_lsn()}): a comparação não
+ * depende de relógios nem do WAL que a réplica já recebeu. Sem réplica disponível, tudo
+ * segue para o primário.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class RoteadorLeitura {
+
+    private static final Logger LOGGER = Logger.getLogger(RoteadorLeitura.class.getName());
+
+    public static final String UNIDADE_REPLICA = "MasterOneLeitura";
+    public static final String PROPRIEDADE_HABILITADA = "skeleton.replica.habilitada";
+    public static final String PROPRIEDADE_JANELA = "skeleton.replica.janela.ms";
+
+    static final long INTERVALO_SONDAGEM_MS = 5_000;
+
+    /**
+     * Posição de inserção do WAL no primário, em bytes; depois de um commit, já o inclui. A
+     * posição de escrita (pg_current_wal_lsn) pode ficar para trás com synchronous_commit=off.
+     */
+    private static final String SQL_LSN_PRIMARIO = "SELECT CAST(pg_current_wal_insert_lsn() - '0/0' AS BIGINT)";
+
+    /**
+     * Posição do WAL aplicada na réplica e há quantos ms foi confirmada no primário a última
+     * transação aplicada. Executada no primário (réplica ainda não configurada), devolve a
+     * posição corrente.
+     */
+    private static final String SQL_REPLICA = "SELECT CAST((CASE WHEN pg_is_in_recovery()"
+            + " THEN pg_last_wal_replay_lsn() ELSE pg_current_wal_insert_lsn() END) - '0/0' AS BIGINT),"
+            + " CAST(EXTRACT(EPOCH FROM now() - COALESCE(pg_last_xact_replay_timestamp(),"
+            + " pg_postmaster_start_time())) * 1000 AS BIGINT)";
+
+    @PersistenceContext(unitName = "MasterOne")
+    private EntityManager primario;
+
+    @PersistenceContext(unitName = UNIDADE_REPLICA)
+    private EntityManager replica;
+
+    @Resource
+    private TransactionSynchronizationRegistry txRegistry;
+
+    private final boolean habilitada = Boolean.getBoolean(PROPRIEDADE_HABILITADA);
+
+    /** Atraso medido na última sondagem bem-sucedida, ou -1 se a réplica está indisponível. */
+    private volatile long atrasoMs = -1;
+    /** Posição do WAL aplicada na réplica na última sondagem. */
+    private volatile long lsnAplicado = -1;
+    private volatile long ultimaSondagem;
+    /** Maior posição do WAL após as gravações desta instância. */
+    private final AtomicLong ultimaGravacao = new AtomicLong();
+    /** Gravações cuja posição não pôde ser lida; valem pela posição lida na próxima sondagem. */
+    private final AtomicInteger gravacoesSemLsn = new AtomicInteger();
+
+    private final LongAdder leiturasReplica = new LongAdder();
+    private final LongAdder leiturasPrimario = new LongAdder();
+
+    /**
+     * @return A janela, em ms, durante a qual a camada web guarda a última gravação da sessão.
+     *         Também é o maior atraso aceito na réplica.
+     */
+    public static long janelaMs() {
+        return Math.max(0, Long.getLong(PROPRIEDADE_JANELA, 5_000));
+    }
+
+    @PostConstruct
+    public void init() {
+        if (habilitada) {
+            sondar();
+            LOGGER.log(Level.INFO, "Leituras de equipamentos roteadas para a réplica {0}", UNIDADE_REPLICA);
+        }
+    }
+
+    @Schedule(hour = "*", minute = "*", second = "*/5", persistent = false)
+    public void sondar() {
+        if (!habilitada) {
+            return;
+        }
+        long inicio = System.currentTimeMillis();
+        int semLsn = gravacoesSemLsn.get();
+        try {
+            long lsnPrimario = lsnPrimario();
+            if (semLsn > 0) {
+                // Lida depois dessas gravações, a posição corrente as inclui.
+                ultimaGravacao.accumulateAndGet(lsnPrimario, Math::max);
+                gravacoesSemLsn.compareAndSet(semLsn, 0);
+            }
+            Object[] resultado = (Object[]) replica.createNativeQuery(SQL_REPLICA).getSingleResult();
+            long aplicado = ((Number) resultado[0]).longValue();
+            // Com o WAL do início da sondagem aplicado, não há atraso. Do contrário, o tempo desde
+            // a última transação aplicada é um limite superior: o que falta foi confirmado depois.
+            atrasoMs = aplicado >= lsnPrimario ? 0 : Math.max(0, ((Number) resultado[1]).longValue());
+            lsnAplicado = aplicado;
+            ultimaSondagem = inicio;
+        } catch (RuntimeException e) {
+            if (atrasoMs >= 0) {
+                LOGGER.log(Level.WARNING, "Réplica de leitura indisponível; leituras seguem para o primário", e);
+            }
+            atrasoMs = -1;
+        }
+    }
+
+    /**
+     * Decide o destino de uma leitura e a contabiliza.
+     *
+     * @return true se a leitura pode ir para a réplica.
+     */
+    public boolean usarReplica() {
+        boolean usar = podeUsarReplica();
+        (usar ? leiturasReplica : leiturasPrimario).increment();
+        return usar;
+    }
+
+    /**
+     * Indica se um resultado lido da réplica pode ir para o cache compartilhado: somente se a
+     * réplica já tinha aplicado a última gravação de qualquer sessão. Do contrário um dado
+     * antigo voltaria ao cache logo depois de a gravação tê-lo invalidado.
+     *
+     * @return true se a réplica estava em dia com as gravações desta instância.
+     */
+    public boolean podeCachearDaReplica() {
+        return gravacoesSemLsn.get() == 0 && aplicada(ultimaGravacao.get());
+    }
+
+    /**
+     * Registra a posição do WAL após as gravações confirmadas, na sessão corrente e
+     * globalmente. Se a posição não puder ser lida, a sessão fica no primário pela janela.
+     */
+    public void registrar(@Observes(during = TransactionPhase.AFTER_SUCCESS) AlteracaoEquipamento alteracao) {
+        if (!habilitada) {
+            return;
+        }
+        long lsn;
+        try {
+            lsn = lsnPrimario();
+            ultimaGravacao.accumulateAndGet(lsn, Math::max);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Posição do WAL da gravação não obtida; leituras da sessão seguem para o primário", e);
+            gravacoesSemLsn.incrementAndGet();
+            lsn = Long.MAX_VALUE;
+        }
+        ContextoLeitura contexto = ContextoLeitura.atual();
+        if (contexto != null) {
+            contexto.registrarGravacao(lsn);
+        }
+    }
+
+    private long lsnPrimario() {
+        return ((Number) primario.createNativeQuery(SQL_LSN_PRIMARIO).getSingleResult()).longValue();
+    }
+
+    private boolean podeUsarReplica() {
+        if (!habilitada || txRegistry.getTransactionStatus() != Status.STATUS_NO_TRANSACTION) {
+            return false;
+        }
+        long atraso = atrasoMs;
+        if (atraso < 0 || atraso >= janelaMs()
+                || System.currentTimeMillis() - ultimaSondagem > 2 * INTERVALO_SONDAGEM_MS) {
+            return false;
+        }
+        ContextoLeitura contexto = ContextoLeitura.atual();
+        return contexto == null || aplicada(contexto.getLsnGravacao());
+    }
+
+    /**
+     * Na última sondagem a réplica já tinha aplicado o WAL até {@link #lsnAplicado}; como
+     * ela só avança, o que estava aplicado continua.
+     */
+    private boolean aplicada(long lsn) {
+        return atrasoMs >= 0 && lsn <= lsnAplicado;
+    }
+
+    public boolean isHabilitada() {
+        return habilitada;
+    }
+
+    /** @return O atraso da réplica na última sondagem em ms, ou -1 se indisponível. */
+    public long getAtrasoMs() {
+        return atrasoMs;
+    }
+
+    public long getLeiturasReplica() {
+        return leiturasReplica.sum();
+    }
+
+    public long getLeiturasPrimario() {
+        return leiturasPrimario.sum();
+    }
+}
@@ -0,0 +1,358 @@
+package br.com.skeleton.business.serializacao;
+
+import br.com.skeleton.business.entity.Config;
+import br.com.skeleton.business.entity.Equipamento;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Formato binário compacto de {@link Equipamento} e {@link Config}, usado pela serialização
+ * Java das entidades ({@link java.io.Externalizable}: view state do JSF, sessão replicada ou
+ * passivada) e pelo {@link br.com.skeleton.business.cache.EquipamentoCache}.
+ * <p>
+ * Layout de um equipamento: um byte de versão do formato, uma máscara (varint) com um bit
+ * por campo não nulo e, na ordem da máscara, os campos presentes:
+ * <ul>
+ *   <li>inteiros (ID, versão) em varint;</li>
+ *   <li>textos como comprimento em varint seguido dos bytes UTF-8;</li>
+ *   <li>datas como dia epoch e datas-hora como segundo epoch e nanossegundos, em varint zigzag;</li>
+ *   <li>valor como escala e valor sem escala em varint zigzag; se o valor sem escala não
+ *       couber em um long, o bit {@link #VALOR_GRANDE} indica que ele segue como os bytes
+ *       de {@link BigInteger#toByteArray()}.</li>
+ * </ul>
+ * Um equipamento típico ocupa cerca de 60 bytes.
+ * <p>
+ * Os dados lidos podem vir de fora (view state no cliente, sessão replicada): comprimentos
+ * e quantidades são conferidos com {@link #MAX_BYTES_CAMPO} e, ao decodificar arrays, com
+ * os bytes restantes, antes de qualquer alocação.
+ */
+public final class CodecBinario {
+
+    private static final int FORMATO = 1;
+
+    private static final int ID = 1;
+    private static final int NOME = 1 << 1;
+    private static final int DESCRICAO = 1 << 2;
+    private static final int DATA_CHEGADA = 1 << 3;
+    private static final int VALIDADE = 1 << 4;
+    private static final int VALOR = 1 << 5;
+    private static final int STATUS = 1 << 6;
+    private static final int CRIADO_EM = 1 << 7;
+    private static final int ATUALIZADO_EM = 1 << 8;
+    private static final int VERSAO = 1 << 9;
+    private static final int VALOR_GRANDE = 1 << 10;
+
+    private static final int CONFIG_ID = 1;
+    private static final int CONFIG_MENSAGEM = 1 << 1;
+
+    /** Maior texto ou valor sem escala aceito, em bytes; as colunas têm no máximo 255 caracteres. */
+    static final int MAX_BYTES_CAMPO = 64 * 1024;
+
+    private CodecBinario() {}
+
+    /**
+     * Escreve o equipamento no formato compacto.
+     *
+     * @param out         O destino.
+     * @param equipamento O equipamento. Não pode ser nulo.
+     * @throws IOException Se o destino falhar.
+     */
+    public static void escrever(DataOutput out, Equipamento equipamento) throws IOException {
+        BigDecimal valor = equipamento.getValor();
+        boolean valorGrande = valor != null && valor.unscaledValue().bitLength() > 63;
+        int mascara = (equipamento.getId() != null ? ID : 0)
+                | (equipamento.getNome() != null ? NOME : 0)
+                | (equipamento.getDescricao() != null ? DESCRICAO : 0)
+                | (equipamento.getDatadechegada() != null ? DATA_CHEGADA : 0)
+                | (equipamento.getValidade() != null ? VALIDADE : 0)
+                | (valor != null ? VALOR : 0)
+                | (equipamento.getStatus() != null ? STATUS : 0)
+                | (equipamento.getCreatedAt() != null ? CRIADO_EM : 0)
+                | (equipamento.getUpdatedAt() != null ? ATUALIZADO_EM : 0)
+                | (equipamento.getVersao() != null ? VERSAO : 0)
+                | (valorGrande ? VALOR_GRANDE : 0);
+        out.writeByte(FORMATO);
+        escreverVarLong(out, mascara);
+        if ((mascara & ID) != 0) {
+            escreverVarLong(out, equipamento.getId());
+        }
+        if ((mascara & NOME) != 0) {
+            escreverTexto(out, equipamento.getNome());
+        }
+        if ((mascara & DESCRICAO) != 0) {
+            escreverTexto(out, equipamento.getDescricao());
+        }
+        if ((mascara & DATA_CHEGADA) != 0) {
+            escreverVarLong(out, zigzag(equipamento.getDatadechegada().toEpochDay()));
+        }
+        if ((mascara & VALIDADE) != 0) {
+            escreverVarLong(out, zigzag(equipamento.getValidade().toEpochDay()));
+        }
+        if ((mascara & VALOR) != 0) {
+            escreverVarLong(out, zigzag(valor.scale()));
+            if (valorGrande) {
+                escreverBytes(out, valor.unscaledValue().toByteArray());
+            } else {
+                escreverVarLong(out, zigzag(valor.unscaledValue().longValue()));
+            }
+        }
+        if ((mascara & STATUS) != 0) {
+            escreverTexto(out, equipamento.getStatus());
+        }
+        if ((mascara & CRIADO_EM) != 0) {
+            escreverDataHora(out, equipamento.getCreatedAt());
+        }
+        if ((mascara & ATUALIZADO_EM) != 0) {
+            escreverDataHora(out, equipamento.getUpdatedAt());
+        }
+        if ((mascara & VERSAO) != 0) {
+            escreverVarLong(out, equipamento.getVersao());
+        }
+    }
+
+    /**
+     * Lê um equipamento escrito por {@link #escrever(DataOutput, Equipamento)}. Os campos
+     * ausentes no formato ficam nulos.
+     *
+     * @param in          A origem.
+     * @param equipamento O equipamento a preencher. Não pode ser nulo.
+     * @throws IOException Se a origem falhar ou estiver em outro formato.
+     */
+    public static void ler(DataInput in, Equipamento equipamento) throws IOException {
+        lerFormato(in);
+        long mascara = lerVarLong(in);
+        equipamento.setId((mascara & ID) != 0 ? lerVarLong(in) : null);
+        equipamento.setNome((mascara & NOME) != 0 ? lerTexto(in) : null);
+        equipamento.setDescricao((mascara & DESCRICAO) != 0 ? lerTexto(in) : null);
+        equipamento.setDatadechegada((mascara & DATA_CHEGADA) != 0 ? LocalDate.ofEpochDay(unzigzag(lerVarLong(in))) : null);
+        equipamento.setValidade((mascara & VALIDADE) != 0 ? LocalDate.ofEpochDay(unzigzag(lerVarLong(in))) : null);
+        BigDecimal valor = null;
+        if ((mascara & VALOR) != 0) {
+            int escala = (int) unzigzag(lerVarLong(in));
+            if ((mascara & VALOR_GRANDE) != 0) {
+                byte[] bytes = lerBytes(in);
+                if (bytes.length == 0) {
+                    throw new StreamCorruptedException("Valor sem escala vazio.");
+                }
+                valor = new BigDecimal(new BigInteger(bytes), escala);
+            } else {
+                valor = BigDecimal.valueOf(unzigzag(lerVarLong(in)), escala);
+            }
+        }
+        equipamento.setValor(valor);
+        equipamento.setStatus((mascara & STATUS) != 0 ? lerTexto(in) : null);
+        equipamento.setCreatedAt((mascara & CRIADO_EM) != 0 ? lerDataHora(in) : null);
+        equipamento.setUpdatedAt((mascara & ATUALIZADO_EM) != 0 ? lerDataHora(in) : null);
+        equipamento.setVersao((mascara & VERSAO) != 0 ? lerVarLong(in) : null);
+    }
+
+    /**
+     * Escreve a configuração no formato compacto.
+     *
+     * @param out    O destino.
+     * @param config A configuração. Não pode ser nula.
+     * @throws IOException Se o destino falhar.
+     */
+    public static void escrever(DataOutput out, Config config) throws IOException {
+        int mascara = (config.getId() != null ? CONFIG_ID : 0) | (config.getMensagem() != null ? CONFIG_MENSAGEM : 0);
+        out.writeByte(FORMATO);
+        escreverVarLong(out, mascara);
+        if ((mascara & CONFIG_ID) != 0) {
+            escreverVarLong(out, config.getId());
+        }
+        if ((mascara & CONFIG_MENSAGEM) != 0) {
+            escreverTexto(out, config.getMensagem());
+        }
+    }
+
+    /**
+     * Lê uma configuração escrita por {@link #escrever(DataOutput, Config)}.
+     *
+     * @param in     A origem.
+     * @param config A configuração a preencher. Não pode ser nula.
+     * @throws IOException Se a origem falhar ou estiver em outro formato.
+     */
+    public static void ler(DataInput in, Config config) throws IOException {
+        lerFormato(in);
+        long mascara = lerVarLong(in);
+        config.setId((mascara & CONFIG_ID) != 0 ? lerVarLong(in) : null);
+        config.setMensagem((mascara & CONFIG_MENSAGEM) != 0 ? lerTexto(in) : null);
+    }
+
+    /**
+     * @param equipamento O equipamento. Não pode ser nulo.
+     * @return O equipamento codificado.
+     */
+    public static byte[] codificar(Equipamento equipamento) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try {
+            escrever(new DataOutputStream(bytes), equipamento);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param bytes Um equipamento codificado por {@link #codificar(Equipamento)}.
+     * @return Um novo equipamento com os campos decodificados.
+     */
+    public static Equipamento decodificar(byte[] bytes) {
+        Equipamento equipamento = new Equipamento();
+        try {
+            ler(new EntradaBytes(bytes), equipamento);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return equipamento;
+    }
+
+    /**
+     * @param equipamentos Os equipamentos. A lista e os itens não podem ser nulos.
+     * @return A quantidade seguida de cada equipamento codificado, em um único array.
+     */
+    public static byte[] codificarLista(List<Equipamento> equipamentos) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + 96 * equipamentos.size());
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            escreverVarLong(out, equipamentos.size());
+            for (Equipamento equipamento : equipamentos) {
+                escrever(out, equipamento);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param bytes Uma lista codificada por {@link #codificarLista(List)}.
+     * @return Novos equipamentos com os campos decodificados, na ordem original.
+     */
+    public static List<Equipamento> decodificarLista(byte[] bytes) {
+        EntradaBytes in = new EntradaBytes(bytes);
+        try {
+            // Cada equipamento ocupa ao menos dois bytes (formato e máscara).
+            long quantidade = lerVarLong(in);
+            if (quantidade < 0 || quantidade > in.restantes() / 2) {
+                throw new StreamCorruptedException("Quantidade de equipamentos inválida: " + quantidade);
+            }
+            List<Equipamento> equipamentos = new ArrayList<>((int) quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                Equipamento equipamento = new Equipamento();
+                ler(in, equipamento);
+                equipamentos.add(equipamento);
+            }
+            return equipamentos;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void lerFormato(DataInput in) throws IOException {
+        int formato = in.readUnsignedByte();
+        if (formato != FORMATO) {
+            throw new InvalidObjectException("Formato binário desconhecido: " + formato);
+        }
+    }
+
+    private static void escreverDataHora(DataOutput out, LocalDateTime dataHora) throws IOException {
+        escreverVarLong(out, zigzag(dataHora.toEpochSecond(ZoneOffset.UTC)));
+        escreverVarLong(out, dataHora.getNano());
+    }
+
+    private static LocalDateTime lerDataHora(DataInput in) throws IOException {
+        long segundos = unzigzag(lerVarLong(in));
+        return LocalDateTime.ofEpochSecond(segundos, (int) lerVarLong(in), ZoneOffset.UTC);
+    }
+
+    private static void escreverTexto(DataOutput out, String texto) throws IOException {
+        escreverBytes(out, texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String lerTexto(DataInput in) throws IOException {
+        return new String(lerBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static void escreverBytes(DataOutput out, byte[] bytes) throws IOException {
+        if (bytes.length > MAX_BYTES_CAMPO) {
+            throw new InvalidObjectException("Campo com " + bytes.length + " bytes; o máximo é " + MAX_BYTES_CAMPO);
+        }
+        escreverVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Lê um comprimento e os bytes correspondentes, conferindo o comprimento antes de alocar.
+     */
+    private static byte[] lerBytes(DataInput in) throws IOException {
+        long comprimento = lerVarLong(in);
+        if (comprimento < 0 || comprimento > MAX_BYTES_CAMPO) {
+            throw new StreamCorruptedException("Comprimento de campo inválido: " + comprimento);
+        }
+        if (in instanceof EntradaBytes && comprimento > ((EntradaBytes) in).restantes()) {
+            throw new StreamCorruptedException("Comprimento de campo além do fim dos dados: " + comprimento);
+        }
+        byte[] bytes = new byte[(int) comprimento];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /** Sete bits por byte, o bit mais alto indicando que há continuação. */
+    private static void escreverVarLong(DataOutput out, long valor) throws IOException {
+        while ((valor & ~0x7FL) != 0) {
+            out.writeByte((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        out.writeByte((int) valor);
+    }
+
+    private static long lerVarLong(DataInput in) throws IOException {
+        long valor = 0;
+        for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+            int b = in.readUnsignedByte();
+            valor |= (long) (b & 0x7F) << deslocamento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new InvalidObjectException("Varint com mais de 10 bytes.");
+    }
+
+    /** Mapeia inteiros com sinal para sem sinal, para que valores negativos pequenos fiquem curtos. */
+    private static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    private static long unzigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    /** Entrada sobre um array, que sabe quantos bytes ainda restam. */
+    private static final class EntradaBytes extends DataInputStream {
+
+        EntradaBytes(byte[] bytes) {
+            super(new ByteArrayInputStream(bytes));
+        }
+
+        int restantes() throws IOException {
+            return in.available();
+        }
+    }
+}
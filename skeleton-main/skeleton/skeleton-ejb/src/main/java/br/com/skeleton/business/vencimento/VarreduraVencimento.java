@@ -0,0 +1,187 @@
+package br.com.skeleton.business.vencimento;
+
+import br.com.skeleton.business.entity.VencimentoParticao;
+import br.com.skeleton.business.execucao.ExecutorAplicacao;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Varredura noturna que marca como vencidos os equipamentos ativos com validade passada.
+ * <p>
+ * A faixa de IDs da tabela é dividida em partições, processadas em paralelo por
+ * {@code skeleton.vencimento.paralelismo} (padrão 4) tarefas no {@link ExecutorAplicacao};
+ * cada tarefa pega a próxima partição livre. Dentro da partição, os IDs são percorridos em
+ * blocos de {@code skeleton.vencimento.bloco} (padrão 5000), cada um com um UPDATE em massa
+ * e o checkpoint na mesma transação curta. Como o custo de um bloco é constante, a janela
+ * noturna se mantém aumentando o paralelismo à medida que a tabela cresce.
+ * <p>
+ * Uma varredura interrompida é retomada dos checkpoints ao ser executada de novo para a
+ * mesma data; a última partição é estendida aos equipamentos incluídos desde a primeira
+ * execução. Os timers não são persistentes e rodam em cada instância do servidor; em
+ * cluster, a varredura deve ficar habilitada em só uma delas.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class VarreduraVencimento {
+
+    private static final Logger LOGGER = Logger.getLogger(VarreduraVencimento.class.getName());
+
+    public static final String PROPRIEDADE_PARALELISMO = "skeleton.vencimento.paralelismo";
+    public static final String PROPRIEDADE_BLOCO = "skeleton.vencimento.bloco";
+
+    /** Partições por tarefa paralela, para equilibrar faixas com densidades diferentes de vencidos. */
+    private static final int PARTICOES_POR_TAREFA = 4;
+
+    @EJB
+    private VencimentoGravador gravador;
+
+    @EJB
+    private ExecutorAplicacao executor;
+
+    private final AtomicBoolean executando = new AtomicBoolean();
+
+    private final LongAdder linhasTotal = new LongAdder();
+    private final LongAdder linhasExecucao = new LongAdder();
+    private final AtomicLong idsPendentes = new AtomicLong();
+    private volatile long inicioExecucao;
+    private volatile long fimExecucao;
+    private volatile LocalDate ultimaDataConcluida;
+
+    @Schedule(hour = "2", minute = "0", persistent = false)
+    public void agendada() {
+        executar(LocalDate.now());
+    }
+
+    /**
+     * Executa, ou retoma, a varredura da data, aguardando o fim de todas as partições.
+     *
+     * @param data A data de referência; vencem os equipamentos com validade anterior a ela.
+     * @return A quantidade de equipamentos vencidos nesta execução, ou -1 se outra varredura
+     *         já estava em andamento.
+     */
+    public long executar(LocalDate data) {
+        if (!executando.compareAndSet(false, true)) {
+            LOGGER.warning("Varredura de vencimentos já em andamento; execução ignorada.");
+            return -1;
+        }
+        try {
+            int paralelismo = Math.max(1, Integer.getInteger(PROPRIEDADE_PARALELISMO, 4));
+            int idsPorBloco = Math.max(1, Integer.getInteger(PROPRIEDADE_BLOCO, 5_000));
+            List<VencimentoParticao> particoes = gravador.particoes(data, paralelismo * PARTICOES_POR_TAREFA);
+
+            ConcurrentLinkedQueue<VencimentoParticao> fila = new ConcurrentLinkedQueue<>();
+            long pendentes = 0;
+            for (VencimentoParticao particao : particoes) {
+                if (!particao.isConcluida()) {
+                    fila.add(particao);
+                    pendentes += particao.getIdFim() - particao.getProximoId();
+                }
+            }
+            idsPendentes.set(pendentes);
+            linhasExecucao.reset();
+            inicioExecucao = System.nanoTime();
+            fimExecucao = 0;
+            LOGGER.log(Level.INFO, "Varredura de vencimentos de {0}: {1} partições pendentes, {2} tarefas",
+                    new Object[]{data, fila.size(), paralelismo});
+
+            List<CompletableFuture<Void>> tarefas = new ArrayList<>(paralelismo);
+            for (int i = 0; i < Math.min(paralelismo, fila.size()); i++) {
+                tarefas.add(CompletableFuture.runAsync(() -> consumir(fila, idsPorBloco), executor.executor()));
+            }
+            CompletableFuture.allOf(tarefas.toArray(new CompletableFuture<?>[0])).join();
+
+            fimExecucao = System.nanoTime();
+            ultimaDataConcluida = data;
+            long total = linhasExecucao.sum();
+            LOGGER.log(Level.INFO, "Varredura de vencimentos de {0} concluída: {1} equipamentos em {2} ms",
+                    new Object[]{data, total, Duration.ofNanos(fimExecucao - inicioExecucao).toMillis()});
+            return total;
+        } catch (RuntimeException e) {
+            fimExecucao = System.nanoTime();
+            LOGGER.log(Level.SEVERE, "Varredura de vencimentos de " + data + " interrompida; será retomada na próxima execução", e);
+            throw e;
+        } finally {
+            executando.set(false);
+        }
+    }
+
+    private void consumir(ConcurrentLinkedQueue<VencimentoParticao> fila, int idsPorBloco) {
+        for (VencimentoParticao particao = fila.poll(); particao != null; particao = fila.poll()) {
+            Long particaoId = particao.getId();
+            long proximo = particao.getProximoId();
+            while (proximo < particao.getIdFim()) {
+                int atualizados = executor.comLimiteBanco(() -> gravador.processarBloco(particaoId, idsPorBloco));
+                if (atualizados < 0) {
+                    break;
+                }
+                linhasExecucao.add(atualizados);
+                linhasTotal.add(atualizados);
+                long avanco = Math.min(idsPorBloco, particao.getIdFim() - proximo);
+                proximo += avanco;
+                idsPendentes.addAndGet(-avanco);
+            }
+        }
+    }
+
+    /**
+     * @return true se uma varredura está em andamento.
+     */
+    public boolean isExecutando() {
+        return executando.get();
+    }
+
+    /**
+     * @return Equipamentos vencidos por todas as varreduras desde a inicialização.
+     */
+    public long getLinhasTotal() {
+        return linhasTotal.sum();
+    }
+
+    /**
+     * @return Equipamentos vencidos por segundo na varredura em andamento ou na última.
+     */
+    public double getLinhasPorSegundo() {
+        long inicio = inicioExecucao;
+        if (inicio == 0) {
+            return 0;
+        }
+        long fim = fimExecucao != 0 ? fimExecucao : System.nanoTime();
+        double segundos = Math.max(1, fim - inicio) / 1_000_000_000d;
+        return linhasExecucao.sum() / segundos;
+    }
+
+    /**
+     * @return IDs ainda não percorridos pela varredura em andamento (0 fora dela).
+     */
+    public long getIdsPendentes() {
+        return isExecutando() ? idsPendentes.get() : 0;
+    }
+
+    /**
+     * @return Segundos desde o início do dia da última varredura concluída: equipamentos
+     *         que venceram depois disso ainda aparecem como ativos. -1 se nenhuma varredura
+     *         terminou desde a inicialização.
+     */
+    public long getAtrasoSegundos() {
+        LocalDate data = ultimaDataConcluida;
+        return data == null ? -1 : Duration.between(data.atStartOfDay(), LocalDateTime.now()).getSeconds();
+    }
+}
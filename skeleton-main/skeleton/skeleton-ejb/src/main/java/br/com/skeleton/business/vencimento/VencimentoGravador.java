@@ -0,0 +1,118 @@
+package br.com.skeleton.business.vencimento;
+
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.entity.VencimentoParticao;
+import br.com.skeleton.business.facade.EquipamentoFacade;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grava o progresso da varredura de vencimentos. Cada método roda em uma transação
+ * própria, de modo que o bloco de equipamentos vencidos e o checkpoint da partição
+ * sejam confirmados juntos.
+ */
+@Stateless
+@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+public class VencimentoGravador {
+
+    @PersistenceContext(unitName = "MasterOne")
+    private EntityManager em;
+
+    @EJB
+    private EquipamentoFacade equipamentoFacade;
+
+    /**
+     * Retorna as partições da varredura da data, criando-as na primeira chamada: a faixa
+     * de IDs da tabela é dividida em {@code quantidade} partes iguais. Se a varredura da
+     * data já começou, as partições existentes, com os seus checkpoints, são reutilizadas,
+     * e a última é estendida até o maior ID atual: os equipamentos incluídos depois da
+     * primeira execução também são percorridos.
+     *
+     * @param data       A data de referência; vencem os equipamentos com validade anterior a ela.
+     * @param quantidade O número de partições.
+     * @return As partições da data, vazia se não houver equipamentos.
+     */
+    public List<VencimentoParticao> particoes(LocalDate data, int quantidade) {
+        List<VencimentoParticao> existentes = em.createQuery(
+                        "SELECT p FROM VencimentoParticao p WHERE p.dataReferencia = :data ORDER BY p.idInicio",
+                        VencimentoParticao.class)
+                .setParameter("data", data)
+                .getResultList();
+        Object[] limites = em.createQuery("SELECT MIN(e.id), MAX(e.id) FROM Equipamento e", Object[].class)
+                .getSingleResult();
+        if (!existentes.isEmpty()) {
+            estenderUltima(existentes.get(existentes.size() - 1), (Long) limites[1]);
+            return existentes;
+        }
+        if (limites[0] == null) {
+            return List.of();
+        }
+        long menor = (Long) limites[0];
+        long fim = (Long) limites[1] + 1;
+        long tamanho = Math.max(1, (fim - menor + quantidade - 1) / quantidade);
+        List<VencimentoParticao> particoes = new ArrayList<>(quantidade);
+        for (long inicio = menor; inicio < fim; inicio += tamanho) {
+            VencimentoParticao particao = new VencimentoParticao(data, inicio, Math.min(inicio + tamanho, fim));
+            em.persist(particao);
+            particoes.add(particao);
+        }
+        return particoes;
+    }
+
+    /**
+     * IDs vêm de sequência crescente: os incluídos depois da criação das partições ficam
+     * além do fim da última, que passa a cobri-los (e volta a ser processada, se já havia
+     * terminado).
+     */
+    private static void estenderUltima(VencimentoParticao ultima, Long maiorId) {
+        if (maiorId == null || maiorId < ultima.getIdFim()) {
+            return;
+        }
+        ultima.setIdFim(maiorId + 1);
+        if (ultima.isConcluida()) {
+            ultima.setStatus(VencimentoParticao.PROCESSANDO);
+        }
+    }
+
+    /**
+     * Processa o próximo bloco de até {@code idsPorBloco} IDs da partição: os equipamentos
+     * ativos do bloco com validade vencida passam a {@link Equipamento#STATUS_VENCIDO} em um
+     * UPDATE em massa, e o checkpoint avança para o fim do bloco.
+     *
+     * @param particaoId  O ID da partição.
+     * @param idsPorBloco A largura do bloco em IDs.
+     * @return A quantidade de equipamentos vencidos no bloco, ou -1 se a partição já terminou.
+     */
+    public int processarBloco(Long particaoId, int idsPorBloco) {
+        VencimentoParticao particao = em.find(VencimentoParticao.class, particaoId);
+        if (particao == null || particao.isConcluida()) {
+            return -1;
+        }
+        long de = particao.getProximoId();
+        long ate = Math.min(de + idsPorBloco, particao.getIdFim());
+        // A faixa de ID restringe a leitura à chave primária: o custo de cada bloco não
+        // depende do tamanho da tabela.
+        List<Long> vencidos = em.createQuery("SELECT e.id FROM Equipamento e WHERE e.id >= :de AND e.id < :ate"
+                        + " AND e.status = :ativo AND e.validade < :data", Long.class)
+                .setParameter("de", de)
+                .setParameter("ate", ate)
+                .setParameter("ativo", Equipamento.STATUS_ATIVO)
+                .setParameter("data", particao.getDataReferencia())
+                .getResultList();
+        int atualizados = vencidos.isEmpty()
+                ? 0
+                : equipamentoFacade.patch(vencidos, Map.of("status", Equipamento.STATUS_VENCIDO));
+        particao.setProximoId(ate);
+        particao.setAtualizados(particao.getAtualizados() + atualizados);
+        particao.setStatus(ate >= particao.getIdFim() ? VencimentoParticao.CONCLUIDA : VencimentoParticao.PROCESSANDO);
+        return atualizados;
+    }
+}
@@ -0,0 +1,14 @@
+-- Troca a geração de ID de equipamentos de IDENTITY para uma sequência com
+-- incremento 50, compatível com o allocationSize do otimizador pooled do Hibernate.
+-- Com IDENTITY o Hibernate precisa executar cada INSERT isoladamente para obter o ID.
+
+ALTER TABLE equipamentos ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE equipamentos ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS equipamentos_id_seq;
+
+CREATE SEQUENCE equipamentos_id_seq INCREMENT BY 50 OWNED BY equipamentos.id;
+-- O otimizador pooled trata cada valor da sequência como o topo de um bloco de 50 IDs
+-- ([valor - 49, valor]); o primeiro valor entregue precisa ser ao menos MAX(id) + 50.
+SELECT setval('equipamentos_id_seq', COALESCE((SELECT MAX(id) FROM equipamentos), 0) + 50, false);
+
+ALTER TABLE equipamentos ALTER COLUMN id SET DEFAULT nextval('equipamentos_id_seq');
@@ -0,0 +1,24 @@
+-- Estado e relatório de erros das importações em massa de equipamentos.
+
+CREATE TABLE IF NOT EXISTS importacao_jobs (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    arquivo          VARCHAR(1024) NOT NULL,
+    status           VARCHAR(20)   NOT NULL,
+    ultima_linha     BIGINT        NOT NULL DEFAULT 0,
+    total_importados BIGINT        NOT NULL DEFAULT 0,
+    total_erros      BIGINT        NOT NULL DEFAULT 0,
+    mensagem_erro    VARCHAR(1000),
+    created_at       TIMESTAMP     NOT NULL,
+    updated_at       TIMESTAMP     NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS importacao_erros_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS importacao_erros (
+    id       BIGINT       PRIMARY KEY DEFAULT nextval('importacao_erros_id_seq'),
+    job_id   BIGINT       NOT NULL REFERENCES importacao_jobs (id) ON DELETE CASCADE,
+    linha    BIGINT       NOT NULL,
+    mensagem VARCHAR(500) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_importacao_erros_job_linha ON importacao_erros (job_id, linha);
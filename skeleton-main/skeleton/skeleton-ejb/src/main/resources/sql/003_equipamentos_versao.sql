@@ -0,0 +1,3 @@
+-- Coluna de versão usada pelo controle de concorrência otimista (@Version) de Equipamento.
+
+ALTER TABLE equipamentos ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
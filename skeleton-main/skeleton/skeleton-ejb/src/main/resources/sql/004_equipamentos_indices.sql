@@ -0,0 +1,25 @@
+-- Índices das consultas por status, validade e datas de controle de equipamentos.
+-- CONCURRENTLY evita bloquear escritas durante a criação; não pode rodar dentro de
+-- uma transação, então cada comando deve ser executado isoladamente (autocommit).
+
+-- Paginação por keyset em ordem de criação/atualização e findCreatedSince.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_equipamentos_created_at_id
+    ON equipamentos (created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_equipamentos_updated_at_id
+    ON equipamentos (updated_at, id);
+
+-- findByStatus e filtros por status com intervalo de validade.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_equipamentos_status_validade
+    ON equipamentos (status, validade, id);
+
+-- findExpiringBetween: só os equipamentos ativos, menor que o índice completo. O índice
+-- (status, validade, id) também atende à consulta; o planejador escolhe pelo custo.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_equipamentos_ativos_validade
+    ON equipamentos (validade, id)
+    WHERE status = 'ativo';
+
+ANALYZE equipamentos;
+
+-- Os planos de findPage, count, findExpiringBetween e findCreatedSince sobre estes índices
+-- são conferidos por EquipamentoIndicesTest (src/test), num PostgreSQL embutido.
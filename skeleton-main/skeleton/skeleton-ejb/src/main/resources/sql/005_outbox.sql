@@ -0,0 +1,21 @@
+-- Outbox transacional: mensagens gravadas junto com os dados de negócio e entregues
+-- depois pelo OutboxDespachante.
+
+CREATE TABLE IF NOT EXISTS outbox_mensagens (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    chave_idempotencia VARCHAR(36)   NOT NULL UNIQUE,
+    tipo               VARCHAR(50)   NOT NULL,
+    carga              TEXT          NOT NULL,
+    status             VARCHAR(20)   NOT NULL,
+    tentativas         INTEGER       NOT NULL DEFAULT 0,
+    proxima_tentativa  TIMESTAMP     NOT NULL,
+    ultimo_erro        VARCHAR(1000),
+    created_at         TIMESTAMP     NOT NULL,
+    entregue_em        TIMESTAMP
+);
+
+-- Só as pendentes são consultadas pelo despachante; o índice parcial continua pequeno
+-- mesmo com o histórico de mensagens entregues crescendo.
+CREATE INDEX IF NOT EXISTS idx_outbox_mensagens_pendentes
+    ON outbox_mensagens (proxima_tentativa, id)
+    WHERE status = 'pendente';
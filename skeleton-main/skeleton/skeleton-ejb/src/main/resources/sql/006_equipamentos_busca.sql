@@ -0,0 +1,29 @@
+-- Busca textual e por similaridade em nome e descrição (EquipamentoFacade.search).
+-- Requer PostgreSQL 12+ (colunas geradas) e a extensão pg_trgm.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- tsvector mantido pelo próprio banco a cada INSERT/UPDATE; o nome pesa mais que a descrição
+-- na ordenação por relevância. Não é mapeado na entidade.
+ALTER TABLE equipamentos
+    ADD COLUMN IF NOT EXISTS busca tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce(nome, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(descricao, '')), 'B')
+    ) STORED;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_equipamentos_busca
+    ON equipamentos USING GIN (busca);
+
+-- Trigramas de lower(nome): atendem ao prefixo (LIKE 'abc%'), à similaridade (%) da busca
+-- e também ao filtro por nome da listagem (lower(nome) LIKE '%abc%').
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_equipamentos_nome_trgm
+    ON equipamentos USING GIN (lower(nome) gin_trgm_ops);
+
+ANALYZE equipamentos;
+
+-- Conferência do plano (esperado: BitmapOr sobre idx_equipamentos_busca e idx_equipamentos_nome_trgm):
+-- EXPLAIN (ANALYZE, BUFFERS)
+-- SELECT e.id FROM equipamentos e, websearch_to_tsquery('portuguese', 'bomba') q
+--  WHERE e.busca @@ q OR lower(e.nome) LIKE 'bomba%' OR lower(e.nome) % 'bomba'
+--  ORDER BY ts_rank_cd(e.busca, q) + similarity(lower(e.nome), 'bomba') DESC, e.id LIMIT 20;
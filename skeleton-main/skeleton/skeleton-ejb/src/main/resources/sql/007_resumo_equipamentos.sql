@@ -0,0 +1,17 @@
+-- Resumo materializado dos relatórios (ResumoEquipamentos): quantidade e valor total por
+-- status e mês de validade. Só é mantido com -Dskeleton.relatorios.resumos=true.
+
+CREATE TABLE IF NOT EXISTS resumo_equipamentos (
+    status       VARCHAR(20)    NOT NULL,
+    mes_validade DATE           NOT NULL,
+    quantidade   BIGINT         NOT NULL,
+    valor_total  NUMERIC(18, 2) NOT NULL,
+    PRIMARY KEY (status, mes_validade)
+);
+
+-- Carga inicial (equivale a ResumoEquipamentos.reconstruir()).
+INSERT INTO resumo_equipamentos (status, mes_validade, quantidade, valor_total)
+SELECT status, CAST(date_trunc('month', validade) AS DATE), COUNT(*), SUM(valor)
+  FROM equipamentos
+ GROUP BY 1, 2
+ON CONFLICT (status, mes_validade) DO NOTHING;
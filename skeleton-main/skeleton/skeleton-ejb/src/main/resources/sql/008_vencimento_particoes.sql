@@ -0,0 +1,14 @@
+-- Checkpoints da varredura de vencimentos (VarreduraVencimento): uma linha por faixa de IDs
+-- e data de referência.
+
+CREATE TABLE IF NOT EXISTS vencimento_particoes (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    data_referencia DATE        NOT NULL,
+    id_inicio       BIGINT      NOT NULL,
+    id_fim          BIGINT      NOT NULL,
+    proximo_id      BIGINT      NOT NULL,
+    atualizados     BIGINT      NOT NULL DEFAULT 0,
+    status          VARCHAR(20) NOT NULL,
+    updated_at      TIMESTAMP   NOT NULL,
+    CONSTRAINT uk_vencimento_particoes_data_inicio UNIQUE (data_referencia, id_inicio)
+);
@@ -0,0 +1,57 @@
+-- Arquivo de equipamentos (ArquivamentoEquipamentos): os equipamentos vencidos ou inativos
+-- há mais de skeleton.arquivamento.dias saem da tabela equipamentos para equipamentos_arquivo,
+-- particionada por ano de chegada. A tabela quente fica só com as linhas em uso, e as
+-- consultas da aplicação, que leem apenas equipamentos, não tocam no arquivo.
+-- Requer PostgreSQL 11+ (tabelas particionadas com chave primária).
+
+CREATE TABLE IF NOT EXISTS equipamentos_arquivo (
+    id              BIGINT         NOT NULL,
+    nome            VARCHAR(255)   NOT NULL,
+    descricao       VARCHAR(255)   NOT NULL,
+    data_de_chegada DATE           NOT NULL,
+    validade        DATE           NOT NULL,
+    valor           NUMERIC(10, 2) NOT NULL,
+    status          VARCHAR(20)    NOT NULL,
+    created_at      TIMESTAMP      NOT NULL,
+    updated_at      TIMESTAMP      NOT NULL,
+    versao          BIGINT         NOT NULL,
+    arquivado_em    TIMESTAMP      NOT NULL DEFAULT now(),
+    -- A chave de partição precisa fazer parte da chave primária.
+    CONSTRAINT pk_equipamentos_arquivo PRIMARY KEY (id, data_de_chegada)
+) PARTITION BY RANGE (data_de_chegada);
+
+-- Partições anuais. O job cria a partição do ano que faltar antes de mover cada bloco;
+-- estas cobrem os anos já presentes na tabela.
+DO $$
+DECLARE
+    ano INT;
+BEGIN
+    FOR ano IN
+        SELECT DISTINCT extract(YEAR FROM data_de_chegada)::INT FROM equipamentos
+    LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS equipamentos_arquivo_%s PARTITION OF equipamentos_arquivo'
+                || ' FOR VALUES FROM (%L) TO (%L)',
+            ano, make_date(ano, 1, 1), make_date(ano + 1, 1, 1));
+    END LOOP;
+END $$;
+
+-- Candidatos ao arquivamento: o job percorre só este índice parcial, pequeno em relação à tabela.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_equipamentos_arquivaveis
+    ON equipamentos (updated_at, id)
+    WHERE lower(status) IN ('vencido', 'inativo');
+
+-- Equipamentos em uso e arquivados juntos (entidade EquipamentoHistorico). Filtros por
+-- data de chegada chegam às partições do arquivo, que são podadas pelo planejador.
+CREATE OR REPLACE VIEW equipamentos_historico AS
+SELECT id, nome, descricao, data_de_chegada, validade, valor, status, created_at, updated_at,
+       FALSE AS arquivado
+  FROM equipamentos
+UNION ALL
+SELECT id, nome, descricao, data_de_chegada, validade, valor, status, created_at, updated_at,
+       TRUE AS arquivado
+  FROM equipamentos_arquivo;
+
+-- Conferência da poda (esperado: só equipamentos_arquivo_2020 no plano do ramo do arquivo):
+-- EXPLAIN SELECT count(*) FROM equipamentos_historico
+--  WHERE data_de_chegada >= DATE '2020-01-01' AND data_de_chegada < DATE '2021-01-01';
@@ -0,0 +1,27 @@
+-- Status sempre em minúsculas. A tela gravava "Ativo"/"Inativo", que as consultas por
+-- igualdade (status = 'ativo'), o índice parcial de sql/004 e a varredura de vencimentos
+-- não encontravam. A aplicação passa a normalizar o status ao gravar
+-- (Equipamento.normalizarStatus); aqui as linhas existentes são corrigidas.
+
+UPDATE equipamentos SET status = lower(status) WHERE status <> lower(status);
+UPDATE equipamentos_arquivo SET status = lower(status) WHERE status <> lower(status);
+
+-- Impede que um status fora do padrão volte a ser gravado por outro caminho.
+ALTER TABLE equipamentos DROP CONSTRAINT IF EXISTS ck_equipamentos_status_minusculo;
+ALTER TABLE equipamentos ADD CONSTRAINT ck_equipamentos_status_minusculo
+    CHECK (status = lower(status)) NOT VALID;
+ALTER TABLE equipamentos VALIDATE CONSTRAINT ck_equipamentos_status_minusculo;
+
+-- Os resumos agrupavam "Ativo" e "ativo" separadamente: recarga como em sql/007.
+DELETE FROM resumo_equipamentos;
+INSERT INTO resumo_equipamentos (status, mes_validade, quantidade, valor_total)
+SELECT status, CAST(date_trunc('month', validade) AS DATE), COUNT(*), SUM(valor)
+  FROM equipamentos
+ GROUP BY 1, 2;
+
+-- Com o status normalizado, o índice dos arquiváveis usa a mesma igualdade das demais
+-- consultas (ArquivamentoGravador), sem lower().
+DROP INDEX CONCURRENTLY IF EXISTS idx_equipamentos_arquivaveis;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_equipamentos_arquivaveis
+    ON equipamentos (updated_at, id)
+    WHERE status IN ('vencido', 'inativo');
@@ -0,0 +1,164 @@
+package br.com.skeleton.business;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PostgreSQL embutido compartilhado pelos testes. Cada classe de teste cria o seu próprio
+ * banco com {@link #novoBanco()}, com a tabela equipamentos no formato anterior às
+ * migrações de sql/, e aplica as migrações que precisar com {@link #executarScript}.
+ */
+public final class BancoTeste {
+
+    /** A tabela equipamentos como existia antes de sql/001 (ID por IDENTITY, sem versão). */
+    private static final String TABELA_EQUIPAMENTOS =
+            "CREATE TABLE equipamentos ("
+            + " id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+            + " nome VARCHAR(255) NOT NULL,"
+            + " descricao VARCHAR(255) NOT NULL,"
+            + " data_de_chegada DATE NOT NULL,"
+            + " validade DATE NOT NULL,"
+            + " valor NUMERIC(10, 2) NOT NULL,"
+            + " status VARCHAR(20) NOT NULL DEFAULT 'ativo',"
+            + " created_at TIMESTAMP NOT NULL,"
+            + " updated_at TIMESTAMP NOT NULL)";
+
+    private static final AtomicInteger BANCOS = new AtomicInteger();
+    private static EmbeddedPostgres servidor;
+
+    private final String url;
+
+    private BancoTeste(String url) {
+        this.url = url;
+    }
+
+    /**
+     * Cria um banco vazio, só com a tabela equipamentos, no servidor compartilhado.
+     */
+    public static synchronized BancoTeste novoBanco() throws SQLException {
+        if (servidor == null) {
+            try {
+                servidor = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    servidor.close();
+                } catch (IOException e) {
+                    // o processo já está terminando
+                }
+            }));
+        }
+        String nome = "teste_" + BANCOS.incrementAndGet();
+        try (Connection conexao = servidor.getPostgresDatabase().getConnection();
+             Statement comando = conexao.createStatement()) {
+            comando.execute("CREATE DATABASE " + nome);
+        }
+        BancoTeste banco = new BancoTeste(servidor.getJdbcUrl("postgres", nome));
+        banco.executar(TABELA_EQUIPAMENTOS);
+        return banco;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getUsuario() {
+        return "postgres";
+    }
+
+    /** @return Uma conexão nova, em autocommit. */
+    public Connection conectar() throws SQLException {
+        return DriverManager.getConnection(url, getUsuario(), "");
+    }
+
+    public void executar(String sql) throws SQLException {
+        try (Connection conexao = conectar(); Statement comando = conexao.createStatement()) {
+            comando.execute(sql);
+        }
+    }
+
+    public long consultarLong(String sql) throws SQLException {
+        try (Connection conexao = conectar();
+             Statement comando = conexao.createStatement();
+             ResultSet resultado = comando.executeQuery(sql)) {
+            resultado.next();
+            return resultado.getLong(1);
+        }
+    }
+
+    /**
+     * Executa um script de sql/ em autocommit, um comando por vez, como exigem os
+     * CREATE INDEX CONCURRENTLY.
+     *
+     * @param script O nome do arquivo em sql/, por exemplo {@code 001_equipamentos_id_sequence.sql}.
+     */
+    public void executarScript(String script) throws SQLException {
+        for (String sql : comandos(ler("sql/" + script))) {
+            executar(sql);
+        }
+    }
+
+    /**
+     * Insere equipamentos com SQL direto, com validades a partir de hoje e status alternando
+     * entre ativo e inativo, a menos que outro seja informado.
+     */
+    public void inserirEquipamentos(int quantidade, String status) throws SQLException {
+        executar("INSERT INTO equipamentos (nome, descricao, data_de_chegada, validade, valor, status,"
+                + " created_at, updated_at)"
+                + " SELECT 'equipamento ' || n, 'descrição ' || n, CURRENT_DATE - (n % 3000),"
+                + " CURRENT_DATE + (n % 730), (n % 1000) + 0.5,"
+                + (status != null ? " '" + status + "'" : " CASE WHEN n % 2 = 0 THEN 'ativo' ELSE 'inativo' END")
+                + ", now() - (n || ' minutes')::interval, now()"
+                + " FROM generate_series(1, " + quantidade + ") AS n");
+    }
+
+    private static String ler(String recurso) {
+        try (InputStream entrada = BancoTeste.class.getClassLoader().getResourceAsStream(recurso)) {
+            if (entrada == null) {
+                throw new IllegalArgumentException("Script não encontrado: " + recurso);
+            }
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Separa os comandos pelos ';' de fim de linha, mantendo inteiros os blocos entre $$. */
+    static List<String> comandos(String script) {
+        List<String> comandos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean emBloco = false;
+        for (String linha : script.split("\n")) {
+            String limpa = linha.strip();
+            if (!emBloco && (limpa.isEmpty() || limpa.startsWith("--"))) {
+                continue;
+            }
+            atual.append(linha).append('\n');
+            int cifroes = linha.split("\\$\\$", -1).length - 1;
+            if (cifroes % 2 == 1) {
+                emBloco = !emBloco;
+            }
+            if (!emBloco && limpa.endsWith(";")) {
+                comandos.add(atual.toString().strip());
+                atual.setLength(0);
+            }
+        }
+        if (atual.toString().strip().length() > 0) {
+            comandos.add(atual.toString().strip());
+        }
+        return comandos;
+    }
+}
@@ -0,0 +1,187 @@
+package br.com.skeleton.business.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.facade.EquipamentoFiltro;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Leituras concorrentes com um commit: nenhuma leitura anterior ao commit pode ficar no cache.
+ */
+public class EquipamentoCacheTest {
+
+    private static final Long ID = 7L;
+
+    private EquipamentoCache cache;
+    private final List<Synchronization> sincronizacoes = new ArrayList<>();
+
+    @Before
+    public void criarCache() throws Exception {
+        cache = new EquipamentoCache();
+        // Transação sempre ativa; as sincronizações registradas são disparadas pelo teste.
+        TransactionSynchronizationRegistry registro = (TransactionSynchronizationRegistry) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] {TransactionSynchronizationRegistry.class},
+                (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "getTransactionStatus":
+                            return Status.STATUS_ACTIVE;
+                        case "registerInterposedSynchronization":
+                            synchronized (sincronizacoes) {
+                                sincronizacoes.add((Synchronization) args[0]);
+                            }
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(metodo.getName());
+                    }
+                });
+        Field campo = EquipamentoCache.class.getDeclaredField("txRegistry");
+        campo.setAccessible(true);
+        campo.set(cache, registro);
+    }
+
+    @Test
+    public void leituraAnteriorAoCommitArmazenadaDepoisDeleEDescartada() {
+        Equipamento antigo = equipamento(1);
+
+        cache.invalidarNaTransacao(List.of(ID));
+        long geracao = cache.geracao(ID);     // leitura começa: o commit ainda não aconteceu
+        commit();
+        cache.putEquipamento(antigo, geracao);  // e termina depois do commit
+
+        assertNull(cache.getEquipamento(ID));
+    }
+
+    @Test
+    public void leituraAnteriorAoCommitArmazenadaAntesDeleERemovida() {
+        Equipamento antigo = equipamento(1);
+
+        cache.invalidarNaTransacao(List.of(ID));
+        cache.putEquipamento(antigo, cache.geracao(ID));
+        commit();
+
+        assertNull(cache.getEquipamento(ID));
+    }
+
+    @Test
+    public void leituraPosteriorAoCommitEArmazenada() {
+        cache.invalidarNaTransacao(List.of(ID));
+        commit();
+        cache.putEquipamento(equipamento(2), cache.geracao(ID));
+
+        assertEquals(Long.valueOf(2), cache.getEquipamento(ID).getVersao());
+    }
+
+    @Test
+    public void consultaAnteriorAoCommitEDescartada() {
+        List<Object> chave = List.of("findAll");
+
+        cache.invalidarNaTransacao(List.of(ID));
+        long geracao = cache.geracaoConsultas();
+        commit();
+        cache.putConsulta(chave, List.of(equipamento(1)), geracao);
+        cache.putContagem(new EquipamentoFiltro(), 1, geracao);
+
+        assertNull(cache.getConsulta(chave));
+        assertNull(cache.getContagem(new EquipamentoFiltro()));
+    }
+
+    /**
+     * Leitores repovoam o cache a partir de um "banco" enquanto um escritor grava novas
+     * versões. Ao final, o cache vazio ou com a última versão: nunca com uma anterior.
+     */
+    @Test
+    public void leitoresConcorrentesNaoDeixamVersaoObsoleta() throws Exception {
+        AtomicReference<Equipamento> banco = new AtomicReference<>(equipamento(0));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int rodada = 0; rodada < 200; rodada++) {
+                AtomicBoolean escrevendo = new AtomicBoolean(true);
+                CountDownLatch largada = new CountDownLatch(1);
+                List<Future<?>> leitores = new ArrayList<>();
+                for (int i = 0; i < 3; i++) {
+                    leitores.add(executor.submit(() -> {
+                        largada.await();
+                        do {
+                            if (cache.getEquipamento(ID) == null) {
+                                long geracao = cache.geracao(ID);
+                                Equipamento lido = new Equipamento(banco.get());
+                                Thread.yield();
+                                cache.putEquipamento(lido, geracao);
+                            }
+                        } while (escrevendo.get());
+                        return null;
+                    }));
+                }
+                largada.countDown();
+                for (int versao = 1; versao <= 20; versao++) {
+                    cache.invalidarNaTransacao(List.of(ID));
+                    banco.set(equipamento(banco.get().getVersao() + 1));
+                    commit();
+                }
+                escrevendo.set(false);
+                for (Future<?> leitor : leitores) {
+                    leitor.get(10, TimeUnit.SECONDS);
+                }
+
+                Equipamento emCache = cache.getEquipamento(ID);
+                if (emCache != null) {
+                    assertEquals("rodada " + rodada, banco.get().getVersao(), emCache.getVersao());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(sincronizacoes.isEmpty());
+    }
+
+    @Test
+    public void invalidarTudoDescartaLeiturasEmAndamento() {
+        long geracao = cache.geracao(ID);
+        cache.invalidarTudo();
+        cache.putEquipamento(equipamento(1), geracao);
+        assertNull(cache.getEquipamento(ID));
+
+        cache.putEquipamento(equipamento(1), cache.geracao(ID));
+        assertNotNull(cache.getEquipamento(ID));
+    }
+
+    private void commit() {
+        List<Synchronization> pendentes;
+        synchronized (sincronizacoes) {
+            pendentes = new ArrayList<>(sincronizacoes);
+            sincronizacoes.clear();
+        }
+        for (Synchronization sincronizacao : pendentes) {
+            sincronizacao.afterCompletion(Status.STATUS_COMMITTED);
+        }
+    }
+
+    private static Equipamento equipamento(long versao) {
+        Equipamento equipamento = new Equipamento("bomba", "versão " + versao, LocalDate.of(2024, 1, 1),
+                LocalDate.of(2030, 1, 1), new BigDecimal("10.00"), Equipamento.STATUS_ATIVO);
+        equipamento.setId(ID);
+        equipamento.setVersao(versao);
+        return equipamento;
+    }
+}
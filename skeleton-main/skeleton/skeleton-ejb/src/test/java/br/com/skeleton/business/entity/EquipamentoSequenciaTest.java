@@ -0,0 +1,79 @@
+package br.com.skeleton.business.entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import br.com.skeleton.business.BancoTeste;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.Test;
+
+/**
+ * sql/001 aplicado sobre uma tabela com dados: os blocos de 50 IDs que o otimizador pooled
+ * do Hibernate tira da sequência não podem repetir IDs existentes.
+ */
+public class EquipamentoSequenciaTest {
+
+    private static final int EXISTENTES = 120;
+
+    @Test
+    public void insereDepoisDaMigracaoSemRepetirIds() throws Exception {
+        BancoTeste banco = BancoTeste.novoBanco();
+        banco.inserirEquipamentos(EXISTENTES, null);
+        banco.executarScript("001_equipamentos_id_sequence.sql");
+        banco.executarScript("003_equipamentos_versao.sql");
+
+        List<Long> ids = new ArrayList<>();
+        try (SessionFactory fabrica = fabrica(banco); Session sessao = fabrica.openSession()) {
+            Transaction transacao = sessao.beginTransaction();
+            for (int i = 0; i < 60; i++) {
+                Equipamento equipamento = new Equipamento("novo " + i, "depois da migração",
+                        LocalDate.now(), LocalDate.now().plusDays(30), new BigDecimal("10.00"), Equipamento.STATUS_ATIVO);
+                sessao.persist(equipamento);
+                ids.add(equipamento.getId());
+            }
+            transacao.commit();
+        }
+
+        Set<Long> distintos = new HashSet<>(ids);
+        assertEquals(ids.size(), distintos.size());
+        assertTrue("IDs gerados devem vir depois dos existentes: " + ids,
+                ids.stream().allMatch(id -> id > EXISTENTES));
+        assertEquals(EXISTENTES + 60, banco.consultarLong("SELECT count(*) FROM equipamentos"));
+    }
+
+    @Test
+    public void tabelaVaziaComecaNoId1() throws Exception {
+        BancoTeste banco = BancoTeste.novoBanco();
+        banco.executarScript("001_equipamentos_id_sequence.sql");
+        banco.executarScript("003_equipamentos_versao.sql");
+
+        try (SessionFactory fabrica = fabrica(banco); Session sessao = fabrica.openSession()) {
+            Transaction transacao = sessao.beginTransaction();
+            Equipamento equipamento = new Equipamento("primeiro", "tabela vazia",
+                    LocalDate.now(), LocalDate.now().plusDays(30), new BigDecimal("10.00"), Equipamento.STATUS_ATIVO);
+            sessao.persist(equipamento);
+            transacao.commit();
+            assertEquals(Long.valueOf(1), equipamento.getId());
+        }
+    }
+
+    private static SessionFactory fabrica(BancoTeste banco) {
+        return new Configuration()
+                .addAnnotatedClass(Equipamento.class)
+                .setProperty(AvailableSettings.URL, banco.getUrl())
+                .setProperty(AvailableSettings.USER, banco.getUsuario())
+                .setProperty(AvailableSettings.PASS, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "none")
+                .buildSessionFactory();
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.skeleton.business.entity;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import br.com.skeleton.business.BancoTeste;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Status gravado em minúsculas: sql/010 corrige as linhas existentes e a entidade
+ * normaliza o que chega da tela ("Ativo", "Inativo").
+ */
+public class EquipamentoStatusTest {
+
+    private static BancoTeste banco;
+
+    @BeforeClass
+    public static void migrar() throws Exception {
+        banco = BancoTeste.novoBanco();
+        banco.inserirEquipamentos(10, "Ativo");
+        banco.inserirEquipamentos(5, "Inativo");
+        banco.inserirEquipamentos(3, Equipamento.STATUS_ATIVO);
+        for (String script : new String[] {"001_equipamentos_id_sequence.sql", "003_equipamentos_versao.sql",
+                "004_equipamentos_indices.sql", "007_resumo_equipamentos.sql", "009_equipamentos_arquivo.sql",
+                "010_equipamentos_status.sql"}) {
+            banco.executarScript(script);
+        }
+    }
+
+    @Test
+    public void migracaoNormalizaLinhasEResumos() throws Exception {
+        assertEquals(13, banco.consultarLong("SELECT count(*) FROM equipamentos WHERE status = 'ativo'"));
+        assertEquals(5, banco.consultarLong("SELECT count(*) FROM equipamentos WHERE status = 'inativo'"));
+        assertEquals(13, banco.consultarLong("SELECT SUM(quantidade) FROM resumo_equipamentos WHERE status = 'ativo'"));
+        assertEquals(0, banco.consultarLong("SELECT count(*) FROM resumo_equipamentos WHERE status <> lower(status)"));
+        assertEquals(1, banco.consultarLong("SELECT count(*) FROM pg_indexes WHERE indexname = 'idx_equipamentos_arquivaveis'"
+                + " AND indexdef NOT LIKE '%lower%'"));
+    }
+
+    @Test
+    public void statusForaDoPadraoERejeitadoPeloBanco() throws Exception {
+        try {
+            banco.executar("UPDATE equipamentos SET status = 'Vencido' WHERE id = (SELECT MIN(id) FROM equipamentos)");
+            fail("O banco aceitou status com maiúsculas.");
+        } catch (SQLException e) {
+            assertEquals("23514", e.getSQLState());
+        }
+    }
+
+    @Test
+    public void statusDaTelaEGravadoEmMinusculas() throws Exception {
+        try (SessionFactory fabrica = fabrica(); Session sessao = fabrica.openSession()) {
+            Transaction transacao = sessao.beginTransaction();
+            Equipamento equipamento = new Equipamento("bomba", "da tela", LocalDate.now(),
+                    LocalDate.now().plusDays(30), new BigDecimal("10.00"), " Inativo ");
+            sessao.persist(equipamento);
+            equipamento.setStatus("Ativo");
+            transacao.commit();
+
+            assertEquals(Equipamento.STATUS_ATIVO, equipamento.getStatus());
+            assertEquals(Equipamento.STATUS_ATIVO, sessao.createQuery(
+                    "SELECT e.status FROM Equipamento e WHERE e.id = :id", String.class)
+                    .setParameter("id", equipamento.getId())
+                    .getSingleResult());
+        }
+    }
+
+    private static SessionFactory fabrica() {
+        return new Configuration()
+                .addAnnotatedClass(Equipamento.class)
+                .setProperty(AvailableSettings.URL, banco.getUrl())
+                .setProperty(AvailableSettings.USER, banco.getUsuario())
+                .setProperty(AvailableSettings.PASS, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "none")
+                .buildSessionFactory();
+    }
+}
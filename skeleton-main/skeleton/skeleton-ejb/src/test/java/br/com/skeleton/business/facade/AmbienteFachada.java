@@ -0,0 +1,205 @@
+package br.com.skeleton.business.facade;
+
+import br.com.skeleton.business.BancoTeste;
+import br.com.skeleton.business.alteracoes.AlteracaoEquipamento;
+import br.com.skeleton.business.cache.EquipamentoCache;
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.relatorio.ResumoEquipamentos;
+import br.com.skeleton.business.replica.RoteadorLeitura;
+import jakarta.enterprise.event.Event;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+/**
+ * A fachada de equipamentos fora do container, sobre um {@link BancoTeste}, com as
+ * dependências injetadas por reflexão (como em AmbienteBenchmark) e sem transação JTA.
+ * <p>
+ * As conexões registram o plano (EXPLAIN, com os mesmos parâmetros) de cada SELECT
+ * antes de executá-lo, para os testes conferirem os índices usados pelas consultas reais.
+ */
+final class AmbienteFachada implements AutoCloseable {
+
+    private final List<String> planos = Collections.synchronizedList(new ArrayList<>());
+    private final SessionFactory fabrica;
+    private final EntityManager em;
+    private final EquipamentoFacadeJpa facade;
+
+    AmbienteFachada(BancoTeste banco) {
+        Configuration configuracao = new Configuration()
+                .addAnnotatedClass(Equipamento.class)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "none");
+        configuracao.getProperties().put(AvailableSettings.CONNECTION_PROVIDER, new ConexoesComPlano(banco, planos));
+        this.fabrica = configuracao.buildSessionFactory();
+        this.em = fabrica.createEntityManager();
+
+        EquipamentoCache cache = new EquipamentoCache();
+        injetar(cache, "txRegistry", semTransacao());
+        ResumoEquipamentos resumo = new ResumoEquipamentos();
+        injetar(resumo, "em", em);
+        this.facade = new EquipamentoFacadeJpa();
+        injetar(facade, "em", em);
+        injetar(facade, "emLeitura", em);
+        injetar(facade, "roteador", new RoteadorLeitura());
+        injetar(facade, "cache", cache);
+        injetar(facade, "resumo", resumo);
+        injetar(facade, "alteracoes", semObservadores());
+    }
+
+    EquipamentoFacadeJpa getFacade() {
+        return facade;
+    }
+
+    /**
+     * @return O EntityManager da fachada, para os testes que precisam de transação local.
+     */
+    EntityManager getEm() {
+        return em;
+    }
+
+    /**
+     * @return Os planos dos SELECTs executados desde a última chamada.
+     */
+    List<String> planos() {
+        synchronized (planos) {
+            List<String> copia = new ArrayList<>(planos);
+            planos.clear();
+            return copia;
+        }
+    }
+
+    @Override
+    public void close() {
+        em.close();
+        fabrica.close();
+    }
+
+    static void injetar(Object alvo, String campo, Object valor) {
+        try {
+            Field field = alvo.getClass().getDeclaredField(campo);
+            field.setAccessible(true);
+            field.set(alvo, valor);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Não foi possível injetar " + campo + " em " + alvo.getClass().getName(), e);
+        }
+    }
+
+    private static TransactionSynchronizationRegistry semTransacao() {
+        return (TransactionSynchronizationRegistry) Proxy.newProxyInstance(AmbienteFachada.class.getClassLoader(),
+                new Class<?>[] {TransactionSynchronizationRegistry.class}, (proxy, metodo, args) -> {
+                    if ("getTransactionStatus".equals(metodo.getName())) {
+                        return Status.STATUS_NO_TRANSACTION;
+                    }
+                    throw new IllegalStateException("Sem transação JTA.");
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Event<AlteracaoEquipamento> semObservadores() {
+        return (Event<AlteracaoEquipamento>) Proxy.newProxyInstance(AmbienteFachada.class.getClassLoader(),
+                new Class<?>[] {Event.class}, (proxy, metodo, args) -> null);
+    }
+
+    /**
+     * Conexões do {@link BancoTeste} cujos PreparedStatements executam EXPLAIN, com os
+     * mesmos parâmetros, antes de cada SELECT.
+     */
+    private static final class ConexoesComPlano implements ConnectionProvider {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient BancoTeste banco;
+        private final transient List<String> planos;
+
+        ConexoesComPlano(BancoTeste banco, List<String> planos) {
+            this.banco = banco;
+            this.planos = planos;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection real = banco.conectar();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                    (proxy, metodo, args) -> {
+                        Object resultado = invocar(metodo, real, args);
+                        if ("prepareStatement".equals(metodo.getName())) {
+                            return comPlano(real, (String) args[0], (PreparedStatement) resultado);
+                        }
+                        return resultado;
+                    });
+        }
+
+        private PreparedStatement comPlano(Connection real, String sql, PreparedStatement comando) {
+            List<Object[]> parametros = new ArrayList<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] {PreparedStatement.class}, (proxy, metodo, args) -> {
+                        if (metodo.getName().startsWith("set") && args != null && args.length >= 2
+                                && args[0] instanceof Integer) {
+                            parametros.add(new Object[] {metodo, args});
+                        } else if ("executeQuery".equals(metodo.getName()) && args == null
+                                && sql.strip().toLowerCase().startsWith("select")) {
+                            planos.add(explicar(real, sql, parametros));
+                        }
+                        return invocar(metodo, comando, args);
+                    });
+        }
+
+        private static String explicar(Connection conexao, String sql, List<Object[]> parametros) throws Exception {
+            try (PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + sql)) {
+                for (Object[] parametro : parametros) {
+                    ((Method) parametro[0]).invoke(explain, (Object[]) parametro[1]);
+                }
+                StringBuilder plano = new StringBuilder();
+                try (ResultSet linhas = explain.executeQuery()) {
+                    while (linhas.next()) {
+                        plano.append(linhas.getString(1)).append('\n');
+                    }
+                }
+                return plano.toString();
+            }
+        }
+
+        private static Object invocar(Method metodo, Object alvo, Object[] args) throws Throwable {
+            try {
+                return metodo.invoke(alvo, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @Override
+        public void closeConnection(Connection conexao) throws SQLException {
+            conexao.close();
+        }
+
+        @Override
+        public boolean supportsAggressiveRelease() {
+            return false;
+        }
+
+        @Override
+        public boolean isUnwrappableAs(Class<?> tipo) {
+            return false;
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> tipo) {
+            throw new UnsupportedOperationException(tipo.getName());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.skeleton.business.facade;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import br.com.skeleton.business.BancoTeste;
+import br.com.skeleton.business.entity.Equipamento;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Planos das consultas da fachada sobre os índices de sql/004_equipamentos_indices.sql,
+ * numa tabela grande o bastante para que uma varredura sequencial não compense.
+ */
+public class EquipamentoIndicesTest {
+
+    private static final int LINHAS = 50_000;
+
+    private static AmbienteFachada ambiente;
+
+    @BeforeClass
+    public static void criarBanco() throws Exception {
+        BancoTeste banco = BancoTeste.novoBanco();
+        banco.inserirEquipamentos(LINHAS, null);
+        banco.executarScript("001_equipamentos_id_sequence.sql");
+        banco.executarScript("003_equipamentos_versao.sql");
+        banco.executarScript("004_equipamentos_indices.sql");
+        banco.executar("VACUUM ANALYZE equipamentos");
+        ambiente = new AmbienteFachada(banco);
+    }
+
+    @AfterClass
+    public static void fechar() {
+        ambiente.close();
+    }
+
+    @Before
+    public void descartarPlanosAnteriores() {
+        ambiente.planos();
+    }
+
+    @Test
+    public void findPagePorStatusEValidadeUsaIndiceStatusValidade() {
+        EquipamentoFiltro filtro = filtroAtivosNaSemana();
+
+        List<Equipamento> pagina = ambiente.getFacade().findPage(filtro, 0, 20, "validade", true);
+
+        assertTrue(pagina.size() > 0);
+        assertIndice(unicoPlano(), "idx_equipamentos_status_validade");
+    }
+
+    @Test
+    public void countPorStatusEValidadeUsaIndice() {
+        long total = ambiente.getFacade().count(filtroAtivosNaSemana());
+
+        assertTrue(total > 0);
+        assertIndice(unicoPlano(), "idx_equipamentos_(status_validade|ativos_validade)");
+    }
+
+    /**
+     * O índice parcial dos ativos e o de (status, validade, id) atendem igualmente ao filtro
+     * e à ordenação; o planejador escolhe pelo custo estimado.
+     */
+    @Test
+    public void findExpiringBetweenUsaIndiceDeValidade() {
+        List<Equipamento> vencendo = ambiente.getFacade()
+                .findExpiringBetween(LocalDate.now(), LocalDate.now().plusDays(30), 100);
+
+        assertTrue(vencendo.size() > 0);
+        assertIndice(unicoPlano(), "idx_equipamentos_(ativos_validade|status_validade)");
+    }
+
+    @Test
+    public void findCreatedSinceUsaIndiceCreatedAt() {
+        List<Equipamento> recentes = ambiente.getFacade()
+                .findCreatedSince(LocalDateTime.now().minusHours(2), 100);
+
+        assertTrue(recentes.size() > 0);
+        assertIndice(unicoPlano(), "idx_equipamentos_created_at_id");
+    }
+
+    private static EquipamentoFiltro filtroAtivosNaSemana() {
+        EquipamentoFiltro filtro = new EquipamentoFiltro();
+        filtro.setStatus(Equipamento.STATUS_ATIVO);
+        filtro.setValidadeDe(LocalDate.now().plusDays(100));
+        filtro.setValidadeAte(LocalDate.now().plusDays(107));
+        return filtro;
+    }
+
+    private static String unicoPlano() {
+        List<String> planos = ambiente.planos();
+        assertEquals("SELECTs executados: " + planos, 1, planos.size());
+        return planos.get(0);
+    }
+
+    private static void assertIndice(String plano, String indice) {
+        Pattern varredura = Pattern.compile("(Index Scan|Index Only Scan|Bitmap Index Scan)( Backward)? (using|on) " + indice);
+        assertTrue("Plano sem varredura em " + indice + ":\n" + plano, varredura.matcher(plano).find());
+        assertTrue("Plano com varredura sequencial:\n" + plano, !plano.contains("Seq Scan"));
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.skeleton.business.facade;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import br.com.skeleton.business.BancoTeste;
+import br.com.skeleton.business.entity.Equipamento;
+import jakarta.persistence.EntityManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Remoção condicionada à versão lida, como no DELETE com If-Match: uma gravação entre a
+ * leitura e a remoção faz a remoção falhar em vez de ser descartada.
+ */
+public class EquipamentoRemocaoTest {
+
+    private BancoTeste banco;
+    private AmbienteFachada ambiente;
+
+    @Before
+    public void criarBanco() throws Exception {
+        banco = BancoTeste.novoBanco();
+        banco.inserirEquipamentos(1, Equipamento.STATUS_ATIVO);
+        banco.executarScript("001_equipamentos_id_sequence.sql");
+        banco.executarScript("003_equipamentos_versao.sql");
+        ambiente = new AmbienteFachada(banco);
+    }
+
+    @After
+    public void fechar() {
+        ambiente.close();
+    }
+
+    @Test
+    public void versaoAtualRemove() throws Exception {
+        long id = banco.consultarLong("SELECT MIN(id) FROM equipamentos");
+        long versao = banco.consultarLong("SELECT versao FROM equipamentos WHERE id = " + id);
+
+        emTransacao(() -> ambiente.getFacade().delete(id, versao));
+
+        assertEquals(0, banco.consultarLong("SELECT count(*) FROM equipamentos"));
+    }
+
+    @Test
+    public void versaoAntigaNaoRemove() throws Exception {
+        long id = banco.consultarLong("SELECT MIN(id) FROM equipamentos");
+        long versao = banco.consultarLong("SELECT versao FROM equipamentos WHERE id = " + id);
+        banco.executar("UPDATE equipamentos SET nome = 'outro', versao = versao + 1 WHERE id = " + id);
+
+        assertConflito(() -> emTransacao(() -> ambiente.getFacade().delete(id, versao)));
+        assertEquals(1, banco.consultarLong("SELECT count(*) FROM equipamentos"));
+    }
+
+    /** A gravação concorrente chega depois do find: o próprio DELETE confere a versão. */
+    @Test
+    public void gravacaoDepoisDaLeituraNaoRemove() throws Exception {
+        long id = banco.consultarLong("SELECT MIN(id) FROM equipamentos");
+        long versao = banco.consultarLong("SELECT versao FROM equipamentos WHERE id = " + id);
+        EntityManager em = ambiente.getEm();
+
+        assertConflito(() -> emTransacao(() -> {
+            em.find(Equipamento.class, id);
+            try {
+                banco.executar("UPDATE equipamentos SET nome = 'outro', versao = versao + 1 WHERE id = " + id);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            ambiente.getFacade().delete(id, versao);
+        }));
+        assertEquals(1, banco.consultarLong("SELECT count(*) FROM equipamentos"));
+    }
+
+    @Test
+    public void equipamentoJaRemovidoEConflito() throws Exception {
+        long id = banco.consultarLong("SELECT MIN(id) FROM equipamentos");
+        long versao = banco.consultarLong("SELECT versao FROM equipamentos WHERE id = " + id);
+        banco.executar("DELETE FROM equipamentos WHERE id = " + id);
+
+        assertConflito(() -> emTransacao(() -> ambiente.getFacade().delete(id, versao)));
+    }
+
+    private void emTransacao(Runnable operacao) {
+        EntityManager em = ambiente.getEm();
+        em.getTransaction().begin();
+        try {
+            operacao.run();
+            em.getTransaction().commit();
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.clear();
+        }
+    }
+
+    private static void assertConflito(Runnable operacao) {
+        try {
+            operacao.run();
+            fail("Remoção aceita com versão desatualizada.");
+        } catch (ConflitoAtualizacaoException e) {
+            // esperado
+        }
+    }
+}
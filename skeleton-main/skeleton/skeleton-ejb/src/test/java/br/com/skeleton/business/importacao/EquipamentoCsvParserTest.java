@@ -0,0 +1,57 @@
+package br.com.skeleton.business.importacao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.facade.EquipamentoValidador;
+import org.junit.Test;
+
+/**
+ * Textos maiores que as colunas são erros da linha, detectados antes de gravar o lote.
+ */
+public class EquipamentoCsvParserTest {
+
+    private final EquipamentoCsvParser parser =
+            EquipamentoCsvParser.doCabecalho("nome;descricao;data_de_chegada;validade;valor;status");
+
+    @Test
+    public void textosNoLimiteDasColunasSaoAceitos() {
+        String nome = "n".repeat(EquipamentoValidador.TAMANHO_MAXIMO_TEXTO);
+        // Caracteres fora do BMP ocupam duas unidades UTF-16, mas o banco conta um.
+        String descricao = "\uD83D\uDD27".repeat(EquipamentoValidador.TAMANHO_MAXIMO_TEXTO);
+
+        Equipamento equipamento = parser.parse(nome + ";" + descricao + ";01/02/2024;01/02/2030;10,00;ativo");
+
+        assertEquals(nome, equipamento.getNome());
+        assertEquals(descricao, equipamento.getDescricao());
+    }
+
+    @Test
+    public void nomeMaiorQueAColunaERejeitado() {
+        assertRejeitada("n".repeat(EquipamentoValidador.TAMANHO_MAXIMO_TEXTO + 1)
+                + ";bomba;01/02/2024;01/02/2030;10,00;ativo", "nome");
+    }
+
+    @Test
+    public void descricaoMaiorQueAColunaERejeitada() {
+        assertRejeitada("bomba;" + "d".repeat(EquipamentoValidador.TAMANHO_MAXIMO_TEXTO + 1)
+                + ";01/02/2024;01/02/2030;10,00;ativo", "descrição");
+    }
+
+    @Test
+    public void statusMaiorQueAColunaERejeitado() {
+        assertRejeitada("bomba;dosadora;01/02/2024;01/02/2030;10,00;"
+                + "s".repeat(EquipamentoValidador.TAMANHO_MAXIMO_STATUS + 1), "status");
+    }
+
+    private void assertRejeitada(String linha, String campo) {
+        try {
+            parser.parse(linha);
+            fail("Linha aceita: " + linha);
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(campo));
+        }
+    }
+}
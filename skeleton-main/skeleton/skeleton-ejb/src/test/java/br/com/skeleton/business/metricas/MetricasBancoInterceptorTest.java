@@ -0,0 +1,63 @@
+package br.com.skeleton.business.metricas;
+
+import static org.junit.Assert.assertTrue;
+
+import br.com.skeleton.business.BancoTeste;
+import br.com.skeleton.business.replica.RoteadorLeitura;
+import jakarta.persistence.EntityManager;
+import java.lang.reflect.Field;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.Test;
+
+/**
+ * Com o roteamento habilitado, as leituras feitas na réplica também contam como tempo de banco.
+ */
+public class MetricasBancoInterceptorTest {
+
+    @Test
+    public void tempoDeBancoIncluiLeiturasDaReplica() throws Exception {
+        BancoTeste banco = BancoTeste.novoBanco();
+        String anterior = System.setProperty(RoteadorLeitura.PROPRIEDADE_HABILITADA, "true");
+        try (SessionFactory primario = fabrica(banco); SessionFactory replica = fabrica(banco)) {
+            EntityManager em = primario.createEntityManager();
+            EntityManager emLeitura = replica.createEntityManager();
+            try {
+                MetricasBancoInterceptor interceptor = new MetricasBancoInterceptor();
+                injetar(interceptor, "em", em);
+                injetar(interceptor, "emLeitura", emLeitura);
+
+                interceptor.prepararBanco();
+                long antes = TempoBanco.acumulado();
+                emLeitura.createNativeQuery("SELECT pg_sleep(0.02)").getSingleResult();
+
+                assertTrue("consulta na réplica sem tempo de banco", TempoBanco.acumulado() - antes >= 20_000_000L);
+            } finally {
+                emLeitura.close();
+                em.close();
+            }
+        } finally {
+            if (anterior == null) {
+                System.clearProperty(RoteadorLeitura.PROPRIEDADE_HABILITADA);
+            } else {
+                System.setProperty(RoteadorLeitura.PROPRIEDADE_HABILITADA, anterior);
+            }
+        }
+    }
+
+    private static void injetar(Object alvo, String campo, Object valor) throws ReflectiveOperationException {
+        Field field = alvo.getClass().getDeclaredField(campo);
+        field.setAccessible(true);
+        field.set(alvo, valor);
+    }
+
+    private static SessionFactory fabrica(BancoTeste banco) {
+        return new Configuration()
+                .setProperty(AvailableSettings.URL, banco.getUrl())
+                .setProperty(AvailableSettings.USER, banco.getUsuario())
+                .setProperty(AvailableSettings.PASS, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "none")
+                .buildSessionFactory();
+    }
+}
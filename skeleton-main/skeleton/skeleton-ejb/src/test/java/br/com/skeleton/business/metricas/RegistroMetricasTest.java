@@ -0,0 +1,51 @@
+package br.com.skeleton.business.metricas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.facade.EquipamentoFacadeJpa;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class RegistroMetricasTest {
+
+    @Test
+    public void nomeIncluiTiposDosParametros() throws Exception {
+        RegistroMetricas registro = new RegistroMetricas();
+        Method create = EquipamentoFacadeJpa.class.getMethod("create", Equipamento.class);
+        Method findAll = EquipamentoFacadeJpa.class.getMethod("findAll");
+
+        MetricasMetodo metricasCreate = registro.metodo(create);
+
+        assertSame(metricasCreate, registro.metodo(create));
+        assertEquals("EquipamentoFacadeJpa.create(Equipamento)", metricasCreate.getNome());
+        assertEquals("EquipamentoFacadeJpa.findAll()", registro.metodo(findAll).getNome());
+    }
+
+    @Test
+    public void nomesNaoSeRepetemNaListagem() throws Exception {
+        RegistroMetricas registro = new RegistroMetricas();
+        for (Method metodo : Sobrecargas.class.getDeclaredMethods()) {
+            registro.metodo(metodo);
+        }
+
+        List<String> nomes = registro.metodos().stream().map(MetricasMetodo::getNome).collect(Collectors.toList());
+
+        assertEquals(List.of("Sobrecargas.gravar(List)", "Sobrecargas.gravar(Long)", "Sobrecargas.gravar(Long,int)"), nomes);
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Sobrecargas {
+        void gravar(Long id) {
+        }
+
+        void gravar(Long id, int tentativas) {
+        }
+
+        void gravar(List<Long> ids) {
+        }
+    }
+}
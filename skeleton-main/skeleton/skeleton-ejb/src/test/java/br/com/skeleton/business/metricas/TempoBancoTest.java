@@ -0,0 +1,31 @@
+package br.com.skeleton.business.metricas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * O mesmo listener registrado duas vezes na sessão recebe cada evento em dobro; o tempo
+ * do comando deve ser contado uma vez só.
+ */
+public class TempoBancoTest {
+
+    @Test
+    public void eventosRepetidosContamUmaVez() throws Exception {
+        long antes = TempoBanco.acumulado();
+
+        TempoBanco.LISTENER.jdbcExecuteStatementStart();
+        Thread.sleep(20);
+        TempoBanco.LISTENER.jdbcExecuteStatementStart();
+        TempoBanco.LISTENER.jdbcExecuteStatementEnd();
+        long depoisDoPrimeiroFim = TempoBanco.acumulado();
+        Thread.sleep(20);
+        TempoBanco.LISTENER.jdbcExecuteStatementEnd();
+
+        long medido = depoisDoPrimeiroFim - antes;
+        assertTrue("o segundo início não pode reiniciar o relógio: " + medido, medido >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(depoisDoPrimeiroFim, TempoBanco.acumulado());
+    }
+}
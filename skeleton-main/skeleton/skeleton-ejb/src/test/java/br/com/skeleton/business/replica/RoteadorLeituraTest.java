@@ -0,0 +1,237 @@
+package br.com.skeleton.business.replica;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import br.com.skeleton.business.BancoTeste;
+import br.com.skeleton.business.alteracoes.AlteracaoEquipamento;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Decisões de roteamento com um primário e uma réplica simulados: posição corrente do WAL
+ * no primário e posição aplicada e idade da última transação aplicada na réplica.
+ */
+public class RoteadorLeituraTest {
+
+    private final AtomicLong lsnPrimario = new AtomicLong();
+    private final AtomicLong lsnReplica = new AtomicLong();
+    private final AtomicLong idadeReplicaMs = new AtomicLong();
+    private final AtomicReference<RuntimeException> falhaPrimario = new AtomicReference<>();
+    private final AtomicInteger statusTransacao = new AtomicInteger(Status.STATUS_NO_TRANSACTION);
+
+    private String habilitadaAntes;
+    private ContextoLeitura contextoAntes;
+    private RoteadorLeitura roteador;
+
+    @Before
+    public void criarRoteador() throws Exception {
+        habilitadaAntes = System.setProperty(RoteadorLeitura.PROPRIEDADE_HABILITADA, "true");
+        contextoAntes = ContextoLeitura.vincular(null);
+        roteador = new RoteadorLeitura();
+        injetar(roteador, "primario", fonte(() -> {
+            RuntimeException falha = falhaPrimario.get();
+            if (falha != null) {
+                throw falha;
+            }
+            return lsnPrimario.get();
+        }));
+        injetar(roteador, "replica", fonte(() -> new Object[] {lsnReplica.get(), idadeReplicaMs.get()}));
+        injetar(roteador, "txRegistry", Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {TransactionSynchronizationRegistry.class}, (proxy, metodo, args) -> {
+                    if ("getTransactionStatus".equals(metodo.getName())) {
+                        return statusTransacao.get();
+                    }
+                    throw new UnsupportedOperationException(metodo.getName());
+                }));
+    }
+
+    @After
+    public void restaurar() {
+        ContextoLeitura.restaurar(contextoAntes);
+        if (habilitadaAntes == null) {
+            System.clearProperty(RoteadorLeitura.PROPRIEDADE_HABILITADA);
+        } else {
+            System.setProperty(RoteadorLeitura.PROPRIEDADE_HABILITADA, habilitadaAntes);
+        }
+    }
+
+    @Test
+    public void replicaEmDiaRecebeLeituras() {
+        sondar(1_000, 1_000, 60_000);
+
+        assertEquals(0, roteador.getAtrasoMs());
+        assertTrue(roteador.usarReplica());
+        assertTrue(roteador.podeCachearDaReplica());
+    }
+
+    /**
+     * Réplica que ainda não recebeu o WAL do primário: tudo o que recebeu já está aplicado,
+     * mas não está em dia. O atraso é o tempo desde a última transação aplicada.
+     */
+    @Test
+    public void replicaSemWalRecebidoNaoTemAtrasoZero() {
+        sondar(2_000, 1_500, RoteadorLeitura.janelaMs() + 3_000);
+
+        assertEquals(RoteadorLeitura.janelaMs() + 3_000, roteador.getAtrasoMs());
+        assertFalse(roteador.usarReplica());
+    }
+
+    @Test
+    public void sessaoLeAsPropriasGravacoesNoPrimario() {
+        sondar(1_000, 1_000, 0);
+        ContextoLeitura sessao = new ContextoLeitura(0, null);
+        ContextoLeitura.vincular(sessao);
+
+        lsnPrimario.set(1_200);
+        roteador.registrar(alteracao());
+        assertEquals(1_200, sessao.getLsnGravacao());
+        assertFalse("gravação ainda não aplicada na réplica", roteador.usarReplica());
+        assertFalse(roteador.podeCachearDaReplica());
+
+        ContextoLeitura.vincular(new ContextoLeitura(0, null));
+        assertTrue("outras sessões seguem na réplica", roteador.usarReplica());
+
+        ContextoLeitura.vincular(sessao);
+        sondar(1_200, 1_150, 100);
+        assertFalse(roteador.usarReplica());
+        sondar(1_300, 1_200, 100);
+        assertTrue(roteador.usarReplica());
+        assertTrue(roteador.podeCachearDaReplica());
+    }
+
+    @Test
+    public void gravacaoSemPosicaoFixaSessaoNoPrimarioEBloqueiaCacheAteASondagem() {
+        sondar(1_000, 1_000, 0);
+        ContextoLeitura sessao = new ContextoLeitura(0, null);
+        ContextoLeitura.vincular(sessao);
+
+        falhaPrimario.set(new IllegalStateException("primário indisponível"));
+        roteador.registrar(alteracao());
+        falhaPrimario.set(null);
+        assertFalse(roteador.usarReplica());
+        assertFalse(roteador.podeCachearDaReplica());
+
+        // A sondagem lê a posição do primário depois da gravação e a adota no lugar da perdida.
+        sondar(1_100, 1_050, 0);
+        assertFalse(roteador.podeCachearDaReplica());
+        sondar(1_100, 1_100, 0);
+        assertTrue(roteador.podeCachearDaReplica());
+        assertFalse("a sessão fica no primário até o cookie expirar", roteador.usarReplica());
+    }
+
+    @Test
+    public void leituraEmTransacaoVaiParaOPrimario() {
+        sondar(1_000, 1_000, 0);
+        statusTransacao.set(Status.STATUS_ACTIVE);
+
+        assertFalse(roteador.usarReplica());
+    }
+
+    @Test
+    public void replicaIndisponivelNaoRecebeLeituras() {
+        sondar(1_000, 1_000, 0);
+        injetar(roteador, "replica", fonte(() -> {
+            throw new IllegalStateException("réplica fora do ar");
+        }));
+        roteador.sondar();
+
+        assertEquals(-1, roteador.getAtrasoMs());
+        assertFalse(roteador.usarReplica());
+        assertFalse(roteador.podeCachearDaReplica());
+    }
+
+    /**
+     * As consultas de sondagem num PostgreSQL de verdade, com a unidade da réplica apontando
+     * para o próprio primário (fora de recuperação): sem atraso, e cada gravação só é
+     * considerada aplicada depois da sondagem seguinte.
+     */
+    @Test
+    public void consultasDeSondagemNoPostgresql() throws Exception {
+        BancoTeste banco = BancoTeste.novoBanco();
+        try (SessionFactory fabrica = new Configuration()
+                .setProperty(AvailableSettings.URL, banco.getUrl())
+                .setProperty(AvailableSettings.USER, banco.getUsuario())
+                .setProperty(AvailableSettings.PASS, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "none")
+                .buildSessionFactory()) {
+            EntityManager em = fabrica.createEntityManager();
+            try {
+                injetar(roteador, "primario", em);
+                injetar(roteador, "replica", em);
+
+                roteador.sondar();
+                assertEquals(0, roteador.getAtrasoMs());
+                assertTrue(roteador.usarReplica());
+
+                ContextoLeitura sessao = new ContextoLeitura(0, null);
+                ContextoLeitura.vincular(sessao);
+                banco.inserirEquipamentos(10, null);
+                roteador.registrar(alteracao());
+                assertTrue(sessao.getLsnGravacao() > 0);
+                assertFalse(roteador.usarReplica());
+
+                roteador.sondar();
+                assertTrue(roteador.usarReplica());
+                assertTrue(roteador.podeCachearDaReplica());
+            } finally {
+                em.close();
+            }
+        }
+    }
+
+    private void sondar(long primario, long aplicado, long idadeMs) {
+        lsnPrimario.set(primario);
+        lsnReplica.set(aplicado);
+        idadeReplicaMs.set(idadeMs);
+        roteador.sondar();
+    }
+
+    private static AlteracaoEquipamento alteracao() {
+        return new AlteracaoEquipamento(AlteracaoEquipamento.Tipo.ATUALIZADO, List.of(1L), null);
+    }
+
+    /** EntityManager cujas consultas nativas devolvem o valor do fornecedor. */
+    private static EntityManager fonte(Supplier<Object> resultado) {
+        Query query = (Query) Proxy.newProxyInstance(RoteadorLeituraTest.class.getClassLoader(),
+                new Class<?>[] {Query.class}, (proxy, metodo, args) -> {
+                    if ("getSingleResult".equals(metodo.getName())) {
+                        return resultado.get();
+                    }
+                    throw new UnsupportedOperationException(metodo.getName());
+                });
+        return (EntityManager) Proxy.newProxyInstance(RoteadorLeituraTest.class.getClassLoader(),
+                new Class<?>[] {EntityManager.class}, (proxy, metodo, args) -> {
+                    if ("createNativeQuery".equals(metodo.getName())) {
+                        return query;
+                    }
+                    throw new UnsupportedOperationException(metodo.getName());
+                });
+    }
+
+    private static void injetar(Object alvo, String campo, Object valor) {
+        try {
+            Field field = alvo.getClass().getDeclaredField(campo);
+            field.setAccessible(true);
+            field.set(alvo, valor);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
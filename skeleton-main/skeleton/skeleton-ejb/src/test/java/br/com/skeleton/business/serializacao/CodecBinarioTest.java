@@ -0,0 +1,116 @@
+package br.com.skeleton.business.serializacao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import br.com.skeleton.business.entity.Equipamento;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Decodificação de dados adulterados ou truncados: comprimentos e quantidades inválidos
+ * são rejeitados antes de alocar.
+ */
+public class CodecBinarioTest {
+
+    /** Formato 1 e máscara só com o nome. */
+    private static final int[] CABECALHO_NOME = {1, 1 << 1};
+
+    @Test
+    public void idaEVoltaPreservaOsCampos() {
+        Equipamento equipamento = new Equipamento("bomba", "dosadora", LocalDate.of(2024, 1, 2),
+                LocalDate.of(2030, 5, 6), new BigDecimal("123456789012345678901234.50"), Equipamento.STATUS_ATIVO);
+        equipamento.setId(42L);
+        equipamento.setVersao(3L);
+        equipamento.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6));
+
+        Equipamento lido = CodecBinario.decodificarLista(CodecBinario.codificarLista(List.of(equipamento))).get(0);
+
+        assertEquals(equipamento.toString(), lido.toString());
+    }
+
+    @Test
+    public void comprimentoAcimaDoMaximoERejeitado() {
+        assertCorrompido(bytes(CABECALHO_NOME, varint(Integer.MAX_VALUE)));
+        assertCorrompido(bytes(CABECALHO_NOME, varint(Long.MAX_VALUE)));
+        assertCorrompido(bytes(CABECALHO_NOME, varint(-1)));
+    }
+
+    @Test
+    public void comprimentoAlemDoFimERejeitado() {
+        assertCorrompido(bytes(CABECALHO_NOME, varint(100), new int[] {'a', 'b'}));
+    }
+
+    @Test
+    public void valorGrandeVazioERejeitado() {
+        // Máscara com valor e valor grande, escala 0 e zero bytes de valor sem escala.
+        assertCorrompido(bytes(new int[] {1}, varint((1 << 5) | (1 << 10)), new int[] {0, 0}));
+    }
+
+    @Test
+    public void quantidadeDaListaAlemDoFimERejeitada() {
+        try {
+            CodecBinario.decodificarLista(bytes(varint(Integer.MAX_VALUE)));
+            fail("Quantidade inválida aceita.");
+        } catch (UncheckedIOException e) {
+            assertTrue(e.getCause() instanceof StreamCorruptedException);
+        }
+    }
+
+    /** Pela serialização Java (DataInput sem tamanho conhecido) vale o limite de campo. */
+    @Test
+    public void comprimentoAcimaDoMaximoERejeitadoEmQualquerEntrada() throws IOException {
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(
+                bytes(CABECALHO_NOME, varint(CodecBinario.MAX_BYTES_CAMPO + 1L))));
+        try {
+            CodecBinario.ler(entrada, new Equipamento());
+            fail("Comprimento inválido aceito.");
+        } catch (StreamCorruptedException e) {
+            // esperado
+        }
+    }
+
+    private static void assertCorrompido(byte[] dados) {
+        try {
+            CodecBinario.decodificar(dados);
+            fail("Dados corrompidos aceitos.");
+        } catch (UncheckedIOException e) {
+            assertTrue("causa: " + e.getCause(), e.getCause() instanceof StreamCorruptedException);
+        }
+    }
+
+    private static int[] varint(long valor) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        while ((valor & ~0x7FL) != 0) {
+            saida.write((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        saida.write((int) valor);
+        byte[] bytes = saida.toByteArray();
+        int[] resultado = new int[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            resultado[i] = bytes[i] & 0xFF;
+        }
+        return resultado;
+    }
+
+    private static byte[] bytes(int[]... partes) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        for (int[] parte : partes) {
+            for (int b : parte) {
+                saida.write(b);
+            }
+        }
+        return saida.toByteArray();
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.skeleton.business.vencimento;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import br.com.skeleton.business.BancoTeste;
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.entity.VencimentoParticao;
+import jakarta.persistence.EntityManager;
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.Test;
+
+/**
+ * Retomada da varredura: as partições criadas na primeira execução da data passam a
+ * cobrir os equipamentos incluídos depois dela.
+ */
+public class VencimentoGravadorTest {
+
+    private static final LocalDate DATA = LocalDate.of(2026, 1, 10);
+
+    @Test
+    public void retomadaEstendeUltimaParticaoAteOMaiorId() throws Exception {
+        BancoTeste banco = BancoTeste.novoBanco();
+        banco.inserirEquipamentos(100, Equipamento.STATUS_ATIVO);
+        banco.executarScript("001_equipamentos_id_sequence.sql");
+        banco.executarScript("003_equipamentos_versao.sql");
+        banco.executarScript("008_vencimento_particoes.sql");
+
+        try (SessionFactory fabrica = fabrica(banco)) {
+            EntityManager em = fabrica.createEntityManager();
+            try {
+                VencimentoGravador gravador = new VencimentoGravador();
+                Field campo = VencimentoGravador.class.getDeclaredField("em");
+                campo.setAccessible(true);
+                campo.set(gravador, em);
+
+                em.getTransaction().begin();
+                List<VencimentoParticao> primeiras = gravador.particoes(DATA, 4);
+                for (VencimentoParticao particao : primeiras) {
+                    particao.setProximoId(particao.getIdFim());
+                    particao.setStatus(VencimentoParticao.CONCLUIDA);
+                }
+                em.getTransaction().commit();
+                assertEquals(101, primeiras.get(primeiras.size() - 1).getIdFim());
+
+                banco.executar("INSERT INTO equipamentos (nome, descricao, data_de_chegada, validade, valor, status,"
+                        + " created_at, updated_at, versao)"
+                        + " SELECT 'novo', 'depois da primeira execução', CURRENT_DATE, CURRENT_DATE, 1, 'ativo',"
+                        + " now(), now(), 0 FROM generate_series(1, 30)");
+                long maiorId = banco.consultarLong("SELECT MAX(id) FROM equipamentos");
+                em.clear();
+
+                em.getTransaction().begin();
+                List<VencimentoParticao> retomadas = gravador.particoes(DATA, 4);
+                em.getTransaction().commit();
+
+                assertEquals(primeiras.size(), retomadas.size());
+                VencimentoParticao ultima = retomadas.get(retomadas.size() - 1);
+                assertEquals(maiorId + 1, ultima.getIdFim());
+                assertEquals(101, ultima.getProximoId());
+                assertFalse(ultima.isConcluida());
+                assertEquals(maiorId + 1, banco.consultarLong(
+                        "SELECT MAX(id_fim) FROM vencimento_particoes WHERE data_referencia = DATE '2026-01-10'"));
+            } finally {
+                em.close();
+            }
+        }
+    }
+
+    private static SessionFactory fabrica(BancoTeste banco) {
+        return new Configuration()
+                .addAnnotatedClass(Equipamento.class)
+                .addAnnotatedClass(VencimentoParticao.class)
+                .setProperty(AvailableSettings.URL, banco.getUrl())
+                .setProperty(AvailableSettings.USER, banco.getUsuario())
+                .setProperty(AvailableSettings.PASS, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "none")
+                .buildSessionFactory();
+    }
+}
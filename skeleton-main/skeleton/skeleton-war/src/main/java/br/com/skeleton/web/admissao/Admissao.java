@@ -0,0 +1,17 @@
+package br.com.skeleton.web.admissao;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Classe de admissão de um recurso ou método da API. Sem a anotação, GET, HEAD e OPTIONS
+ * são {@link ClasseAdmissao#LEVE} e os demais métodos {@link ClasseAdmissao#ESCRITA}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Admissao {
+
+    ClasseAdmissao value();
+}
@@ -0,0 +1,93 @@
+package br.com.skeleton.web.admissao;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import jakarta.ws.rs.ext.Provider;
+import java.lang.reflect.Method;
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controle de admissão das requisições da API, antes de chegarem ao recurso: a requisição
+ * consome tokens do balde do cliente e ocupa uma vaga da sua {@link ClasseAdmissao}. Sem
+ * tokens ou sem vaga livre a resposta é 429 com Retry-After, na hora e sem prender a
+ * thread; não há fila de espera.
+ * <p>
+ * O cliente é o usuário autenticado ou, sem autenticação, o endereço remoto; atrás de um
+ * proxy reverso, o container deve ser configurado para expor o endereço original.
+ */
+@Provider
+@Priority(Priorities.AUTHORIZATION)
+public class AdmissaoFilter implements ContainerRequestFilter {
+
+    @Context
+    private ResourceInfo recurso;
+
+    @Context
+    private HttpServletRequest requisicao;
+
+    @Inject
+    private ControleAdmissao controle;
+
+    @Override
+    public void filter(ContainerRequestContext contexto) {
+        if (!controle.isLigado()) {
+            return;
+        }
+        ClasseAdmissao classe = classe(contexto.getMethod());
+        if (classe == ClasseAdmissao.ISENTA) {
+            return;
+        }
+        long espera = controle.consumir(cliente(contexto.getSecurityContext()), classe);
+        if (espera > 0) {
+            contexto.abortWith(recusar(espera, "Limite de requisições do cliente excedido."));
+            return;
+        }
+        Permissao permissao = controle.entrar(classe);
+        if (permissao == null) {
+            contexto.abortWith(recusar(TimeUnit.SECONDS.toNanos(1),
+                    "Servidor ocupado com requisições do tipo " + classe.getNome() + "."));
+            return;
+        }
+        // Liberada pelo FimRequisicaoListener quando o container encerra a requisição.
+        requisicao.setAttribute(Permissao.ATRIBUTO, permissao);
+    }
+
+    private ClasseAdmissao classe(String metodoHttp) {
+        Method metodo = recurso.getResourceMethod();
+        Admissao anotacao = metodo != null ? metodo.getAnnotation(Admissao.class) : null;
+        if (anotacao == null && recurso.getResourceClass() != null) {
+            anotacao = recurso.getResourceClass().getAnnotation(Admissao.class);
+        }
+        if (anotacao != null) {
+            return anotacao.value();
+        }
+        return HttpMethod.GET.equals(metodoHttp) || HttpMethod.HEAD.equals(metodoHttp)
+                || HttpMethod.OPTIONS.equals(metodoHttp) ? ClasseAdmissao.LEVE : ClasseAdmissao.ESCRITA;
+    }
+
+    private String cliente(SecurityContext seguranca) {
+        Principal usuario = seguranca != null ? seguranca.getUserPrincipal() : null;
+        return usuario != null ? "usuario:" + usuario.getName() : "ip:" + requisicao.getRemoteAddr();
+    }
+
+    private static Response recusar(long esperaNanos, String mensagem) {
+        long segundos = Math.max(1, (esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        return Response.status(Response.Status.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, segundos)
+                .type(MediaType.TEXT_PLAIN_TYPE.withCharset("UTF-8"))
+                .entity(mensagem)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.skeleton.web.admissao;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de tokens sem lock, no formato GCRA: em vez de contar tokens, guarda o instante
+ * teórico em que o balde voltaria a ficar cheio. Consumir é adiantar esse instante com um
+ * único compareAndSet; a requisição é recusada se ele passar do agora mais a rajada.
+ */
+final class BaldeTokens {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final AtomicLong cheioEm;
+
+    /**
+     * @param intervaloNanos O tempo de reposição de um token.
+     * @param rajada         A capacidade do balde, em tokens.
+     * @param agora          O instante atual ({@link System#nanoTime()}); o balde começa cheio.
+     */
+    BaldeTokens(long intervaloNanos, int rajada, long agora) {
+        this.intervaloNanos = intervaloNanos;
+        this.toleranciaNanos = intervaloNanos * rajada;
+        this.cheioEm = new AtomicLong(agora);
+    }
+
+    /**
+     * Consome tokens, se houver.
+     *
+     * @param custo A quantidade de tokens.
+     * @param agora O instante atual ({@link System#nanoTime()}).
+     * @return 0 se os tokens foram consumidos; senão, os nanossegundos até que haja tokens.
+     */
+    long consumir(int custo, long agora) {
+        long incremento = intervaloNanos * custo;
+        while (true) {
+            long atual = cheioEm.get();
+            long novo = Math.max(atual, agora) + incremento;
+            long excesso = novo - agora - toleranciaNanos;
+            if (excesso > 0) {
+                return excesso;
+            }
+            if (cheioEm.compareAndSet(atual, novo)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @param agora O instante atual ({@link System#nanoTime()}).
+     * @return true se o balde está cheio, isto é, equivale a um balde novo e pode ser descartado.
+     */
+    boolean isCheio(long agora) {
+        return cheioEm.get() - agora <= 0;
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.skeleton.web.admissao;
+
+/**
+ * Classes de endpoints da API para o controle de admissão. Cada classe tem o seu limite de
+ * requisições simultâneas e um custo em tokens no balde do cliente, proporcional ao peso
+ * típico da requisição no banco.
+ */
+public enum ClasseAdmissao {
+
+    /** Listagens, buscas e relatórios: consultas paginadas ou agregadas. */
+    CONSULTA(2, 16),
+
+    /** Exportações e reprocessamentos: seguram uma conexão enquanto percorrem a tabela. */
+    PESADA(10, 2),
+
+    /** Gravações. */
+    ESCRITA(2, 8),
+
+    /** Leituras pontuais, em geral servidas do cache. */
+    LEVE(1, 32),
+
+    /** Fora do controle: métricas e streams de alterações, que não ocupam o banco. */
+    ISENTA(0, 0);
+
+    private final int custo;
+    private final int concorrenciaPadrao;
+
+    ClasseAdmissao(int custo, int concorrenciaPadrao) {
+        this.custo = custo;
+        this.concorrenciaPadrao = concorrenciaPadrao;
+    }
+
+    /** @return Os tokens consumidos do balde do cliente por requisição. */
+    public int getCusto() {
+        return custo;
+    }
+
+    /**
+     * @return O limite de requisições simultâneas, configurável por
+     *         {@code skeleton.admissao.<classe>.concorrencia}.
+     */
+    public int getConcorrencia() {
+        return Math.max(1, Integer.getInteger(propriedade("concorrencia"), concorrenciaPadrao));
+    }
+
+    /** @return O nome da classe nas propriedades e métricas. */
+    public String getNome() {
+        return name().toLowerCase();
+    }
+
+    private String propriedade(String sufixo) {
+        return "skeleton.admissao." + getNome() + "." + sufixo;
+    }
+}
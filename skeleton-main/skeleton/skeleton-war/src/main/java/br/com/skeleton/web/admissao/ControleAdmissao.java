@@ -0,0 +1,126 @@
+package br.com.skeleton.web.admissao;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado do controle de admissão da API: um {@link BaldeTokens} por cliente e um
+ * {@link LimiteConcorrencia} por {@link ClasseAdmissao}.
+ * <p>
+ * Cada cliente recebe {@code skeleton.admissao.taxa} tokens por segundo (padrão 50), com
+ * rajada de {@code skeleton.admissao.rajada} (padrão 100); cada requisição custa os tokens
+ * da sua classe. Sem vaga na classe, a requisição é recusada sem esperar. A soma dos
+ * limites de concorrência deve ficar abaixo do pool de conexões, para que as telas JSF
+ * sempre encontrem conexão livre.
+ * Com {@code -Dskeleton.admissao.desligada=true} tudo é admitido.
+ */
+@ApplicationScoped
+public class ControleAdmissao {
+
+    public static final String PROPRIEDADE_DESLIGADA = "skeleton.admissao.desligada";
+    public static final String PROPRIEDADE_TAXA = "skeleton.admissao.taxa";
+    public static final String PROPRIEDADE_RAJADA = "skeleton.admissao.rajada";
+
+    /** Baldes mantidos; acima disso, os baldes cheios são descartados. */
+    static final int MAXIMO_CLIENTES = 10_000;
+
+    private static final long INTERVALO_LIMPEZA_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean ligado = !Boolean.getBoolean(PROPRIEDADE_DESLIGADA);
+    private final long intervaloNanos;
+    private final int rajada;
+
+    private final ConcurrentHashMap<String, BaldeTokens> baldes = new ConcurrentHashMap<>();
+    /** Compartilhado pelos clientes novos enquanto não houver lugar para eles no mapa. */
+    private final BaldeTokens excedente;
+    private final AtomicLong ultimaLimpeza = new AtomicLong(System.nanoTime());
+    private final Map<ClasseAdmissao, LimiteConcorrencia> limites = new EnumMap<>(ClasseAdmissao.class);
+
+    public ControleAdmissao() {
+        intervaloNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, Integer.getInteger(PROPRIEDADE_TAXA, 50));
+        // A rajada cobre ao menos a requisição mais cara, senão ela nunca seria admitida.
+        rajada = Math.max(ClasseAdmissao.PESADA.getCusto(), Integer.getInteger(PROPRIEDADE_RAJADA, 100));
+        excedente = new BaldeTokens(intervaloNanos, rajada, System.nanoTime());
+        for (ClasseAdmissao classe : ClasseAdmissao.values()) {
+            if (classe != ClasseAdmissao.ISENTA) {
+                limites.put(classe, new LimiteConcorrencia(classe));
+            }
+        }
+    }
+
+    public boolean isLigado() {
+        return ligado;
+    }
+
+    /**
+     * Consome do balde do cliente os tokens de uma requisição da classe.
+     *
+     * @param cliente A identificação do cliente.
+     * @param classe  A classe da requisição. Não pode ser {@link ClasseAdmissao#ISENTA}.
+     * @return 0 se admitida; senão, os nanossegundos até que o cliente tenha tokens.
+     */
+    long consumir(String cliente, ClasseAdmissao classe) {
+        long agora = System.nanoTime();
+        long espera = balde(cliente, agora).consumir(classe.getCusto(), agora);
+        if (espera > 0) {
+            limites.get(classe).recusadaPorTaxa();
+        }
+        return espera;
+    }
+
+    /**
+     * Ocupa uma vaga da classe, sem esperar.
+     *
+     * @param classe A classe da requisição. Não pode ser {@link ClasseAdmissao#ISENTA}.
+     * @return A permissão, ou null se todas as vagas da classe estão ocupadas.
+     */
+    Permissao entrar(ClasseAdmissao classe) {
+        return limites.get(classe).entrar();
+    }
+
+    private BaldeTokens balde(String cliente, long agora) {
+        BaldeTokens balde = baldes.get(cliente);
+        if (balde != null) {
+            return balde;
+        }
+        if (baldes.size() >= MAXIMO_CLIENTES) {
+            long ultima = ultimaLimpeza.get();
+            if (agora - ultima >= INTERVALO_LIMPEZA_NANOS && ultimaLimpeza.compareAndSet(ultima, agora)) {
+                // Um balde cheio equivale a um balde novo: descartá-lo não muda nenhuma decisão.
+                baldes.values().removeIf(b -> b.isCheio(agora));
+            }
+            if (baldes.size() >= MAXIMO_CLIENTES) {
+                return excedente;
+            }
+        }
+        return baldes.computeIfAbsent(cliente, c -> new BaldeTokens(intervaloNanos, rajada, agora));
+    }
+
+    /** @return Os clientes com balde em memória. */
+    public int getClientes() {
+        return baldes.size();
+    }
+
+    /** @return As requisições da classe em execução. */
+    public int getEmExecucao(ClasseAdmissao classe) {
+        return limites.get(classe).getEmExecucao();
+    }
+
+    public long getAdmitidas(ClasseAdmissao classe) {
+        return limites.get(classe).getAdmitidas();
+    }
+
+    /** @return As requisições da classe recusadas por falta de tokens no balde do cliente. */
+    public long getRecusadasTaxa(ClasseAdmissao classe) {
+        return limites.get(classe).getRecusadasTaxa();
+    }
+
+    /** @return As requisições da classe recusadas por falta de vaga. */
+    public long getRecusadasConcorrencia(ClasseAdmissao classe) {
+        return limites.get(classe).getRecusadasConcorrencia();
+    }
+}
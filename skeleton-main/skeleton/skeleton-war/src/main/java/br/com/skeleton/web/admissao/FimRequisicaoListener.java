@@ -0,0 +1,21 @@
+package br.com.skeleton.web.admissao;
+
+import jakarta.servlet.ServletRequestEvent;
+import jakarta.servlet.ServletRequestListener;
+import jakarta.servlet.annotation.WebListener;
+
+/**
+ * Libera a vaga da requisição quando o container a encerra. Nas requisições assíncronas
+ * isso só acontece quando a resposta é retomada e concluída.
+ */
+@WebListener
+public class FimRequisicaoListener implements ServletRequestListener {
+
+    @Override
+    public void requestDestroyed(ServletRequestEvent evento) {
+        Object permissao = evento.getServletRequest().getAttribute(Permissao.ATRIBUTO);
+        if (permissao instanceof Permissao) {
+            ((Permissao) permissao).liberar();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.skeleton.web.admissao;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Vagas de execução de uma {@link ClasseAdmissao}. Sem vaga livre a requisição é recusada
+ * na hora: esperar por uma vaga prenderia a thread do container, e as threads presas
+ * atrasariam também as requisições de outras classes e as telas.
+ */
+final class LimiteConcorrencia {
+
+    private final ClasseAdmissao classe;
+    private final int limite;
+    private final Semaphore vagas;
+
+    private final LongAdder admitidas = new LongAdder();
+    private final LongAdder recusadasTaxa = new LongAdder();
+    private final LongAdder recusadasConcorrencia = new LongAdder();
+
+    LimiteConcorrencia(ClasseAdmissao classe) {
+        this.classe = classe;
+        this.limite = classe.getConcorrencia();
+        this.vagas = new Semaphore(limite);
+    }
+
+    /**
+     * Ocupa uma vaga, sem esperar.
+     *
+     * @return A permissão, a ser liberada ao fim da requisição, ou null se não há vaga livre.
+     */
+    Permissao entrar() {
+        if (!vagas.tryAcquire()) {
+            recusadasConcorrencia.increment();
+            return null;
+        }
+        admitidas.increment();
+        return new Permissao(vagas);
+    }
+
+    void recusadaPorTaxa() {
+        recusadasTaxa.increment();
+    }
+
+    ClasseAdmissao getClasse() {
+        return classe;
+    }
+
+    int getEmExecucao() {
+        return limite - vagas.availablePermits();
+    }
+
+    long getAdmitidas() {
+        return admitidas.sum();
+    }
+
+    long getRecusadasTaxa() {
+        return recusadasTaxa.sum();
+    }
+
+    long getRecusadasConcorrencia() {
+        return recusadasConcorrencia.sum();
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.skeleton.web.admissao;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Vaga ocupada por uma requisição admitida. Guardada como atributo da requisição e
+ * liberada uma única vez pelo {@link FimRequisicaoListener}, depois de a resposta inteira
+ * ter sido escrita, inclusive nas respostas assíncronas e nas exportações em streaming.
+ */
+final class Permissao {
+
+    static final String ATRIBUTO = Permissao.class.getName();
+
+    private final Semaphore vagas;
+    private final AtomicBoolean liberada = new AtomicBoolean();
+
+    Permissao(Semaphore vagas) {
+        this.vagas = vagas;
+    }
+
+    void liberar() {
+        if (liberada.compareAndSet(false, true)) {
+            vagas.release();
+        }
+    }
+}
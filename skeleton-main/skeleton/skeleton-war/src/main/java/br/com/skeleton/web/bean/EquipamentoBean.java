@@ -2,20 +2,33 @@ package br.com.skeleton.web.bean;
 
 import br.com.skeleton.business.entity.Equipamento;
 import br.com.skeleton.business.facade.EquipamentoFacade;
+import br.com.skeleton.business.facade.EquipamentoResumo;
+import br.com.skeleton.business.facade.EquipamentoValidador;
+import br.com.skeleton.business.facade.ResultadoAtualizacao;
+import br.com.skeleton.business.metricas.MetricasInterceptor;
 import jakarta.annotation.PostConstruct;
 import jakarta.ejb.EJB;
 import jakarta.faces.application.FacesMessage;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.view.ViewScoped;
 import jakarta.inject.Named;
+import jakarta.interceptor.Interceptors;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-
+import org.primefaces.model.LazyDataModel;
+
+/**
+ * Tela de cadastro de equipamentos.
+ * <p>
+ * O estado guardado na sessão é mínimo e não cresce com a tabela: os formulários de
+ * inclusão e alteração, o ID buscado e, na tabela, apenas a página visível como
+ * {@link EquipamentoResumo}. A paginação, a ordenação e os filtros ficam no estado do
+ * próprio componente de tabela. O modelo da tabela é transiente e recriado quando a
+ * tela é restaurada de outra instância; os dados vêm sob demanda do cache da fachada.
+ */
 @Named
 @ViewScoped
 public class EquipamentoBean implements Serializable {
@@ -29,11 +42,11 @@ public class EquipamentoBean implements Serializable {
     private Equipamento equipamento;
     private Long equipamentoId;
     private Equipamento equipamentoParaAtualizar;
-    private List<Equipamento> equipamentos;
+    private Equipamento equipamentoOriginal;
+    private transient LazyDataModel<EquipamentoResumo> equipamentos;
 
     @PostConstruct
     public void init() {
-        equipamentos = new ArrayList<>();
         equipamento = new Equipamento();
         equipamentoParaAtualizar = new Equipamento();
 
@@ -43,8 +56,7 @@ public class EquipamentoBean implements Serializable {
                 FacesContext.getCurrentInstance().addMessage(null,
                         new FacesMessage(FacesMessage.SEVERITY_ERROR, "Erro na inicialização", "equipamentoFacade não foi injetado."));
             } else {
-                LOGGER.info("Injeção bem-sucedida!");
-                equipamentos = equipamentoFacade.findAll();
+                LOGGER.fine("Injeção bem-sucedida!");
             }
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro durante a inicialização do bean", e);
@@ -53,11 +65,11 @@ public class EquipamentoBean implements Serializable {
         }
     }
 
+    @Interceptors(MetricasInterceptor.class)
     public void create() {
         try {
             validateDates(equipamento.getDatadechegada(), equipamento.getValidade());
             equipamentoFacade.create(equipamento);
-            equipamentos.add(equipamento);
             clearForm();
             FacesContext.getCurrentInstance().addMessage(null,
                     new FacesMessage(FacesMessage.SEVERITY_INFO, "Sucesso", "Equipamento salvo com sucesso!"));
@@ -68,6 +80,7 @@ public class EquipamentoBean implements Serializable {
         }
     }
 
+    @Interceptors(MetricasInterceptor.class)
     public void update() {
         try {
             if (equipamentoParaAtualizar == null || equipamentoParaAtualizar.getId() == null) {
@@ -76,9 +89,22 @@ public class EquipamentoBean implements Serializable {
                 return;
             }
             validateDates(equipamentoParaAtualizar.getDatadechegada(), equipamentoParaAtualizar.getValidade());
-            equipamentoFacade.update(equipamentoParaAtualizar);
-            equipamentos.replaceAll(e -> e.getId().equals(equipamentoParaAtualizar.getId()) ? equipamentoParaAtualizar : e);
+            if (equipamentoOriginal == null || !equipamentoOriginal.getId().equals(equipamentoParaAtualizar.getId())) {
+                equipamentoFacade.update(equipamentoParaAtualizar);
+            } else {
+                ResultadoAtualizacao resultado = equipamentoFacade.updateWithRetry(equipamentoOriginal, equipamentoParaAtualizar);
+                if (!resultado.isGravado()) {
+                    tratarAtualizacaoRecusada(resultado);
+                    return;
+                }
+                if (resultado.getSituacao() == ResultadoAtualizacao.Situacao.MESCLADO) {
+                    FacesContext.getCurrentInstance().addMessage(null,
+                            new FacesMessage(FacesMessage.SEVERITY_INFO, "Aviso",
+                                    "O equipamento foi alterado por outro usuário; suas alterações foram combinadas com as dele."));
+                }
+            }
             equipamentoParaAtualizar = new Equipamento();
+            equipamentoOriginal = null;
             FacesContext.getCurrentInstance().addMessage(null,
                     new FacesMessage(FacesMessage.SEVERITY_INFO, "Sucesso", "Equipamento atualizado com sucesso!"));
         } catch (Exception e) {
@@ -88,6 +114,7 @@ public class EquipamentoBean implements Serializable {
         }
     }
 
+    @Interceptors(MetricasInterceptor.class)
     public void delete(Long id) {
         try {
             if (id == null) {
@@ -96,7 +123,6 @@ public class EquipamentoBean implements Serializable {
                 return;
             }
             equipamentoFacade.delete(id);
-            equipamentos.removeIf(e -> e.getId().equals(id));
             FacesContext.getCurrentInstance().addMessage(null,
                     new FacesMessage(FacesMessage.SEVERITY_INFO, "Sucesso", "Equipamento deletado com sucesso!"));
         } catch (Exception e) {
@@ -106,10 +132,12 @@ public class EquipamentoBean implements Serializable {
         }
     }
 
+    @Interceptors(MetricasInterceptor.class)
     public void buscarEquipamento() {
         try {
             if (equipamentoId != null) {
                 equipamentoParaAtualizar = equipamentoFacade.findById(equipamentoId);
+                equipamentoOriginal = equipamentoParaAtualizar != null ? new Equipamento(equipamentoParaAtualizar) : null;
 
                 if (equipamentoParaAtualizar == null) {
                     FacesContext.getCurrentInstance().addMessage(null,
@@ -129,17 +157,38 @@ public class EquipamentoBean implements Serializable {
         }
     }
 
+    /**
+     * Carrega no formulário de alteração o equipamento de uma linha da tabela.
+     *
+     * @param id O ID do equipamento da linha.
+     */
+    public void editar(Long id) {
+        equipamentoId = id;
+        buscarEquipamento();
+    }
+
+    private void tratarAtualizacaoRecusada(ResultadoAtualizacao resultado) {
+        if (resultado.getSituacao() == ResultadoAtualizacao.Situacao.NAO_ENCONTRADO) {
+            equipamentoParaAtualizar = new Equipamento();
+            equipamentoOriginal = null;
+            FacesContext.getCurrentInstance().addMessage(null,
+                    new FacesMessage(FacesMessage.SEVERITY_WARN, "Aviso", "O equipamento foi removido por outro usuário."));
+            return;
+        }
+        // Recarrega o estado atual para que o usuário revise e reaplique as alterações.
+        equipamentoOriginal = new Equipamento(resultado.getEquipamento());
+        FacesContext.getCurrentInstance().addMessage(null,
+                new FacesMessage(FacesMessage.SEVERITY_WARN, "Conflito",
+                        "Outro usuário alterou os mesmos campos: " + String.join(", ", resultado.getCamposEmConflito())
+                                + ". Revise os valores e salve novamente."));
+    }
+
     private void clearForm() {
         equipamento = new Equipamento();
     }
 
     private void validateDates(LocalDate datadechegada, LocalDate validade) {
-        if (datadechegada == null || validade == null) {
-            throw new IllegalArgumentException("As datas de chegada e validade não podem ser nulas.");
-        }
-        if (datadechegada.isAfter(validade)) {
-            throw new IllegalArgumentException("A data de chegada não pode ser posterior à validade.");
-        }
+        EquipamentoValidador.validarDatas(datadechegada, validade);
     }
 
     public String formatDate(LocalDate date) {
@@ -152,6 +201,10 @@ public class EquipamentoBean implements Serializable {
         return equipamento;
     }
 
+    public Long getEquipamentoId() {
+        return equipamentoId;
+    }
+
     public void setEquipamentoId(Long equipamentoId) {
         this.equipamentoId = equipamentoId;
     }
@@ -164,13 +217,10 @@ public class EquipamentoBean implements Serializable {
         this.equipamentoParaAtualizar = equipamentoParaAtualizar;
     }
 
-    public List<Equipamento> getEquipamentos() {
+    public LazyDataModel<EquipamentoResumo> getEquipamentos() {
+        if (equipamentos == null && equipamentoFacade != null) {
+            equipamentos = new EquipamentoLazyDataModel(equipamentoFacade);
+        }
         return equipamentos;
     }
-
-    public void setEquipamentos(List<Equipamento> equipamentos) {
-        this.equipamentos = equipamentos;
-    }
-}
-
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package br.com.skeleton.web.bean;
+
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.facade.EquipamentoFacade;
+import br.com.skeleton.business.facade.EquipamentoFiltro;
+import br.com.skeleton.business.facade.EquipamentoResumo;
+import java.util.List;
+import java.util.Map;
+import org.primefaces.model.FilterMeta;
+import org.primefaces.model.LazyDataModel;
+import org.primefaces.model.SortMeta;
+import org.primefaces.model.SortOrder;
+
+/**
+ * Modelo lazy da tabela de equipamentos: busca no banco apenas a página visível, já
+ * projetada em {@link EquipamentoResumo}, sem carregar entidades. As páginas vêm do
+ * cache de resumos da fachada, compartilhado entre todas as telas.
+ */
+public class EquipamentoLazyDataModel extends LazyDataModel<EquipamentoResumo> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final EquipamentoFacade equipamentoFacade;
+
+    public EquipamentoLazyDataModel(EquipamentoFacade equipamentoFacade) {
+        this.equipamentoFacade = equipamentoFacade;
+    }
+
+    @Override
+    public int count(Map<String, FilterMeta> filterBy) {
+        return Math.toIntExact(equipamentoFacade.count(toFiltro(filterBy)));
+    }
+
+    @Override
+    public List<EquipamentoResumo> load(int first, int pageSize, Map<String, SortMeta> sortBy, Map<String, FilterMeta> filterBy) {
+        String sortField = null;
+        boolean ascending = true;
+        if (sortBy != null) {
+            for (SortMeta meta : sortBy.values()) {
+                if (meta.getOrder() != null && !meta.getOrder().isUnsorted()) {
+                    sortField = meta.getField();
+                    ascending = meta.getOrder() == SortOrder.ASCENDING;
+                    break;
+                }
+            }
+        }
+        return equipamentoFacade.findPageResumos(toFiltro(filterBy), first, pageSize, sortField, ascending);
+    }
+
+    @Override
+    public String getRowKey(EquipamentoResumo equipamento) {
+        return equipamento.getId() != null ? equipamento.getId().toString() : null;
+    }
+
+    @Override
+    public EquipamentoResumo getRowData(String rowKey) {
+        if (rowKey == null || rowKey.isBlank()) {
+            return null;
+        }
+        List<EquipamentoResumo> pagina = getWrappedData();
+        if (pagina != null) {
+            for (EquipamentoResumo resumo : pagina) {
+                if (rowKey.equals(getRowKey(resumo))) {
+                    return resumo;
+                }
+            }
+        }
+        Equipamento equipamento = equipamentoFacade.findById(Long.valueOf(rowKey));
+        return equipamento != null ? EquipamentoResumo.de(equipamento) : null;
+    }
+
+    private EquipamentoFiltro toFiltro(Map<String, FilterMeta> filterBy) {
+        EquipamentoFiltro filtro = new EquipamentoFiltro();
+        if (filterBy == null) {
+            return filtro;
+        }
+        for (FilterMeta meta : filterBy.values()) {
+            Object valor = meta.getFilterValue();
+            if (valor == null) {
+                continue;
+            }
+            if ("nome".equals(meta.getField())) {
+                filtro.setNome(valor.toString());
+            } else if ("status".equals(meta.getField())) {
+                filtro.setStatus(valor.toString());
+            }
+        }
+        return filtro;
+    }
+}
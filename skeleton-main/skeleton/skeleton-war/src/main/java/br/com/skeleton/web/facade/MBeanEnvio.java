@@ -1,9 +1,15 @@
 package br.com.skeleton.web.facade;
 
 import java.io.Serializable;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import br.com.skeleton.business.entity.Config;
+import br.com.skeleton.business.outbox.OutboxFacade;
 import jakarta.annotation.PostConstruct;
+import jakarta.ejb.EJB;
+import jakarta.faces.application.FacesMessage;
+import jakarta.faces.context.FacesContext;
 import jakarta.faces.view.ViewScoped;
 import jakarta.inject.Named;
 
@@ -13,6 +19,11 @@ public class MBeanEnvio implements Serializable {
 
   private static final long serialVersionUID = -1526686423522311531L;
 
+  private static final Logger LOGGER = Logger.getLogger(MBeanEnvio.class.getName());
+
+  @EJB
+  private OutboxFacade outboxFacade;
+
   private Config config;
 
   public MBeanEnvio() {
@@ -46,10 +57,19 @@ public class MBeanEnvio implements Serializable {
                 new FacesMessage(FacesMessage.SEVERITY_ERROR, "Erro", "Configuração não foi inicializada."));
         return;
       }
+      if (config.getMensagem() == null || config.getMensagem().trim().isEmpty()) {
+        FacesContext.getCurrentInstance().addMessage(null,
+                new FacesMessage(FacesMessage.SEVERITY_ERROR, "Erro", "Informe a mensagem a ser enviada."));
+        return;
+      }
 
-      LOGGER.info("Enviando dados: " + config);
+      // A mensagem é gravada no outbox na mesma transação da configuração e entregue
+      // em segundo plano; uma falha no destino não se perde nem bloqueia a tela.
+      String chave = outboxFacade.enviarConfig(config);
+      LOGGER.log(Level.INFO, "Dados enfileirados para envio: {0}", chave);
+      config = new Config();
       FacesContext.getCurrentInstance().addMessage(null,
-              new FacesMessage(FacesMessage.SEVERITY_INFO, "Sucesso", "Dados enviados com sucesso!"));
+              new FacesMessage(FacesMessage.SEVERITY_INFO, "Sucesso", "Dados enfileirados para envio."));
 
     } catch (Exception e) {
       LOGGER.log(Level.SEVERE, "Erro ao enviar dados", e);
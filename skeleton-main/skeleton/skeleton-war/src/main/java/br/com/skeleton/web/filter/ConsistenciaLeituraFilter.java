@@ -0,0 +1,71 @@
+package br.com.skeleton.web.filter;
+
+import br.com.skeleton.business.replica.ContextoLeitura;
+import br.com.skeleton.business.replica.RoteadorLeitura;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Leitura das próprias gravações com a réplica: a posição no WAL (LSN) da última gravação
+ * do cliente viaja no cookie {@value #COOKIE}, válido pela janela do {@link RoteadorLeitura}.
+ * Cada requisição vincula um {@link ContextoLeitura} com essa posição, e uma nova gravação
+ * renova o cookie. Passada a janela, o cookie expira: a réplica, com atraso menor que a
+ * janela, já aplicou a gravação.
+ * <p>
+ * O cookie é gravado quando a gravação é confirmada, antes de a resposta ser enviada: na
+ * fase de ação do JSF ou, nas requisições assíncronas do JAX-RS, enquanto a resposta está
+ * suspensa.
+ */
+@WebFilter(urlPatterns = "/*", asyncSupported = true)
+public class ConsistenciaLeituraFilter extends HttpFilter {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String COOKIE = "skeleton-gravacao";
+
+    @Override
+    protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        long janela = RoteadorLeitura.janelaMs();
+        String caminho = request.getContextPath().isEmpty() ? "/" : request.getContextPath();
+        ContextoLeitura contexto = new ContextoLeitura(lsnGravacao(request), lsn -> {
+            if (!response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE, Long.toString(lsn));
+                cookie.setPath(caminho);
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, (janela + 999) / 1000));
+                response.addCookie(cookie);
+            }
+        });
+        ContextoLeitura anterior = ContextoLeitura.vincular(contexto);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ContextoLeitura.restaurar(anterior);
+        }
+    }
+
+    private static long lsnGravacao(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    // Um valor adulterado só afeta o próprio cliente: no máximo o fixa no primário.
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.skeleton.web.resource;
+
+import br.com.skeleton.business.cache.EquipamentoCache;
+import br.com.skeleton.business.cache.EstatisticasCache;
+import jakarta.ejb.EJB;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import java.util.List;
+
+/**
+ * Estatísticas de acertos, faltas, descartes e expirações das regiões de cache,
+ * usadas para dimensionar capacidade e TTL.
+ */
+@Path("cache")
+@RequestScoped
+public class CacheResource {
+
+    @EJB
+    private EquipamentoCache equipamentoCache;
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<EstatisticasCache> estatisticas() {
+        return equipamentoCache.estatisticas();
+    }
+}
@@ -0,0 +1,181 @@
+package br.com.skeleton.web.resource;
+
+import br.com.skeleton.business.alteracoes.AlteracaoEquipamento;
+import br.com.skeleton.business.alteracoes.FeedAlteracoes;
+import br.com.skeleton.business.execucao.ExecutorAplicacao;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.ejb.EJB;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Conexões SSE abertas em /api/equipamentos/changes e o envio das alterações do
+ * {@link FeedAlteracoes} a cada uma.
+ * <p>
+ * Cada conexão guarda a última sequência enviada e recebe, em ordem, tudo o que veio
+ * depois. O envio roda no {@link ExecutorAplicacao}, nunca na thread que fez o commit.
+ * Quando a conexão não pode ser retomada (sequência descartada ou servidor reiniciado),
+ * o cliente recebe um evento {@code reset} e deve recarregar os dados.
+ */
+@ApplicationScoped
+public class CanalAlteracoes {
+
+    private static final Logger LOGGER = Logger.getLogger(CanalAlteracoes.class.getName());
+
+    private static final int ALTERACOES_POR_LEITURA = 500;
+    private static final long ESPERA_RECONEXAO_MS = 3_000;
+    static final String EVENTO_RESET = "reset";
+
+    @EJB
+    private FeedAlteracoes feed;
+
+    @EJB
+    private ExecutorAplicacao executor;
+
+    private final Set<Assinatura> assinaturas = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean agendado = new AtomicBoolean();
+    private final Runnable ouvinte = this::agendar;
+
+    @PostConstruct
+    public void iniciar() {
+        feed.adicionarOuvinte(ouvinte);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        feed.removerOuvinte(ouvinte);
+        assinaturas.forEach(assinatura -> assinatura.sink.close());
+        assinaturas.clear();
+    }
+
+    /**
+     * Registra uma nova conexão.
+     *
+     * @param sink     A conexão SSE.
+     * @param sse      A fábrica de eventos.
+     * @param ultimoId O ID do último evento visto pelo cliente (Last-Event-ID), ou null
+     *                 para receber apenas as alterações a partir de agora.
+     */
+    public void assinar(SseEventSink sink, Sse sse, String ultimoId) {
+        Assinatura assinatura = new Assinatura(sink, sse, feed.getUltimaSequencia());
+        if (ultimoId != null) {
+            Long sequencia = sequencia(ultimoId);
+            if (sequencia != null) {
+                assinatura.enviada = sequencia;
+            } else {
+                enviarReset(assinatura);
+            }
+        }
+        assinaturas.add(assinatura);
+        agendar();
+    }
+
+    private void agendar() {
+        if (agendado.compareAndSet(false, true)) {
+            executor.executor().execute(this::distribuir);
+        }
+    }
+
+    private void distribuir() {
+        agendado.set(false);
+        for (Assinatura assinatura : assinaturas) {
+            try {
+                enviarPendentes(assinatura);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.FINE, "Conexão SSE encerrada", e);
+                fechar(assinatura);
+            }
+        }
+    }
+
+    private void enviarPendentes(Assinatura assinatura) {
+        synchronized (assinatura) {
+            while (!assinatura.sink.isClosed()) {
+                List<AlteracaoEquipamento> pendentes = feed.desde(assinatura.enviada, ALTERACOES_POR_LEITURA);
+                if (pendentes == null) {
+                    enviarReset(assinatura);
+                    continue;
+                }
+                if (pendentes.isEmpty()) {
+                    return;
+                }
+                for (AlteracaoEquipamento alteracao : pendentes) {
+                    enviar(assinatura, assinatura.sse.newEventBuilder()
+                            .id(id(alteracao.getSequencia()))
+                            .name(alteracao.getTipo().name().toLowerCase(Locale.ROOT))
+                            .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                            .data(AlteracaoEquipamento.class, alteracao)
+                            .build());
+                    assinatura.enviada = alteracao.getSequencia();
+                }
+            }
+            fechar(assinatura);
+        }
+    }
+
+    private void enviarReset(Assinatura assinatura) {
+        long ultima = feed.getUltimaSequencia();
+        enviar(assinatura, assinatura.sse.newEventBuilder()
+                .id(id(ultima))
+                .name(EVENTO_RESET)
+                .reconnectDelay(ESPERA_RECONEXAO_MS)
+                .data("recarregar")
+                .build());
+        assinatura.enviada = ultima;
+    }
+
+    private void enviar(Assinatura assinatura, OutboundSseEvent evento) {
+        assinatura.sink.send(evento).whenComplete((nada, erro) -> {
+            if (erro != null) {
+                fechar(assinatura);
+            }
+        });
+    }
+
+    private void fechar(Assinatura assinatura) {
+        assinaturas.remove(assinatura);
+        assinatura.sink.close();
+    }
+
+    private String id(long sequencia) {
+        return feed.getGeracao() + "-" + sequencia;
+    }
+
+    /**
+     * @return A sequência contida no ID, ou null se o ID for inválido ou de outra geração do feed.
+     */
+    private Long sequencia(String id) {
+        int separador = id.indexOf('-');
+        try {
+            if (separador > 0 && Long.parseLong(id.substring(0, separador)) == feed.getGeracao()) {
+                return Long.parseLong(id.substring(separador + 1));
+            }
+        } catch (NumberFormatException e) {
+            LOGGER.log(Level.FINE, "Last-Event-ID inválido: {0}", id);
+        }
+        return null;
+    }
+
+    private static final class Assinatura {
+        private final SseEventSink sink;
+        private final Sse sse;
+        private long enviada;
+
+        private Assinatura(SseEventSink sink, Sse sse, long enviada) {
+            this.sink = sink;
+            this.sse = sse;
+            this.enviada = enviada;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.skeleton.web.resource;
+
+import br.com.skeleton.business.facade.ConflitoAtualizacaoException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Conflitos de versão detectados pela fachada voltam como 412: o estado que o cliente
+ * tinha em mãos deixou de ser o atual.
+ */
+@Provider
+public class ConflitoAtualizacaoExceptionMapper implements ExceptionMapper<ConflitoAtualizacaoException> {
+
+    @Override
+    public Response toResponse(ConflitoAtualizacaoException e) {
+        return Response.status(Response.Status.PRECONDITION_FAILED)
+                .type(MediaType.TEXT_PLAIN_TYPE.withCharset("UTF-8"))
+                .entity(e.getMessage())
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.skeleton.web.resource;
+
+import jakarta.ejb.EJBException;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * O contêiner EJB embrulha exceções de runtime da fachada em {@link EJBException}.
+ * Erros de validação voltam como 400; os demais, como 500.
+ */
+@Provider
+public class EJBExceptionMapper implements ExceptionMapper<EJBException> {
+
+    private static final Logger LOGGER = Logger.getLogger(EJBExceptionMapper.class.getName());
+
+    @Override
+    public Response toResponse(EJBException e) {
+        for (Throwable causa = e.getCause(); causa != null; causa = causa.getCause()) {
+            if (causa instanceof IllegalArgumentException) {
+                return IllegalArgumentExceptionMapper.badRequest((IllegalArgumentException) causa);
+            }
+        }
+        LOGGER.log(Level.SEVERE, "Erro na chamada da fachada", e);
+        return Response.serverError().build();
+    }
+}
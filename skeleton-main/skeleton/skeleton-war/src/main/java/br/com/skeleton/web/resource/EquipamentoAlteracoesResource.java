@@ -0,0 +1,43 @@
+package br.com.skeleton.web.resource;
+
+import br.com.skeleton.web.admissao.Admissao;
+import br.com.skeleton.web.admissao.ClasseAdmissao;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+
+/**
+ * Stream SSE das alterações de equipamentos após o commit. Cada evento tem como nome o tipo
+ * da alteração ({@code criado}, {@code atualizado} ou {@code removido}) e como dados a
+ * alteração em JSON, com os IDs afetados e, em operações individuais, o equipamento gravado.
+ * <p>
+ * Para retomar de onde parou, o cliente informa o último ID recebido no cabeçalho
+ * Last-Event-ID (o EventSource do navegador faz isso ao reconectar) ou no parâmetro
+ * {@code desde}. Sem nenhum dos dois, recebe só as alterações a partir da conexão.
+ */
+@Path("equipamentos/changes")
+@RequestScoped
+@Admissao(ClasseAdmissao.ISENTA)
+public class EquipamentoAlteracoesResource {
+
+    @Inject
+    private CanalAlteracoes canal;
+
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void assinar(@Context SseEventSink sink,
+                        @Context Sse sse,
+                        @HeaderParam(HttpHeaders.LAST_EVENT_ID_HEADER) String ultimoId,
+                        @QueryParam("desde") String desde) {
+        canal.assinar(sink, sse, ultimoId != null ? ultimoId : desde);
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.skeleton.web.resource;
+
+import br.com.skeleton.business.facade.EquipamentoFacade;
+import br.com.skeleton.business.facade.EquipamentoFiltro;
+import br.com.skeleton.web.admissao.Admissao;
+import br.com.skeleton.web.admissao.ClasseAdmissao;
+import jakarta.ejb.EJB;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.logging.Logger;
+
+/**
+ * Exportação do inventário de equipamentos em CSV ou NDJSON.
+ * <p>
+ * As linhas são lidas por cursor e escritas na resposta à medida que chegam do banco,
+ * de modo que o uso de memória não depende do tamanho da exportação. Se o cliente
+ * desconectar, a escrita falha e a leitura é interrompida.
+ */
+@Path("equipamentos/export")
+@RequestScoped
+@Admissao(ClasseAdmissao.PESADA)
+public class EquipamentoExportResource {
+
+    private static final Logger LOGGER = Logger.getLogger(EquipamentoExportResource.class.getName());
+
+    private static final int FETCH_SIZE = 1_000;
+    private static final int BUFFER = 64 * 1024;
+
+    @EJB
+    private EquipamentoFacade equipamentoFacade;
+
+    @GET
+    public Response exportar(@QueryParam("formato") @DefaultValue(EquipamentoExportWriter.CSV) String formato,
+                             @QueryParam("status") String status,
+                             @QueryParam("validadeDe") String validadeDe,
+                             @QueryParam("validadeAte") String validadeAte,
+                             @QueryParam("valorMin") String valorMin,
+                             @QueryParam("valorMax") String valorMax) {
+        if (!EquipamentoExportWriter.CSV.equals(formato) && !EquipamentoExportWriter.NDJSON.equals(formato)) {
+            throw new BadRequestException("Formato inválido: " + formato);
+        }
+        EquipamentoFiltro filtro = new EquipamentoFiltro();
+        filtro.setStatus(status);
+        filtro.setValidadeDe(data(validadeDe));
+        filtro.setValidadeAte(data(validadeAte));
+        filtro.setValorMin(decimal(valorMin));
+        filtro.setValorMax(decimal(valorMax));
+
+        StreamingOutput corpo = output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER);
+            EquipamentoExportWriter exportador = EquipamentoExportWriter.of(formato, writer);
+            exportador.cabecalho();
+            try {
+                long total = equipamentoFacade.forEach(filtro, FETCH_SIZE, exportador::escrever);
+                writer.flush();
+                LOGGER.fine(() -> "Exportação concluída: " + total + " equipamentos");
+            } catch (IOException e) {
+                LOGGER.info("Exportação interrompida pelo cliente: " + e.getMessage());
+                throw e;
+            }
+        };
+
+        boolean csv = EquipamentoExportWriter.CSV.equals(formato);
+        return Response.ok(corpo, csv ? "text/csv; charset=UTF-8" : "application/x-ndjson; charset=UTF-8")
+                .header("Content-Disposition", "attachment; filename=\"equipamentos." + formato + "\"")
+                .build();
+    }
+
+    private static LocalDate data(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Data inválida (use yyyy-MM-dd): " + valor);
+        }
+    }
+
+    private static BigDecimal decimal(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(valor);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Valor inválido: " + valor);
+        }
+    }
+}
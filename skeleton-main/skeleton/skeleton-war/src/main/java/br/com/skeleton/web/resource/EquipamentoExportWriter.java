@@ -0,0 +1,155 @@
+package br.com.skeleton.web.resource;
+
+import br.com.skeleton.business.entity.Equipamento;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Serializa equipamentos linha a linha para exportação, sem montar o documento em memória.
+ * O CSV usa as mesmas colunas aceitas pela importação.
+ */
+abstract class EquipamentoExportWriter {
+
+    static final String CSV = "csv";
+    static final String NDJSON = "ndjson";
+
+    protected final Writer writer;
+
+    protected EquipamentoExportWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    static EquipamentoExportWriter of(String formato, Writer writer) {
+        return NDJSON.equals(formato) ? new Ndjson(writer) : new Csv(writer);
+    }
+
+    abstract void cabecalho() throws IOException;
+
+    abstract void escrever(Equipamento equipamento) throws IOException;
+
+    private static String texto(Object valor) {
+        return valor != null ? valor.toString() : "";
+    }
+
+    static final class Csv extends EquipamentoExportWriter {
+
+        Csv(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        void cabecalho() throws IOException {
+            writer.write("id,nome,descricao,data_de_chegada,validade,valor,status,created_at,updated_at\n");
+        }
+
+        @Override
+        void escrever(Equipamento e) throws IOException {
+            writer.write(texto(e.getId()));
+            writer.write(',');
+            campo(e.getNome());
+            writer.write(',');
+            campo(e.getDescricao());
+            writer.write(',');
+            writer.write(texto(e.getDatadechegada()));
+            writer.write(',');
+            writer.write(texto(e.getValidade()));
+            writer.write(',');
+            writer.write(e.getValor() != null ? e.getValor().toPlainString() : "");
+            writer.write(',');
+            campo(e.getStatus());
+            writer.write(',');
+            writer.write(texto(e.getCreatedAt()));
+            writer.write(',');
+            writer.write(texto(e.getUpdatedAt()));
+            writer.write('\n');
+        }
+
+        private void campo(String valor) throws IOException {
+            if (valor == null) {
+                return;
+            }
+            boolean precisaAspas = false;
+            for (int i = 0; i < valor.length() && !precisaAspas; i++) {
+                char c = valor.charAt(i);
+                precisaAspas = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!precisaAspas) {
+                writer.write(valor);
+                return;
+            }
+            writer.write('"');
+            writer.write(valor.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    static final class Ndjson extends EquipamentoExportWriter {
+
+        Ndjson(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        void cabecalho() {
+            // NDJSON não tem cabeçalho: cada linha é um objeto completo.
+        }
+
+        @Override
+        void escrever(Equipamento e) throws IOException {
+            writer.write("{\"id\":");
+            writer.write(e.getId() != null ? e.getId().toString() : "null");
+            writer.write(",\"nome\":");
+            string(e.getNome());
+            writer.write(",\"descricao\":");
+            string(e.getDescricao());
+            writer.write(",\"datadechegada\":");
+            string(e.getDatadechegada() != null ? e.getDatadechegada().toString() : null);
+            writer.write(",\"validade\":");
+            string(e.getValidade() != null ? e.getValidade().toString() : null);
+            writer.write(",\"valor\":");
+            writer.write(e.getValor() != null ? e.getValor().toPlainString() : "null");
+            writer.write(",\"status\":");
+            string(e.getStatus());
+            writer.write(",\"createdAt\":");
+            string(e.getCreatedAt() != null ? e.getCreatedAt().toString() : null);
+            writer.write(",\"updatedAt\":");
+            string(e.getUpdatedAt() != null ? e.getUpdatedAt().toString() : null);
+            writer.write("}\n");
+        }
+
+        private void string(String valor) throws IOException {
+            if (valor == null) {
+                writer.write("null");
+                return;
+            }
+            writer.write('"');
+            for (int i = 0; i < valor.length(); i++) {
+                char c = valor.charAt(i);
+                switch (c) {
+                    case '"':
+                        writer.write("\\\"");
+                        break;
+                    case '\\':
+                        writer.write("\\\\");
+                        break;
+                    case '\n':
+                        writer.write("\\n");
+                        break;
+                    case '\r':
+                        writer.write("\\r");
+                        break;
+                    case '\t':
+                        writer.write("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            writer.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            writer.write(c);
+                        }
+                }
+            }
+            writer.write('"');
+        }
+    }
+}
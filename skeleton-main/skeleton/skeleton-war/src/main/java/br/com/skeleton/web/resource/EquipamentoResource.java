@@ -0,0 +1,299 @@
+package br.com.skeleton.web.resource;
+
+import br.com.skeleton.business.busca.IndiceNomes;
+import br.com.skeleton.business.entity.Equipamento;
+import br.com.skeleton.business.facade.EquipamentoFacadeAsync;
+import br.com.skeleton.business.facade.EquipamentoFiltro;
+import br.com.skeleton.business.facade.EquipamentoValidador;
+import br.com.skeleton.web.admissao.Admissao;
+import br.com.skeleton.web.admissao.ClasseAdmissao;
+import jakarta.ejb.EJB;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API REST de equipamentos.
+ * <p>
+ * Cada equipamento é servido com ETag e Last-Modified derivados de {@code updatedAt}.
+ * GETs condicionais (If-None-Match / If-Modified-Since) respondem 304 a partir do cache
+ * da fachada, sem ida ao banco. PUT e DELETE exigem If-Match com a ETag atual (controle
+ * de concorrência otimista): se o equipamento mudou desde a leitura, a resposta é 412.
+ * <p>
+ * Os métodos são assíncronos: a requisição é suspensa e a thread do servidor liberada
+ * enquanto a {@link EquipamentoFacadeAsync} acessa o banco; a resposta é retomada quando
+ * o {@link CompletionStage} completa, ou com 503 após {@link #TIMEOUT_SEGUNDOS}.
+ */
+@Path("equipamentos")
+@RequestScoped
+@Produces(MediaType.APPLICATION_JSON)
+public class EquipamentoResource {
+
+    private static final int PAGE_SIZE_MAXIMO = 500;
+    private static final int STATUS_PRECONDITION_REQUIRED = 428;
+    private static final long TIMEOUT_SEGUNDOS = 30;
+
+    @EJB
+    private EquipamentoFacadeAsync equipamentoFacade;
+
+    @EJB
+    private IndiceNomes indiceNomes;
+
+    @GET
+    @Admissao(ClasseAdmissao.CONSULTA)
+    public void listar(@QueryParam("first") @DefaultValue("0") int first,
+                       @QueryParam("pageSize") @DefaultValue("20") int pageSize,
+                       @QueryParam("sort") String sort,
+                       @QueryParam("asc") @DefaultValue("true") boolean asc,
+                       @QueryParam("nome") String nome,
+                       @QueryParam("status") String status,
+                       @Suspended AsyncResponse resposta) {
+        if (pageSize > PAGE_SIZE_MAXIMO) {
+            throw new BadRequestException("pageSize máximo: " + PAGE_SIZE_MAXIMO);
+        }
+        EquipamentoFiltro filtro = new EquipamentoFiltro();
+        filtro.setNome(nome);
+        filtro.setStatus(status);
+        // Página e total são consultados em paralelo.
+        responder(resposta, equipamentoFacade.findPage(filtro, first, pageSize, sort, asc)
+                .thenCombine(equipamentoFacade.count(filtro),
+                        (itens, total) -> new Pagina<>(total, first, pageSize, itens)));
+    }
+
+    /**
+     * Listagem de resumos que inclui os equipamentos arquivados. O arquivo é particionado por
+     * ano de chegada; informar {@code chegadaDe}/{@code chegadaAte} limita a leitura às
+     * partições da faixa.
+     */
+    @GET
+    @Path("historico")
+    @Admissao(ClasseAdmissao.CONSULTA)
+    public void historico(@QueryParam("first") @DefaultValue("0") int first,
+                          @QueryParam("pageSize") @DefaultValue("20") int pageSize,
+                          @QueryParam("sort") String sort,
+                          @QueryParam("asc") @DefaultValue("true") boolean asc,
+                          @QueryParam("nome") String nome,
+                          @QueryParam("status") String status,
+                          @QueryParam("chegadaDe") String chegadaDe,
+                          @QueryParam("chegadaAte") String chegadaAte,
+                          @Suspended AsyncResponse resposta) {
+        if (pageSize > PAGE_SIZE_MAXIMO) {
+            throw new BadRequestException("pageSize máximo: " + PAGE_SIZE_MAXIMO);
+        }
+        EquipamentoFiltro filtro = new EquipamentoFiltro();
+        filtro.setNome(nome);
+        filtro.setStatus(status);
+        filtro.setChegadaDe(data("chegadaDe", chegadaDe));
+        filtro.setChegadaAte(data("chegadaAte", chegadaAte));
+        filtro.setIncluirArquivados(true);
+        responder(resposta, equipamentoFacade.findPageResumos(filtro, first, pageSize, sort, asc)
+                .thenCombine(equipamentoFacade.count(filtro),
+                        (itens, total) -> new Pagina<>(total, first, pageSize, itens)));
+    }
+
+    /**
+     * Busca por texto em nome e descrição, com resultados em ordem de relevância.
+     */
+    @GET
+    @Path("search")
+    @Admissao(ClasseAdmissao.CONSULTA)
+    public void pesquisar(@QueryParam("q") String termo,
+                          @QueryParam("first") @DefaultValue("0") int first,
+                          @QueryParam("pageSize") @DefaultValue("20") int pageSize,
+                          @Suspended AsyncResponse resposta) {
+        if (pageSize > PAGE_SIZE_MAXIMO) {
+            throw new BadRequestException("pageSize máximo: " + PAGE_SIZE_MAXIMO);
+        }
+        responder(resposta, equipamentoFacade.search(termo, first, pageSize)
+                .thenCombine(equipamentoFacade.countSearch(termo),
+                        (itens, total) -> new Pagina<>(total, first, pageSize, itens)));
+    }
+
+    /**
+     * Sugestões de nomes para o autocompletar, servidas do índice em memória. Não
+     * passa pela fachada nem pelo banco, por isso é síncrono.
+     */
+    @GET
+    @Path("autocomplete")
+    public List<String> autocompletar(@QueryParam("prefixo") String prefixo,
+                                      @QueryParam("limite") @DefaultValue("10") int limite) {
+        return indiceNomes.sugerir(prefixo, limite);
+    }
+
+    @GET
+    @Path("{id}")
+    public void buscar(@PathParam("id") Long id, @Context Request request, @Suspended AsyncResponse resposta) {
+        responder(resposta, equipamentoFacade.findById(id).thenApply(equipamento -> {
+            existente(id, equipamento);
+            EntityTag etag = etag(equipamento);
+            Date ultimaModificacao = ultimaModificacao(equipamento);
+            Response.ResponseBuilder naoModificado = ultimaModificacao != null
+                    ? request.evaluatePreconditions(ultimaModificacao, etag)
+                    : request.evaluatePreconditions(etag);
+            if (naoModificado != null) {
+                return naoModificado.tag(etag).build();
+            }
+            CacheControl cacheControl = new CacheControl();
+            cacheControl.setNoCache(true);
+            return Response.ok(equipamento)
+                    .tag(etag)
+                    .lastModified(ultimaModificacao)
+                    .cacheControl(cacheControl)
+                    .build();
+        }));
+    }
+
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    public void criar(Equipamento equipamento, @Context UriInfo uriInfo, @Suspended AsyncResponse resposta) {
+        if (equipamento == null) {
+            throw new BadRequestException("Corpo da requisição é obrigatório.");
+        }
+        equipamento.setId(null);
+        EquipamentoValidador.validar(equipamento);
+        UriBuilder local = uriInfo.getAbsolutePathBuilder();
+        responder(resposta, equipamentoFacade.create(equipamento).thenApply(criado ->
+                Response.created(local.path(String.valueOf(criado.getId())).build())
+                        .tag(etag(criado))
+                        .entity(criado)
+                        .build()));
+    }
+
+    @PUT
+    @Path("{id}")
+    @Consumes(MediaType.APPLICATION_JSON)
+    public void atualizar(@PathParam("id") Long id,
+                          @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
+                          Equipamento alteracoes,
+                          @Context Request request,
+                          @Suspended AsyncResponse resposta) {
+        if (alteracoes == null) {
+            throw new BadRequestException("Corpo da requisição é obrigatório.");
+        }
+        exigirIfMatch(ifMatch);
+        responder(resposta, equipamentoFacade.findById(id)
+                .thenCompose(atual -> {
+                    verificarIfMatch(id, atual, request);
+                    alteracoes.setId(id);
+                    alteracoes.setCreatedAt(atual.getCreatedAt());
+                    // A versão que casou com o If-Match protege contra gravações entre a verificação e o update.
+                    alteracoes.setVersao(atual.getVersao());
+                    EquipamentoValidador.validar(alteracoes);
+                    return equipamentoFacade.update(alteracoes);
+                })
+                .thenApply(atualizado -> {
+                    existente(id, atualizado);
+                    return Response.ok(atualizado).tag(etag(atualizado)).build();
+                }));
+    }
+
+    @DELETE
+    @Path("{id}")
+    public void remover(@PathParam("id") Long id,
+                        @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
+                        @Context Request request,
+                        @Suspended AsyncResponse resposta) {
+        exigirIfMatch(ifMatch);
+        responder(resposta, equipamentoFacade.findById(id)
+                .thenCompose(atual -> {
+                    verificarIfMatch(id, atual, request);
+                    // Como no PUT: remove só se ainda estiver na versão que casou com o If-Match.
+                    return equipamentoFacade.delete(id, atual.getVersao());
+                })
+                .thenApply(nada -> Response.noContent().build()));
+    }
+
+    /**
+     * Retoma a requisição suspensa quando o estágio completar. Exceções são desembrulhadas
+     * para que os ExceptionMappers e as WebApplicationExceptions funcionem como no modo síncrono.
+     */
+    private static void responder(AsyncResponse resposta, CompletionStage<?> estagio) {
+        resposta.setTimeout(TIMEOUT_SEGUNDOS, TimeUnit.SECONDS);
+        estagio.whenComplete((resultado, erro) -> {
+            if (erro != null) {
+                resposta.resume(erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro);
+            } else {
+                resposta.resume(resultado);
+            }
+        });
+    }
+
+    private static LocalDate data(String parametro, String valor) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Data inválida em " + parametro + " (use yyyy-MM-dd): " + valor);
+        }
+    }
+
+    private static void exigirIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new WebApplicationException(
+                    Response.status(STATUS_PRECONDITION_REQUIRED).entity("Cabeçalho If-Match é obrigatório.").build());
+        }
+    }
+
+    private static void verificarIfMatch(Long id, Equipamento atual, Request request) {
+        existente(id, atual);
+        Response.ResponseBuilder falhou = request.evaluatePreconditions(etag(atual));
+        if (falhou != null) {
+            throw new WebApplicationException(falhou.tag(etag(atual)).build());
+        }
+    }
+
+    private static void existente(Long id, Equipamento equipamento) {
+        if (equipamento == null) {
+            throw new NotFoundException("Equipamento não encontrado. ID: " + id);
+        }
+    }
+
+    static EntityTag etag(Equipamento equipamento) {
+        long versao = 0;
+        if (equipamento.getUpdatedAt() != null) {
+            Instant instante = equipamento.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant();
+            versao = instante.getEpochSecond() * 1_000_000 + instante.getNano() / 1_000;
+        }
+        return new EntityTag(equipamento.getId() + "-" + versao);
+    }
+
+    private static Date ultimaModificacao(Equipamento equipamento) {
+        return equipamento.getUpdatedAt() != null
+                ? Date.from(equipamento.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant())
+                : null;
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.skeleton.web.resource;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Converte erros de validação da fachada em respostas 400 com a mensagem do erro.
+ */
+@Provider
+public class IllegalArgumentExceptionMapper implements ExceptionMapper<IllegalArgumentException> {
+
+    @Override
+    public Response toResponse(IllegalArgumentException e) {
+        return badRequest(e);
+    }
+
+    static Response badRequest(IllegalArgumentException e) {
+        return Response.status(Response.Status.BAD_REQUEST)
+                .type(MediaType.TEXT_PLAIN_TYPE.withCharset("UTF-8"))
+                .entity(e.getMessage())
+                .build();
+    }
+}
@@ -0,0 +1,167 @@
+package br.com.skeleton.web.resource;
+
+import br.com.skeleton.business.arquivamento.ArquivamentoEquipamentos;
+import br.com.skeleton.business.metricas.HistogramaLatencia;
+import br.com.skeleton.business.metricas.MetricasMetodo;
+import br.com.skeleton.business.metricas.RegistroMetricas;
+import br.com.skeleton.business.replica.RoteadorLeitura;
+import br.com.skeleton.business.vencimento.VarreduraVencimento;
+import br.com.skeleton.web.admissao.Admissao;
+import br.com.skeleton.web.admissao.ClasseAdmissao;
+import br.com.skeleton.web.admissao.ControleAdmissao;
+import jakarta.ejb.EJB;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Métricas dos métodos instrumentados no formato texto do Prometheus (versão 0.0.4).
+ * Latência e tempo de banco são expostos como summaries com percentis calculados no servidor.
+ * Inclui também o progresso da varredura de vencimentos e do arquivamento, o roteamento
+ * das leituras para a réplica e o controle de admissão da API: requisições em execução,
+ * admitidas e recusadas por classe. A admissão não enfileira, por isso não há profundidade
+ * de fila; as recusas por concorrência mostram a demanda que não coube nas vagas.
+ */
+@Path("metrics")
+@RequestScoped
+@Admissao(ClasseAdmissao.ISENTA)
+public class MetricasResource {
+
+    private static final double[] QUANTIS = {0.5, 0.9, 0.99, 0.999};
+    private static final double NANOS_POR_SEGUNDO = 1_000_000_000d;
+
+    @EJB
+    private RegistroMetricas registro;
+
+    @EJB
+    private VarreduraVencimento varredura;
+
+    @EJB
+    private ArquivamentoEquipamentos arquivamento;
+
+    @EJB
+    private RoteadorLeitura roteador;
+
+    @Inject
+    private ControleAdmissao admissao;
+
+    @GET
+    @Produces("text/plain; version=0.0.4; charset=utf-8")
+    public String metricas() {
+        List<MetricasMetodo> metodos = registro.metodos();
+        StringBuilder saida = new StringBuilder(512 + metodos.size() * 1024);
+
+        cabecalho(saida, "skeleton_chamada_duracao_segundos", "summary", "Duração total das chamadas.");
+        for (MetricasMetodo metodo : metodos) {
+            summary(saida, "skeleton_chamada_duracao_segundos", metodo.getNome(), metodo.getLatencia());
+        }
+        cabecalho(saida, "skeleton_chamada_banco_segundos", "summary", "Tempo gasto executando comandos JDBC.");
+        for (MetricasMetodo metodo : metodos) {
+            summary(saida, "skeleton_chamada_banco_segundos", metodo.getNome(), metodo.getBanco());
+        }
+        cabecalho(saida, "skeleton_chamada_duracao_maxima_segundos", "gauge", "Maior duração observada.");
+        for (MetricasMetodo metodo : metodos) {
+            amostra(saida, "skeleton_chamada_duracao_maxima_segundos", metodo.getNome(), null,
+                    segundos(metodo.getLatencia().getMaximo()));
+        }
+        cabecalho(saida, "skeleton_chamada_linhas_total", "counter", "Linhas devolvidas pelas chamadas.");
+        for (MetricasMetodo metodo : metodos) {
+            amostra(saida, "skeleton_chamada_linhas_total", metodo.getNome(), null, Long.toString(metodo.getLinhas()));
+        }
+        cabecalho(saida, "skeleton_chamada_erros_total", "counter", "Chamadas encerradas com exceção.");
+        for (MetricasMetodo metodo : metodos) {
+            for (Map.Entry<String, Long> erro : metodo.getErros().entrySet()) {
+                saida.append("skeleton_chamada_erros_total{metodo=\"").append(metodo.getNome())
+                        .append("\",excecao=\"").append(erro.getKey()).append("\"} ")
+                        .append(erro.getValue()).append('\n');
+            }
+        }
+        vencimento(saida);
+        arquivamento(saida);
+        replica(saida);
+        admissao(saida);
+        return saida.toString();
+    }
+
+    private void vencimento(StringBuilder saida) {
+        cabecalho(saida, "skeleton_vencimento_linhas_total", "counter", "Equipamentos marcados como vencidos.");
+        saida.append("skeleton_vencimento_linhas_total ").append(varredura.getLinhasTotal()).append('\n');
+        cabecalho(saida, "skeleton_vencimento_linhas_por_segundo", "gauge",
+                "Vazão da varredura de vencimentos em andamento ou da última.");
+        saida.append("skeleton_vencimento_linhas_por_segundo ").append(varredura.getLinhasPorSegundo()).append('\n');
+        cabecalho(saida, "skeleton_vencimento_ids_pendentes", "gauge", "IDs ainda não percorridos pela varredura em andamento.");
+        saida.append("skeleton_vencimento_ids_pendentes ").append(varredura.getIdsPendentes()).append('\n');
+        cabecalho(saida, "skeleton_vencimento_atraso_segundos", "gauge",
+                "Segundos desde a data de referência da última varredura concluída (-1 se nenhuma).");
+        saida.append("skeleton_vencimento_atraso_segundos ").append(varredura.getAtrasoSegundos()).append('\n');
+    }
+
+    private void arquivamento(StringBuilder saida) {
+        cabecalho(saida, "skeleton_arquivamento_linhas_total", "counter", "Equipamentos movidos para o arquivo.");
+        saida.append("skeleton_arquivamento_linhas_total ").append(arquivamento.getLinhasTotal()).append('\n');
+    }
+
+    private void replica(StringBuilder saida) {
+        cabecalho(saida, "skeleton_replica_leituras_total", "counter", "Leituras da fachada por destino.");
+        saida.append("skeleton_replica_leituras_total{destino=\"replica\"} ").append(roteador.getLeiturasReplica()).append('\n');
+        saida.append("skeleton_replica_leituras_total{destino=\"primario\"} ").append(roteador.getLeiturasPrimario()).append('\n');
+        cabecalho(saida, "skeleton_replica_atraso_segundos", "gauge",
+                "Atraso da réplica na última sondagem (-1 se indisponível ou desabilitada).");
+        long atraso = roteador.getAtrasoMs();
+        saida.append("skeleton_replica_atraso_segundos ").append(atraso < 0 ? -1 : atraso / 1000d).append('\n');
+    }
+
+    private void admissao(StringBuilder saida) {
+        ClasseAdmissao[] classes = {ClasseAdmissao.CONSULTA, ClasseAdmissao.PESADA, ClasseAdmissao.ESCRITA, ClasseAdmissao.LEVE};
+        cabecalho(saida, "skeleton_admissao_em_execucao", "gauge", "Requisições da API em execução na classe.");
+        for (ClasseAdmissao classe : classes) {
+            saida.append("skeleton_admissao_em_execucao{classe=\"").append(classe.getNome()).append("\"} ")
+                    .append(admissao.getEmExecucao(classe)).append('\n');
+        }
+        cabecalho(saida, "skeleton_admissao_admitidas_total", "counter", "Requisições da API admitidas.");
+        for (ClasseAdmissao classe : classes) {
+            saida.append("skeleton_admissao_admitidas_total{classe=\"").append(classe.getNome()).append("\"} ")
+                    .append(admissao.getAdmitidas(classe)).append('\n');
+        }
+        cabecalho(saida, "skeleton_admissao_recusadas_total", "counter",
+                "Requisições da API recusadas com 429, por motivo (taxa ou concorrencia).");
+        for (ClasseAdmissao classe : classes) {
+            saida.append("skeleton_admissao_recusadas_total{classe=\"").append(classe.getNome()).append("\",motivo=\"taxa\"} ")
+                    .append(admissao.getRecusadasTaxa(classe)).append('\n');
+            saida.append("skeleton_admissao_recusadas_total{classe=\"").append(classe.getNome()).append("\",motivo=\"concorrencia\"} ")
+                    .append(admissao.getRecusadasConcorrencia(classe)).append('\n');
+        }
+        cabecalho(saida, "skeleton_admissao_clientes", "gauge", "Clientes com balde de tokens em memória.");
+        saida.append("skeleton_admissao_clientes ").append(admissao.getClientes()).append('\n');
+    }
+
+    private static void cabecalho(StringBuilder saida, String nome, String tipo, String ajuda) {
+        saida.append("# HELP ").append(nome).append(' ').append(ajuda).append('\n');
+        saida.append("# TYPE ").append(nome).append(' ').append(tipo).append('\n');
+    }
+
+    private static void summary(StringBuilder saida, String nome, String metodo, HistogramaLatencia histograma) {
+        long[] percentis = histograma.percentis(QUANTIS);
+        for (int i = 0; i < QUANTIS.length; i++) {
+            amostra(saida, nome, metodo, Double.toString(QUANTIS[i]), segundos(percentis[i]));
+        }
+        amostra(saida, nome + "_sum", metodo, null, segundos(histograma.getSoma()));
+        amostra(saida, nome + "_count", metodo, null, Long.toString(percentis[QUANTIS.length]));
+    }
+
+    private static void amostra(StringBuilder saida, String nome, String metodo, String quantil, String valor) {
+        saida.append(nome).append("{metodo=\"").append(metodo).append('"');
+        if (quantil != null) {
+            saida.append(",quantile=\"").append(quantil).append('"');
+        }
+        saida.append("} ").append(valor).append('\n');
+    }
+
+    private static String segundos(long nanos) {
+        return Double.toString(nanos / NANOS_POR_SEGUNDO);
+    }
+}
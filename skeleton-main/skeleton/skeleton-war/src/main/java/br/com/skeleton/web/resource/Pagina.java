@@ -0,0 +1,57 @@
+package br.com.skeleton.web.resource;
+
+import java.util.List;
+
+/**
+ * Página de resultados de uma listagem da API.
+ *
+ * @param <T> tipo dos itens
+ */
+public class Pagina<T> {
+
+    private long total;
+    private int first;
+    private int pageSize;
+    private List<T> itens;
+
+    public Pagina() {}
+
+    public Pagina(long total, int first, int pageSize, List<T> itens) {
+        this.total = total;
+        this.first = first;
+        this.pageSize = pageSize;
+        this.itens = itens;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public int getFirst() {
+        return first;
+    }
+
+    public void setFirst(int first) {
+        this.first = first;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<T> itens) {
+        this.itens = itens;
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.skeleton.web.resource;
+
+import br.com.skeleton.business.relatorio.LinhaRelatorio;
+import br.com.skeleton.business.relatorio.RelatorioFacade;
+import br.com.skeleton.business.relatorio.ResumoEquipamentos;
+import br.com.skeleton.web.admissao.Admissao;
+import br.com.skeleton.web.admissao.ClasseAdmissao;
+import jakarta.ejb.EJB;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relatórios agregados de equipamentos, calculados no banco.
+ */
+@Path("reports")
+@RequestScoped
+@Produces(MediaType.APPLICATION_JSON)
+@Admissao(ClasseAdmissao.CONSULTA)
+public class RelatorioResource {
+
+    @EJB
+    private RelatorioFacade relatorioFacade;
+
+    @EJB
+    private ResumoEquipamentos resumo;
+
+    /**
+     * Quantidade e valor total por status.
+     */
+    @GET
+    @Path("status")
+    public List<LinhaRelatorio> porStatus() {
+        return relatorioFacade.totaisPorStatus();
+    }
+
+    /**
+     * Quantidade e valor total por mês de validade, entre {@code de} e {@code ate} (yyyy-MM).
+     */
+    @GET
+    @Path("validade")
+    public List<LinhaRelatorio> porMesDeValidade(@QueryParam("de") String de,
+                                                 @QueryParam("ate") String ate,
+                                                 @QueryParam("status") String status) {
+        return relatorioFacade.vencimentosPorMes(mes("de", de), mes("ate", ate), status);
+    }
+
+    /**
+     * Quantidade e valor total por faixa de valor, com os limites repetidos em
+     * {@code limite} (ex.: ?limite=100&limite=1000).
+     */
+    @GET
+    @Path("valor")
+    public List<LinhaRelatorio> porFaixaDeValor(@QueryParam("limite") List<BigDecimal> limites) {
+        return relatorioFacade.faixasDeValor(limites);
+    }
+
+    /**
+     * Recalcula o resumo materializado a partir da tabela de equipamentos.
+     */
+    @POST
+    @Path("resumo/reconstruir")
+    @Admissao(ClasseAdmissao.PESADA)
+    public Map<String, Object> reconstruirResumo() {
+        if (!resumo.isAtivo()) {
+            throw new BadRequestException("Resumo desligado. Inicie com -D" + ResumoEquipamentos.PROPRIEDADE_ATIVO + "=true.");
+        }
+        return Map.of("grupos", resumo.reconstruir());
+    }
+
+    private static YearMonth mes(String parametro, String valor) {
+        if (valor == null) {
+            throw new BadRequestException("Parâmetro obrigatório: " + parametro);
+        }
+        try {
+            return YearMonth.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Mês inválido em " + parametro + " (use yyyy-MM): " + valor);
+        }
+    }
+}
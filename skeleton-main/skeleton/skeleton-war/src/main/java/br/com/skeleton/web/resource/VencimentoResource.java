@@ -0,0 +1,44 @@
+package br.com.skeleton.web.resource;
+
+import br.com.skeleton.business.execucao.ExecutorAplicacao;
+import br.com.skeleton.business.vencimento.VarreduraVencimento;
+import jakarta.ejb.EJB;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Response;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Disparo manual da varredura de vencimentos, para retomar uma execução interrompida
+ * sem esperar a próxima noite. A varredura roda em segundo plano; o progresso é
+ * acompanhado em /api/metrics.
+ */
+@Path("vencimentos")
+@RequestScoped
+public class VencimentoResource {
+
+    @EJB
+    private VarreduraVencimento varredura;
+
+    @EJB
+    private ExecutorAplicacao executor;
+
+    @POST
+    public Response executar(@QueryParam("data") String data) {
+        LocalDate referencia;
+        try {
+            referencia = data != null ? LocalDate.parse(data) : LocalDate.now();
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Data inválida (use yyyy-MM-dd): " + data);
+        }
+        if (varredura.isExecutando()) {
+            return Response.status(Response.Status.CONFLICT).entity("Varredura já em andamento.").build();
+        }
+        executor.executor().execute(() -> varredura.executar(referencia));
+        return Response.accepted().build();
+    }
+}